@@ -47,6 +47,16 @@ public class Alphabet
         return alphabet.length();
     }
     
+    /**
+     * A key may only map a symbol to a symbol of the same group.
+     * 
+     * @return for each symbol the number of its group, or null if any symbol may be mapped to any other
+     */
+    public int[] getSymbolGroups()
+    {
+        return null;
+    }
+    
     /**
      * Will convert the <i>text</i> in the form of an array of alphabet indexes to plain String.
      * 
@@ -59,18 +69,18 @@ public class Alphabet
      */
     public String convert(final int[] text) throws UnknownCharacterException
     {
-        String result = "";
+        StringBuilder result = new StringBuilder(text.length);
         
         for(int i = 0; i < text.length; ++i)
         {
-            if(text[i] > alphabet.length())
+            if(text[i] < 0 || text[i] >= alphabet.length())
             {
                 throw new UnknownCharacterException(Integer.toString(text[i]));
             }
-            result += alphabet.charAt(text[i]);
+            result.append(alphabet.charAt(text[i]));
         }
         
-        return result;
+        return result.toString();
     }
     
     /**
@@ -0,0 +1,246 @@
+package alphabet;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Alphabet of symbol classes of another alphabet, for example pairs of a lower- and an upper-case letter.
+ * Each class is represented by its first member, and every member of a class is converted to the index of the class.
+ * 
+ * A key respecting the classes maps the i-th member of one class to the i-th member of another class of the same size, 
+ * so it is defined by a permutation of the classes which only maps classes to classes of the same size. 
+ * Such a permutation is much smaller than a permutation of the whole alphabet and can be {@link ClassAlphabet#expand expanded} to it.
+ */
+public class ClassAlphabet extends Alphabet
+{
+    /**Alphabet whose symbols are grouped into classes.*/
+    private Alphabet fullAlphabet;
+    /**For each class, indexes of its members in the full alphabet.*/
+    private int[][] classes;
+    /**For each class, number of the group of classes of the same size, or null if all classes are of the same size.*/
+    private int[] symbolGroups;
+    /**Efficient way to find the class of a character.*/
+    private Map<Character, Integer> classMap;
+    
+    /**
+     * Characters of the <i>fullAlphabet</i> which are not mentioned in any of the <i>classes</i> form classes of their own.
+     * 
+     * @param fullAlphabet whose symbols are grouped
+     * @param classes each String holding all members of one class
+     * 
+     * @exception UnknownCharacterException if a member of a class is not in the <i>fullAlphabet</i>
+     * @exception CharacterDuplicationException if a character is a member of more than one class
+     */
+    public ClassAlphabet(final Alphabet fullAlphabet, final String[] classes) 
+            throws UnknownCharacterException, CharacterDuplicationException
+    {
+        super(representatives(fullAlphabet, classes));
+        this.fullAlphabet = fullAlphabet;
+        prepareClasses(classes);
+    }
+    
+    /**
+     * Will create an alphabet in which each letter of the <i>fullAlphabet</i> forms one class with its other case, if present.
+     * 
+     * @param fullAlphabet whose letters are grouped
+     * 
+     * @return alphabet of case classes
+     */
+    public static ClassAlphabet caseClasses(final Alphabet fullAlphabet)
+    {
+        String symbols = fullAlphabet.getAlphabet();
+        StringBuilder pairs = new StringBuilder();
+        for(int i = 0; i < symbols.length(); ++i)
+        {
+            char c = symbols.charAt(i);
+            char upper = Character.toUpperCase(c);
+            if(c != upper && symbols.indexOf(upper) >= 0)
+            {
+                pairs.append(c).append(upper);
+            }
+        }
+        String[] classes = new String[pairs.length() / 2];
+        for(int i = 0; i < classes.length; ++i)
+        {
+            classes[i] = pairs.substring(2 * i, 2 * i + 2);
+        }
+        try
+        {
+            return new ClassAlphabet(fullAlphabet, classes);
+        }
+        catch (UnknownCharacterException e)
+        {
+            throw new RuntimeException("Impossible! Classes are made of characters of the alphabet.");
+        }
+        catch (CharacterDuplicationException e)
+        {
+            throw new RuntimeException("Impossible! Each letter has only one other case.");
+        }
+    }
+    
+    /**
+     * @return alphabet whose symbols are grouped into classes
+     */
+    public Alphabet getFullAlphabet()
+    {
+        return fullAlphabet;
+    }
+    
+    /**
+     * @param symbolClass index of the class
+     * 
+     * @return number of members of the class
+     */
+    public int getClassSize(final int symbolClass)
+    {
+        return classes[symbolClass].length;
+    }
+    
+    /**
+     * Classes may only be mapped to classes of the same size.
+     */
+    @Override
+    public int[] getSymbolGroups()
+    {
+        return symbolGroups == null ? null : symbolGroups.clone();
+    }
+    
+    /**
+     * Will expand a key of classes to the key of the full alphabet, which maps the i-th member of each class 
+     * to the i-th member of the class given by the <i>classKey</i>.
+     * 
+     * @param classKey for each class the class it is mapped to; must map classes to classes of the same size
+     * 
+     * @return for each symbol of the full alphabet the symbol it is mapped to
+     * 
+     * @exception IllegalArgumentException if the <i>classKey</i> maps a class to a class of a different size
+     */
+    public int[] expand(final int[] classKey)
+    {
+        int[] key = new int[fullAlphabet.getAlphabetLength()];
+        for(int c = 0; c < classes.length; ++c)
+        {
+            int[] target = classes[classKey[c]];
+            if(target.length != classes[c].length)
+            {
+                throw new IllegalArgumentException("Class " + c + " is mapped to a class of a different size.");
+            }
+            for(int i = 0; i < target.length; ++i)
+            {
+                key[classes[c][i]] = target[i];
+            }
+        }
+        return key;
+    }
+    
+    /**
+     * Will convert the <i>text</i> to an array of class indexes; every member of a class is converted to the index of the class.
+     */
+    @Override
+    public int[] convert(final String text) throws UnknownCharacterException
+    {
+        int[] result = new int[text.length()];
+        Integer classIndex = null;
+        
+        for(int i = 0; i < text.length(); ++i)
+        {
+            classIndex = classMap.get(text.charAt(i));
+            if(classIndex == null)
+            {
+                throw new UnknownCharacterException(Character.toString(text.charAt(i)));
+            }
+            result[i] = classIndex;
+        }
+        
+        return result;
+    }
+    
+    /**
+     * @return String made of the first member of each class; classes of single characters not mentioned in <i>classes</i> come last
+     * 
+     * @exception UnknownCharacterException if a member of a class is not in the <i>fullAlphabet</i>
+     * @exception CharacterDuplicationException if a character is a member of more than one class
+     */
+    private static String representatives(final Alphabet fullAlphabet, final String[] classes) 
+            throws UnknownCharacterException, CharacterDuplicationException
+    {
+        String symbols = fullAlphabet.getAlphabet();
+        boolean[] used = new boolean[symbols.length()];
+        StringBuilder result = new StringBuilder();
+        for(String members : classes)
+        {
+            int[] indexes = fullAlphabet.convert(members);
+            for(int i = 0; i < indexes.length; ++i)
+            {
+                if(used[indexes[i]])
+                {
+                    throw new CharacterDuplicationException(Character.toString(members.charAt(i)));
+                }
+                used[indexes[i]] = true;
+            }
+            if(members.length() > 0)
+            {
+                result.append(members.charAt(0));
+            }
+        }
+        for(int i = 0; i < symbols.length(); ++i)
+        {
+            if(!used[i])
+            {
+                result.append(symbols.charAt(i));
+            }
+        }
+        return result.toString();
+    }
+    
+    /**
+     * Will build the classes, in the same order as their representatives, and the structures for looking them up.
+     * 
+     * @exception UnknownCharacterException never, classes have already been checked
+     */
+    private void prepareClasses(final String[] declared) throws UnknownCharacterException
+    {
+        String symbols = fullAlphabet.getAlphabet();
+        boolean[] used = new boolean[symbols.length()];
+        classes = new int[getAlphabetLength()][];
+        int c = 0;
+        for(String members : declared)
+        {
+            if(members.length() > 0)
+            {
+                classes[c] = fullAlphabet.convert(members);
+                for(int index : classes[c])
+                {
+                    used[index] = true;
+                }
+                ++c;
+            }
+        }
+        for(int i = 0; i < symbols.length(); ++i)
+        {
+            if(!used[i])
+            {
+                classes[c++] = new int[] {i};
+            }
+        }
+        
+        classMap = new HashMap<Character, Integer>();
+        Map<Integer, Integer> groupOfSize = new HashMap<Integer, Integer>();
+        int[] groups = new int[classes.length];
+        for(c = 0; c < classes.length; ++c)
+        {
+            for(int index : classes[c])
+            {
+                classMap.put(symbols.charAt(index), c);
+            }
+            Integer group = groupOfSize.get(classes[c].length);
+            if(group == null)
+            {
+                group = groupOfSize.size();
+                groupOfSize.put(classes[c].length, group);
+            }
+            groups[c] = group;
+        }
+        symbolGroups = groupOfSize.size() > 1 ? groups : null;
+    }
+}
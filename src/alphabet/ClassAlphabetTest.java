@@ -0,0 +1,87 @@
+package alphabet;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import evolutionary_algorithm.Generation;
+import evolutionary_algorithm.Specimen;
+
+
+public class ClassAlphabetTest
+{
+
+    @Test
+    public void testCaseClasses() throws Exception
+    {
+        ClassAlphabet classes = ClassAlphabet.caseClasses(new DefaultAlphabet());
+        assertEquals(29, classes.getAlphabetLength());
+        assertEquals("abcdefghijklmnopqrstuvwxyz,. ", classes.getAlphabet());
+        assertArrayEquals(classes.convert("abc"), classes.convert("AbC"));
+        assertEquals(2, classes.getClassSize(0));
+        assertEquals(1, classes.getClassSize(28));
+    }
+    
+    @Test
+    public void testExpandKeepsCase() throws Exception
+    {
+        Alphabet full = new Alphabet("aAbB.");
+        ClassAlphabet classes = new ClassAlphabet(full, new String[] {"aA", "bB"});
+        int[] key = classes.expand(new int[] {1, 0, 2});
+        assertEquals("bBaA.", full.convert(new int[] {key[0], key[1], key[2], key[3], key[4]}));
+        assertArrayEquals(new int[] {0, 0, 1}, classes.getSymbolGroups());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testExpandRejectsClassesOfDifferentSizes() throws Exception
+    {
+        ClassAlphabet classes = new ClassAlphabet(new Alphabet("aA."), new String[] {"aA"});
+        classes.expand(new int[] {1, 0});
+    }
+    
+    /**
+     * Checks every specimen put in place of a duplicate.
+     */
+    private static class CheckedGeneration extends Generation
+    {
+        private ClassAlphabet classes;
+        private int checked = 0;
+        
+        CheckedGeneration(final ClassAlphabet classes, final Random rand)
+        {
+            super(classes, rand);
+            this.classes = classes;
+        }
+        
+        @Override
+        protected void replaceDuplicates()
+        {
+            super.replaceDuplicates();
+            for(int i = 0; i < populationSize; ++i)
+            {
+                nextGeneration[i].getSpecimen().expand(classes);
+                ++checked;
+            }
+        }
+    }
+    
+    @Test
+    public void testDuplicateEliminationRespectsClasses() throws Exception
+    {
+        ClassAlphabet classes = ClassAlphabet.caseClasses(new DefaultAlphabet());
+        CheckedGeneration generation = new CheckedGeneration(classes, new Random(1));
+        generation.setDuplicateElimination(true);
+        //Few parents and no mutation make the population converge to duplicates, whose replacements are mutated.
+        Specimen best = generation.evolve(30, 1.0d, 300, 0.5d, 0.1d, 0.0d, 
+                "The bridge had fallen. So, the roads to the valley were closed until spring.", null);
+        assertEquals(classes.getFullAlphabet().getAlphabetLength(), best.expand(classes).getChromosomes().length);
+        assertTrue(generation.checked > 0);
+    }
+    
+    @Test(expected = CharacterDuplicationException.class)
+    public void testOverlappingClasses() throws Exception
+    {
+        new ClassAlphabet(new Alphabet("aAb"), new String[] {"aA", "Ab"});
+    }
+}
@@ -8,7 +8,7 @@ public class DefaultAlphabet extends Alphabet
     /**
      * @throws CharacterDuplicationException 
      */
-    private DefaultAlphabet() throws CharacterDuplicationException
+    public DefaultAlphabet() throws CharacterDuplicationException
     {
             super("AaBbCcDdEeFfGgHhIiJjKkLlMmNnOoPpQqRrSsTtUuVvWwXxYyZz,. ");
     }
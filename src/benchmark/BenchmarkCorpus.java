@@ -0,0 +1,122 @@
+package benchmark;
+
+import java.util.Random;
+
+import alphabet.Alphabet;
+import alphabet.CharacterDuplicationException;
+import alphabet.DefaultAlphabet;
+
+/**
+ * Fixed texts used by the benchmarks, so that results of different runs can be compared.
+ */
+public class BenchmarkCorpus
+{
+    /**Lower case letters and space.*/
+    public static final String LOWER_CASE_ALPHABET = "abcdefghijklmnopqrstuvwxyz ";
+    
+    /**English text used to gather statistics of the language. Not used as a message.*/
+    public static final String REFERENCE_TEXT = 
+            "it was late in the autumn when the travellers reached the old town by the river and found every inn "
+            + "already full of merchants who had come for the great market the weather had turned cold and the "
+            + "streets were wet with rain so they walked slowly along the harbour looking for any house that would "
+            + "take them in at last an old woman opened her door and said that she had one small room under the roof "
+            + "which they could have for the night if they did not mind the noise of the bells from the church across "
+            + "the square they thanked her and carried their bags up the narrow stairs where they found two beds a table "
+            + "and a window from which they could see the lights of the ships moving on the dark water "
+            + "in the morning the market was loud and crowded people were selling bread and fish and wool and "
+            + "cloth of every colour and the children ran between the stalls shouting and laughing the younger "
+            + "traveller bought a warm coat and a pair of boots while the elder spent most of the day talking with "
+            + "a captain who was going to sail south within the week and who might have room for two passengers "
+            + "they agreed on a price and promised to be at the harbour before the tide turned on the fifth day ";
+    
+    /**English text used as the source of messages to be broken.*/
+    public static final String MESSAGE_TEXT = 
+            "the letter arrived on a quiet evening when nobody expected any news from the north it was written "
+            + "in a hurried hand and said only that the bridge had fallen during the storm and that the roads to the "
+            + "valley would be closed until spring the family gathered around the fire to read it again and again "
+            + "trying to understand what it meant for the harvest and for the journey they had planned for months "
+            + "their father decided that they would wait for a better season and use the long winter to repair the "
+            + "barn mend the fences and prepare the fields so that nothing would be lost when the weather allowed "
+            + "them to leave at last the youngest daughter was disappointed because she had hoped to see the sea "
+            + "for the first time but her brother promised to take her to the hills above the village where on a "
+            + "clear day one could watch the distant waves shining like silver beyond the forest ";
+    
+    /**
+     * @return alphabet of lower case letters and space
+     */
+    public static Alphabet lowerCaseAlphabet()
+    {
+        try
+        {
+            return new Alphabet(LOWER_CASE_ALPHABET);
+        }
+        catch (CharacterDuplicationException e)
+        {
+            throw new RuntimeException("Impossible! The alphabet has no duplicates.");
+        }
+    }
+    
+    /**
+     * @return {@link DefaultAlphabet}
+     */
+    public static Alphabet defaultAlphabet()
+    {
+        try
+        {
+            return new DefaultAlphabet();
+        }
+        catch (CharacterDuplicationException e)
+        {
+            throw new RuntimeException("Impossible! The alphabet has no duplicates.");
+        }
+    }
+    
+    /**
+     * Will create a message of the given length written with {@link DefaultAlphabet}: 
+     * sentences of {@link BenchmarkCorpus#MESSAGE_TEXT} starting with capital letters, with commas and full stops.
+     * 
+     * @param length of the message
+     * @param seed deciding where the message starts and where sentences end
+     * 
+     * @return message of the given length
+     */
+    public static String defaultAlphabetMessage(final int length, final long seed)
+    {
+        Random rand = new Random(seed);
+        String[] words = message(length, seed).split(" ");
+        StringBuilder result = new StringBuilder(length + 16);
+        boolean capitalize = true;
+        for(int i = 0; i < words.length && result.length() < length; ++i)
+        {
+            if(words[i].isEmpty())
+            {
+                continue;
+            }
+            result.append(capitalize ? Character.toUpperCase(words[i].charAt(0)) + words[i].substring(1) : words[i]);
+            int punctuation = rand.nextInt(10);
+            capitalize = punctuation == 0;
+            result.append(punctuation == 0 ? ". " : punctuation == 1 ? ", " : " ");
+        }
+        return result.substring(0, Math.min(length, result.length()));
+    }
+    
+    /**
+     * Will cut a message of the given length out of {@link BenchmarkCorpus#MESSAGE_TEXT}, repeating it if necessary.
+     * 
+     * @param length of the message
+     * @param seed deciding where the message starts
+     * 
+     * @return message of the given length
+     */
+    public static String message(final int length, final long seed)
+    {
+        StringBuilder result = new StringBuilder(length);
+        int position = new Random(seed).nextInt(MESSAGE_TEXT.length());
+        while(result.length() < length)
+        {
+            result.append(MESSAGE_TEXT.charAt(position));
+            position = (position + 1) % MESSAGE_TEXT.length();
+        }
+        return result.toString();
+    }
+}
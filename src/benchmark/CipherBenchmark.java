@@ -0,0 +1,59 @@
+package benchmark;
+
+import java.util.Random;
+
+import alphabet.Alphabet;
+import evolutionary_algorithm.CompiledKey;
+import evolutionary_algorithm.Specimen;
+
+/**
+ * Measures encryption of short messages in messages per second: by a {@link CompiledKey} into a reused buffer, 
+ * compared with converting to alphabet indexes, {@link Specimen#encode} and converting back.
+ */
+public class CipherBenchmark
+{
+    /**Length of one message.*/
+    private static final int MESSAGE_LENGTH = 64;
+    /**Number of different messages.*/
+    private static final int MESSAGES = 1024;
+    /**Number of messages encrypted in one measurement.*/
+    private static final int ITERATIONS = 2000000;
+    /**Keeps results of measured code alive.*/
+    private static volatile long sink;
+    
+    public static void main(final String[] args) throws Exception
+    {
+        Alphabet alphabet = BenchmarkCorpus.defaultAlphabet();
+        Specimen key = new Specimen(alphabet.getAlphabetLength(), new Random(0));
+        CompiledKey compiled = new CompiledKey(key, alphabet);
+        String[] messages = new String[MESSAGES];
+        for(int i = 0; i < MESSAGES; ++i)
+        {
+            messages[i] = BenchmarkCorpus.defaultAlphabetMessage(MESSAGE_LENGTH, i);
+        }
+        
+        char[] output = new char[MESSAGE_LENGTH];
+        for(int round = 0; round < 3; ++round)
+        {
+            long checksum = 0;
+            long start = System.nanoTime();
+            for(int i = 0; i < ITERATIONS; ++i)
+            {
+                checksum += output[compiled.encrypt(messages[i % MESSAGES], output) - 1];
+            }
+            double compiledRate = ITERATIONS / ((System.nanoTime() - start) / 1e9d);
+            
+            start = System.nanoTime();
+            for(int i = 0; i < ITERATIONS / 10; ++i)
+            {
+                int[] text = alphabet.convert(messages[i % MESSAGES]);
+                key.encode(text);
+                checksum += alphabet.convert(text).charAt(0);
+            }
+            double convertingRate = ITERATIONS / 10 / ((System.nanoTime() - start) / 1e9d);
+            sink = checksum;
+            System.out.println("compiled key: " + Math.round(compiledRate) + " messages/s, converting: " 
+                    + Math.round(convertingRate) + " messages/s");
+        }
+    }
+}
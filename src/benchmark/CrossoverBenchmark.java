@@ -0,0 +1,81 @@
+package benchmark;
+
+import java.util.Random;
+
+import alphabet.Alphabet;
+import evolutionary_algorithm.CrossoverOperator;
+import evolutionary_algorithm.CycleCrossover;
+import evolutionary_algorithm.Generation;
+import evolutionary_algorithm.OrderCrossover;
+import evolutionary_algorithm.PartiallyMappedCrossover;
+import evolutionary_algorithm.PositionBasedCrossover;
+import evolutionary_algorithm.Specimen;
+
+/**
+ * Compares crossover operators by the cost of breeding one child and by convergence of the same fixed-seed runs.
+ * The operator named "builtin" is the crossing of {@link Specimen#reproduce}.
+ */
+public class CrossoverBenchmark
+{
+    /**Number of children bred to measure the cost of one child.*/
+    private static final int CHILDREN = 200000;
+    /**Number of runs of the algorithm for each operator.*/
+    private static final int RUNS = 10;
+    /**Keeps results of measured code alive.*/
+    private static volatile long sink;
+    
+    public static void main(final String[] args) throws Exception
+    {
+        String[] names = {"builtin", "pmx", "ox", "cx", "position"};
+        CrossoverOperator[] operators = {null, new PartiallyMappedCrossover(), new OrderCrossover(), 
+                new CycleCrossover(), new PositionBasedCrossover()};
+        Alphabet alphabet = BenchmarkCorpus.lowerCaseAlphabet();
+        
+        for(int i = 0; i < operators.length; ++i)
+        {
+            //Warm-up.
+            costPerChild(operators[i], alphabet.getAlphabetLength());
+            double cost = costPerChild(operators[i], alphabet.getAlphabetLength());
+            
+            long totalTime = 0;
+            long totalIterations = 0;
+            int solved = 0;
+            for(int run = 0; run < RUNS; ++run)
+            {
+                Generation generation = new Generation(alphabet, new Random(run));
+                generation.setCrossoverOperator(operators[i]);
+                long start = System.nanoTime();
+                generation.evolve(200, 1.0d, 5000, 0.2d, 0.5d, 0.3d, BenchmarkCorpus.message(1000, run), null);
+                totalTime += System.nanoTime() - start;
+                totalIterations += generation.getNumberOfIterations();
+                solved += generation.getNumberOfIterations() < 5000 ? 1 : 0;
+            }
+            System.out.println(names[i] + ": " + Math.round(cost) + " ns per child, " + (totalTime / RUNS / 1000000) + " ms, " 
+                    + (totalIterations / RUNS) + " generations per run, " + solved + "/" + RUNS + " runs solved");
+        }
+    }
+    
+    /**
+     * @return mean time of breeding one child in nanoseconds
+     */
+    private static double costPerChild(final CrossoverOperator operator, final int numberOfChromosomes) throws Exception
+    {
+        Random rand = new Random(0);
+        Specimen first = new Specimen(numberOfChromosomes, rand);
+        Specimen second = new Specimen(numberOfChromosomes, rand);
+        long checksum = 0;
+        long start = System.nanoTime();
+        for(int i = 0; i < CHILDREN; ++i)
+        {
+            Specimen child = operator == null 
+                    ? first.reproduce(second, Generation.DEFAULT_EQUAL_VALUES_STAY_PROBABILITY, 0.3d, rand)
+                    : first.reproduce(second, operator, 0.3d, 1, null, rand);
+            checksum += child.hash64();
+            first = second;
+            second = child;
+        }
+        long time = System.nanoTime() - start;
+        sink = checksum;
+        return ((double)time) / CHILDREN;
+    }
+}
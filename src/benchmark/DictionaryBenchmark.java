@@ -0,0 +1,108 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import alphabet.Alphabet;
+import evolutionary_algorithm.DictionaryEvaluator;
+import evolutionary_algorithm.Evaluator;
+import evolutionary_algorithm.Specimen;
+import language.DictionaryAutomaton;
+
+/**
+ * Measures the throughput of {@link DictionaryEvaluator} on a multi-kilobyte cryptogram in candidates per second, 
+ * compared with deciphering every candidate into a String and searching it for each word.<br>
+ * The dictionary is made of the words of {@link BenchmarkCorpus#REFERENCE_TEXT}, each surrounded by spaces.
+ */
+public class DictionaryBenchmark
+{
+    /**Length of the message.*/
+    private static final int MESSAGE_LENGTH = 4000;
+    /**Number of candidates evaluated in one measurement.*/
+    private static final int CANDIDATES = 2000;
+    /**Keeps results of measured code alive.*/
+    private static volatile double sink;
+    
+    public static void main(final String[] args) throws Exception
+    {
+        Alphabet alphabet = BenchmarkCorpus.lowerCaseAlphabet();
+        Set<String> words = new LinkedHashSet<String>();
+        for(String word : BenchmarkCorpus.REFERENCE_TEXT.split(" "))
+        {
+            if(!word.isEmpty())
+            {
+                words.add(" " + word + " ");
+            }
+        }
+        DictionaryAutomaton automaton = new DictionaryAutomaton(alphabet, words);
+        
+        Random rand = new Random(0);
+        Specimen key = new Specimen(alphabet.getAlphabetLength(), rand);
+        int[] cryptogram = alphabet.convert(BenchmarkCorpus.message(MESSAGE_LENGTH, 0));
+        key.encode(cryptogram);
+        Specimen[] candidates = new Specimen[CANDIDATES];
+        for(int i = 0; i < CANDIDATES; ++i)
+        {
+            candidates[i] = key.mutate(null, rand);
+        }
+        Evaluator evaluator = new DictionaryEvaluator(automaton, cryptogram);
+        
+        System.out.println(words.size() + " words, " + automaton.getNumberOfStates() + " states, " 
+                + automaton.getMemoryFootprint() / 1024 + " KB");
+        System.out.println("correct key: " + evaluator.evaluate(key) + ", random key: " 
+                + evaluator.evaluate(new Specimen(alphabet.getAlphabetLength(), rand)));
+        for(int round = 0; round < 2; ++round)
+        {
+            long start = System.nanoTime();
+            double checksum = 0.0d;
+            for(Specimen candidate : candidates)
+            {
+                checksum += evaluator.evaluate(candidate);
+            }
+            double automatonRate = CANDIDATES / ((System.nanoTime() - start) / 1e9d);
+            
+            start = System.nanoTime();
+            for(Specimen candidate : candidates)
+            {
+                checksum += naiveScore(alphabet, cryptogram, candidate, words);
+            }
+            double naiveRate = CANDIDATES / ((System.nanoTime() - start) / 1e9d);
+            sink = checksum;
+            System.out.println("automaton: " + Math.round(automatonRate) + " candidates/s, naive: " 
+                    + Math.round(naiveRate) + " candidates/s");
+        }
+    }
+    
+    /**
+     * @return the score of {@link DictionaryEvaluator} computed by deciphering into a String and searching it for every word
+     */
+    private static double naiveScore(final Alphabet alphabet, final int[] cryptogram, final Specimen candidate, 
+            final Set<String> words) throws Exception
+    {
+        int[] text = cryptogram.clone();
+        candidate.decode(text);
+        StringBuilder builder = new StringBuilder(text.length);
+        String symbols = alphabet.getAlphabet();
+        for(int character : text)
+        {
+            builder.append(symbols.charAt(character));
+        }
+        String plain = builder.toString();
+        boolean[] covered = new boolean[text.length];
+        for(String word : words)
+        {
+            for(int i = plain.indexOf(word); i >= 0; i = plain.indexOf(word, i + 1))
+            {
+                Arrays.fill(covered, i, i + word.length(), true);
+            }
+        }
+        long total = 0;
+        for(boolean character : covered)
+        {
+            total += character ? 1 : 0;
+        }
+        return ((double)total) / text.length;
+    }
+}
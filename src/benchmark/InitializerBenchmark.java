@@ -0,0 +1,53 @@
+package benchmark;
+
+import java.util.Random;
+
+import alphabet.Alphabet;
+import evolutionary_algorithm.FrequencyAnalysisInitializer;
+import evolutionary_algorithm.Generation;
+import evolutionary_algorithm.PopulationInitializer;
+import evolutionary_algorithm.RandomPopulationInitializer;
+
+/**
+ * Compares the time and number of generations needed to reach the desired evaluation
+ * with the random and the frequency-analysis initial population.<br>
+ * Every run evolves 200 specimens with the default evaluator, which compares the deciphered text with the exemplar, 
+ * on a 2000 character message of {@link BenchmarkCorpus} seeded with the number of the run. 
+ * The numbers of generations are reproducible, the times depend on the machine.
+ */
+public class InitializerBenchmark
+{
+    /**Number of runs for each initializer.*/
+    private static final int RUNS = 10;
+    
+    public static void main(final String[] args) throws Exception
+    {
+        Alphabet alphabet = BenchmarkCorpus.lowerCaseAlphabet();
+        double[] languageFrequencies = FrequencyAnalysisInitializer.countFrequencies(
+                alphabet.convert(BenchmarkCorpus.REFERENCE_TEXT), alphabet.getAlphabetLength());
+        
+        run("random", alphabet, new RandomPopulationInitializer());
+        run("frequency", alphabet, new FrequencyAnalysisInitializer(languageFrequencies, 6, 3));
+    }
+    
+    /**
+     * Will print mean time and mean number of generations to the desired evaluation.
+     */
+    private static void run(final String name, final Alphabet alphabet, final PopulationInitializer initializer) 
+            throws Exception
+    {
+        long totalTime = 0;
+        long totalIterations = 0;
+        for(int i = 0; i < RUNS; ++i)
+        {
+            Generation generation = new Generation(alphabet, new Random(i));
+            generation.setPopulationInitializer(initializer);
+            long start = System.nanoTime();
+            generation.evolve(200, 1.0d, 10000, 0.2d, 0.5d, 0.3d, BenchmarkCorpus.message(2000, i), null);
+            totalTime += System.nanoTime() - start;
+            totalIterations += generation.getNumberOfIterations();
+        }
+        System.out.println(name + ": " + (totalTime / RUNS / 1000000) + " ms, " 
+                + (totalIterations / RUNS) + " generations to the desired evaluation");
+    }
+}
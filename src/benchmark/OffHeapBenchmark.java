@@ -0,0 +1,55 @@
+package benchmark;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Random;
+
+import evolutionary_algorithm.OffHeapSolver;
+
+/**
+ * Measures the time of one generation and the heap used by {@link OffHeapSolver} for growing populations.
+ * The heap usage should not depend on the population size.<br>
+ * Usage: OffHeapBenchmark [population sizes, 10000 100000 1000000 by default]
+ */
+public class OffHeapBenchmark
+{
+    /**Number of generations of every run.*/
+    private static final int GENERATIONS = 5;
+    
+    public static void main(final String[] args) throws Exception
+    {
+        String[] sizes = args.length > 0 ? args : new String[] {"10000", "100000", "1000000"};
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for(String size : sizes)
+        {
+            int populationSize = Integer.parseInt(size);
+            OffHeapSolver solver = new OffHeapSolver(BenchmarkCorpus.lowerCaseAlphabet(), new Random(populationSize));
+            solver.setPopulation(populationSize, 32);
+            solver.setMaxNumberOfIterations(GENERATIONS);
+            
+            long start = System.nanoTime();
+            solver.solve(BenchmarkCorpus.message(1000, 0), 1.1d, null);
+            long time = System.nanoTime() - start;
+            System.gc();
+            System.out.println(populationSize + " keys: " + (time / (GENERATIONS + 1) / 1000000) + " ms per generation, " 
+                    + (memory.getHeapMemoryUsage().getUsed() >> 20) + " MB of heap, " 
+                    + (directMemory() >> 20) + " MB of direct buffers");
+        }
+    }
+    
+    /**
+     * @return bytes used by direct buffers
+     */
+    private static long directMemory()
+    {
+        for(BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class))
+        {
+            if(pool.getName().equals("direct"))
+            {
+                return pool.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,218 @@
+package benchmark;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import alphabet.Alphabet;
+import evolutionary_algorithm.Budget;
+import evolutionary_algorithm.Generation;
+import evolutionary_algorithm.ParameterProfile;
+
+/**
+ * Races random configurations of {@link Generation#evolve} on a fixed-seed corpus with successive halving:
+ * every configuration runs on every message with a small evaluation budget, the better half advances 
+ * and the budget is doubled, until one configuration remains. It is printed and saved as a {@link ParameterProfile}.<br>
+ * Configurations are ranked by the number of runs reaching the desired evaluation, then by the CPU time of those runs.
+ * Remaining ties, such as between configurations solving nothing, are broken by the mean best evaluation of unsolved runs.<br>
+ * Usage: ParameterTuner [profile file] [number of configurations]
+ */
+public class ParameterTuner
+{
+    /**Evaluation to be achieved.*/
+    private static final double DESIRED_EVALUATION = 1.0d;
+    /**Evaluation budget of one run in the first round.*/
+    private static final long INITIAL_EVALUATION_BUDGET = 50000;
+    /**Number of messages in the corpus.*/
+    private static final int CORPUS_SIZE = 4;
+    /**Length of every message.*/
+    private static final int MESSAGE_LENGTH = 500;
+    /**Limit on iterations of tuned configurations; runs are limited by the evaluation budget instead.*/
+    private static final int MAX_NUMBER_OF_ITERATIONS = 100000;
+    
+    public static void main(final String[] args) throws Exception
+    {
+        File output = new File(args.length > 0 ? args[0] : "tuned.profile");
+        int numberOfConfigurations = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        
+        Random rand = new Random(0);
+        List<Configuration> configurations = new ArrayList<Configuration>();
+        for(int i = 0; i < numberOfConfigurations; ++i)
+        {
+            configurations.add(new Configuration(new ParameterProfile(50 + rand.nextInt(451), MAX_NUMBER_OF_ITERATIONS, 
+                    0.05d + 0.45d * rand.nextDouble(), 0.1d + 0.8d * rand.nextDouble(), 0.05d + 0.9d * rand.nextDouble())));
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try
+        {
+            long evaluationBudget = INITIAL_EVALUATION_BUDGET;
+            while(configurations.size() > 1)
+            {
+                race(configurations, evaluationBudget, executor);
+                Collections.sort(configurations, BY_RANK);
+                System.out.println("Budget of " + evaluationBudget + " evaluations, best: " + configurations.get(0));
+                configurations = new ArrayList<Configuration>(configurations.subList(0, (configurations.size() + 1) / 2));
+                evaluationBudget *= 2;
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+        
+        Configuration winner = configurations.get(0);
+        ParameterProfile profile = winner.profile;
+        profile.save(output, "Tuned by successive halving, " + winner.solved + "/" + CORPUS_SIZE + " solved, mean time to solution " 
+                + Math.round(winner.meanTime()) + " ms");
+        System.out.println("Winner: " + winner + ", saved to " + output);
+    }
+    
+    /**
+     * Will run every configuration on every message of the corpus in parallel and record their results.
+     */
+    private static void race(final List<Configuration> configurations, final long evaluationBudget, 
+            final ExecutorService executor) throws Exception
+    {
+        final Alphabet alphabet = BenchmarkCorpus.lowerCaseAlphabet();
+        List<Future<RunResult>> results = new ArrayList<Future<RunResult>>();
+        for(final Configuration configuration : configurations)
+        {
+            configuration.totalTime = 0.0d;
+            configuration.solved = 0;
+            configuration.totalUnsolvedEvaluation = 0.0d;
+            for(int message = 0; message < CORPUS_SIZE; ++message)
+            {
+                final int seed = message;
+                results.add(executor.submit(new Callable<RunResult>()
+                {
+                    @Override
+                    public RunResult call() throws Exception
+                    {
+                        return run(alphabet, configuration.profile, seed, evaluationBudget);
+                    }
+                }));
+            }
+        }
+        int i = 0;
+        for(Configuration configuration : configurations)
+        {
+            for(int message = 0; message < CORPUS_SIZE; ++message)
+            {
+                RunResult result = results.get(i++).get();
+                if(result.solved)
+                {
+                    ++configuration.solved;
+                    configuration.totalTime += result.time;
+                }
+                else
+                {
+                    configuration.totalUnsolvedEvaluation += result.bestEvaluation;
+                }
+            }
+        }
+    }
+    
+    /**
+     * @return whether the run reached the desired evaluation, its CPU time and the best evaluation it reached
+     */
+    private static RunResult run(final Alphabet alphabet, final ParameterProfile profile, final int seed, 
+            final long evaluationBudget) throws Exception
+    {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Generation generation = new Generation(alphabet, new Random(seed));
+        Budget budget = new Budget();
+        budget.setEvaluationLimit(evaluationBudget);
+        generation.setBudget(budget);
+        
+        long start = threadBean.getCurrentThreadCpuTime();
+        profile.evolve(generation, DESIRED_EVALUATION, BenchmarkCorpus.message(MESSAGE_LENGTH, seed), null);
+        double time = (threadBean.getCurrentThreadCpuTime() - start) / 1000000.0d;
+        return new RunResult(generation.getBestEvaluation() >= DESIRED_EVALUATION, time, generation.getBestEvaluation());
+    }
+    
+    /**
+     * Orders configurations from the best one: most solved runs, then the lowest time of solved runs, 
+     * then the highest evaluation reached by unsolved runs.
+     */
+    private static final Comparator<Configuration> BY_RANK = new Comparator<Configuration>()
+    {
+        @Override
+        public int compare(final Configuration a, final Configuration b)
+        {
+            if(a.solved != b.solved)
+            {
+                return b.solved - a.solved;
+            }
+            if(a.totalTime != b.totalTime)
+            {
+                return Double.compare(a.totalTime, b.totalTime);
+            }
+            return Double.compare(b.totalUnsolvedEvaluation, a.totalUnsolvedEvaluation);
+        }
+    };
+    
+    /**
+     * Outcome of one run.
+     */
+    private static class RunResult
+    {
+        /**Whether the run reached the desired evaluation.*/
+        private final boolean solved;
+        /**CPU time of the run in milliseconds.*/
+        private final double time;
+        /**Best evaluation reached by the run.*/
+        private final double bestEvaluation;
+        
+        private RunResult(final boolean solved, final double time, final double bestEvaluation)
+        {
+            this.solved = solved;
+            this.time = time;
+            this.bestEvaluation = bestEvaluation;
+        }
+    }
+    
+    /**
+     * One raced configuration and its results in the last round.
+     */
+    private static class Configuration
+    {
+        private final ParameterProfile profile;
+        /**Sum of times of solved runs in milliseconds.*/
+        private double totalTime;
+        /**Number of runs which reached the desired evaluation.*/
+        private int solved;
+        /**Sum of best evaluations reached by unsolved runs.*/
+        private double totalUnsolvedEvaluation;
+        
+        private Configuration(final ParameterProfile profile)
+        {
+            this.profile = profile;
+        }
+        
+        /**
+         * @return mean time of solved runs in milliseconds, 0 if none has been solved
+         */
+        private double meanTime()
+        {
+            return solved == 0 ? 0.0d : totalTime / solved;
+        }
+        
+        @Override
+        public String toString()
+        {
+            String unsolved = solved == CORPUS_SIZE ? "" 
+                    : ", unsolved reached " + String.format("%.3f", totalUnsolvedEvaluation / (CORPUS_SIZE - solved));
+            return profile + " (" + solved + "/" + CORPUS_SIZE + " solved in " + Math.round(meanTime()) + " ms" + unsolved + ")";
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package benchmark;
+
+import java.util.Random;
+
+import alphabet.Alphabet;
+import evolutionary_algorithm.Evaluator;
+import evolutionary_algorithm.QuadgramEvaluator;
+import evolutionary_algorithm.Specimen;
+import language.DoubleQuadgramModel;
+import language.QuadgramModel;
+import language.QuantizedQuadgramModel;
+
+/**
+ * Compares memory, throughput in candidates per second and accuracy of quadgram models with double, 16 bit and 8 bit tables, 
+ * trained on {@link BenchmarkCorpus#REFERENCE_TEXT} with {@link alphabet.DefaultAlphabet}. 
+ * Accuracy is the largest difference of evaluations from the ones of the double model.
+ */
+public class QuadgramBenchmark
+{
+    /**Length of the message.*/
+    private static final int MESSAGE_LENGTH = 4000;
+    /**Number of candidates evaluated in one measurement.*/
+    private static final int CANDIDATES = 5000;
+    /**Keeps results of measured code alive.*/
+    private static volatile double sink;
+    
+    public static void main(final String[] args) throws Exception
+    {
+        Alphabet alphabet = BenchmarkCorpus.defaultAlphabet();
+        DoubleQuadgramModel exact = new DoubleQuadgramModel(alphabet, BenchmarkCorpus.REFERENCE_TEXT, 1);
+        QuadgramModel[] models = {exact, new QuantizedQuadgramModel(exact, 16), new QuantizedQuadgramModel(exact, 8)};
+        String[] names = {"double", "16 bit", "8 bit"};
+        
+        Random rand = new Random(0);
+        Specimen key = new Specimen(alphabet.getAlphabetLength(), rand);
+        int[] cryptogram = alphabet.convert(BenchmarkCorpus.defaultAlphabetMessage(MESSAGE_LENGTH, 0));
+        key.encode(cryptogram);
+        Specimen[] candidates = new Specimen[CANDIDATES];
+        candidates[0] = key;
+        for(int i = 1; i < CANDIDATES; ++i)
+        {
+            candidates[i] = i % 2 == 0 ? candidates[i - 1].mutate(null, rand) : new Specimen(alphabet.getAlphabetLength(), rand);
+        }
+        
+        long fullTable = 8L * alphabet.getAlphabetLength() * alphabet.getAlphabetLength() 
+                * alphabet.getAlphabetLength() * alphabet.getAlphabetLength();
+        System.out.println("dense double table over the whole alphabet would take " + fullTable / 1024 + " KB");
+        Evaluator reference = new QuadgramEvaluator(exact, cryptogram);
+        double[] rates = new double[models.length];
+        for(int round = 0; round < 5; ++round)
+        {
+            for(int m = 0; m < models.length; ++m)
+            {
+                Evaluator evaluator = new QuadgramEvaluator(models[m], cryptogram);
+                long start = System.nanoTime();
+                double checksum = 0.0d;
+                for(Specimen candidate : candidates)
+                {
+                    checksum += evaluator.evaluate(candidate);
+                }
+                rates[m] = CANDIDATES / ((System.nanoTime() - start) / 1e9d);
+                sink = checksum;
+            }
+        }
+        for(int m = 0; m < models.length; ++m)
+        {
+            Evaluator evaluator = new QuadgramEvaluator(models[m], cryptogram);
+            double error = 0.0d;
+            for(Specimen candidate : candidates)
+            {
+                error = Math.max(error, Math.abs(evaluator.evaluate(candidate) - reference.evaluate(candidate)));
+            }
+            System.out.println(names[m] + ": " + models[m].getMemoryFootprint() / 1024 + " KB, " + Math.round(rates[m]) 
+                    + " candidates/s, correct key " + String.format("%.4f", evaluator.evaluate(key)) 
+                    + ", largest error " + String.format("%.6f", error));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package benchmark;
+
+import java.util.Random;
+
+import evolutionary_algorithm.Generation;
+import evolutionary_algorithm.Specimen;
+import randomizer.BlockRandom;
+
+/**
+ * Compares {@link Random} with {@link BlockRandom} by the cost of single draws and of breeding one child with 
+ * {@link Specimen#reproduce}, including the mutation.
+ */
+public class RandomBenchmark
+{
+    /**Number of draws measured.*/
+    private static final int DRAWS = 20000000;
+    /**Number of children bred to measure the cost of one child.*/
+    private static final int CHILDREN = 500000;
+    /**Keeps results of measured code alive.*/
+    private static volatile long sink;
+    
+    public static void main(final String[] args) throws Exception
+    {
+        int numberOfChromosomes = BenchmarkCorpus.lowerCaseAlphabet().getAlphabetLength();
+        String[] names = {"java.util.Random", "BlockRandom"};
+        for(int i = 0; i < names.length; ++i)
+        {
+            //Warm-up.
+            drawCost(create(i));
+            childCost(create(i), numberOfChromosomes);
+            
+            double draw = drawCost(create(i));
+            double child = childCost(create(i), numberOfChromosomes);
+            System.out.println(names[i] + ": " + String.format("%.1f", draw) + " ns per nextInt(bound) and nextDouble, " 
+                    + Math.round(child) + " ns per child");
+        }
+    }
+    
+    /**
+     * @param index 0 for Random, 1 for BlockRandom
+     * 
+     * @return new generator
+     */
+    private static Random create(final int index)
+    {
+        return index == 0 ? new Random(0L) : new BlockRandom(0L);
+    }
+    
+    /**
+     * @return mean time of drawing one bounded int and one double in nanoseconds
+     */
+    private static double drawCost(final Random rand)
+    {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for(int i = 0; i < DRAWS; ++i)
+        {
+            checksum += rand.nextInt(27);
+            if(rand.nextDouble() < 0.5d)
+            {
+                ++checksum;
+            }
+        }
+        long time = System.nanoTime() - start;
+        sink = checksum;
+        return ((double)time) / DRAWS;
+    }
+    
+    /**
+     * @return mean time of breeding one child in nanoseconds
+     */
+    private static double childCost(final Random rand, final int numberOfChromosomes) throws Exception
+    {
+        Specimen first = new Specimen(numberOfChromosomes, rand);
+        Specimen second = new Specimen(numberOfChromosomes, rand);
+        long checksum = 0;
+        long start = System.nanoTime();
+        for(int i = 0; i < CHILDREN; ++i)
+        {
+            Specimen child = first.reproduce(second, Generation.DEFAULT_EQUAL_VALUES_STAY_PROBABILITY, 0.3d, rand);
+            checksum += child.hash64();
+            first = second;
+            second = child;
+        }
+        long time = System.nanoTime() - start;
+        sink = checksum;
+        return ((double)time) / CHILDREN;
+    }
+}
@@ -0,0 +1,214 @@
+package benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.Properties;
+import java.util.Random;
+
+import alphabet.Alphabet;
+import evolutionary_algorithm.Generation;
+
+/**
+ * Runs a standard workload of full {@link Generation#evolve} jobs on fixed-seed messages of different lengths and alphabets
+ * and writes a report of generations per second, evaluations per second, time to the desired evaluation, 
+ * peak heap usage and allocated bytes. When a baseline report is given, every metric is compared with it 
+ * and the suite exits with status 1 if any metric is worse by more than the threshold.<br>
+ * Usage: RegressionSuite report [baseline] [threshold, 0.2 by default]
+ */
+public class RegressionSuite
+{
+    /**Evaluation to be achieved.*/
+    private static final double DESIRED_EVALUATION = 1.0d;
+    /**Limit of generations of one run.*/
+    private static final int MAX_NUMBER_OF_ITERATIONS = 10000;
+    /**Number of runs of every workload, each with a different seed.*/
+    private static final int RUNS = 3;
+    
+    /**Names of metrics for which higher values are better; lower values are better for the others.*/
+    private static final String GENERATIONS_PER_SECOND = "generationsPerSecond";
+    private static final String EVALUATIONS_PER_SECOND = "evaluationsPerSecond";
+    private static final String SOLVED_RUNS = "solvedRuns";
+    private static final String TIME_TO_DESIRED_EVALUATION = "timeToDesiredEvaluationMs";
+    private static final String PEAK_HEAP = "peakHeapBytes";
+    private static final String ALLOCATED = "allocatedBytes";
+    
+    public static void main(final String[] args) throws Exception
+    {
+        if(args.length < 1)
+        {
+            System.err.println("Usage: RegressionSuite report [baseline] [threshold]");
+            System.exit(2);
+        }
+        File reportFile = new File(args[0]);
+        File baselineFile = args.length > 1 ? new File(args[1]) : null;
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.2d;
+        
+        Properties report = new Properties();
+        runWorkload(report, "lower300", BenchmarkCorpus.lowerCaseAlphabet(), 300, false);
+        runWorkload(report, "lower2000", BenchmarkCorpus.lowerCaseAlphabet(), 2000, false);
+        runWorkload(report, "default1000", BenchmarkCorpus.defaultAlphabet(), 1000, true);
+        
+        OutputStream out = new FileOutputStream(reportFile);
+        try
+        {
+            report.store(out, "Performance regression report");
+        }
+        finally
+        {
+            out.close();
+        }
+        
+        if(baselineFile != null && compare(report, load(baselineFile), threshold) > 0)
+        {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Will run one workload and put its metrics into the <i>report</i>.
+     */
+    private static void runWorkload(final Properties report, final String name, final Alphabet alphabet, 
+            final int messageLength, final boolean defaultAlphabetMessage) throws Exception
+    {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        double iterations = 0.0d;
+        double evaluations = 0.0d;
+        double seconds = 0.0d;
+        double timeToDesired = 0.0d;
+        long peakHeap = 0;
+        long allocated = 0;
+        int solved = 0;
+        
+        for(int run = 0; run < RUNS; ++run)
+        {
+            String message = defaultAlphabetMessage 
+                    ? BenchmarkCorpus.defaultAlphabetMessage(messageLength, run) : BenchmarkCorpus.message(messageLength, run);
+            Generation generation = new Generation(alphabet, new Random(run));
+            
+            System.gc();
+            resetPeakHeap();
+            long allocatedBefore = allocatedBytes(threadBean);
+            long start = System.nanoTime();
+            generation.evolve(200, DESIRED_EVALUATION, MAX_NUMBER_OF_ITERATIONS, 0.2d, 0.5d, 0.3d, message, null);
+            long time = System.nanoTime() - start;
+            allocated += allocatedBytes(threadBean) - allocatedBefore;
+            peakHeap = Math.max(peakHeap, peakHeap());
+            
+            iterations += generation.getNumberOfIterations();
+            evaluations += generation.getNumberOfEvaluations();
+            seconds += time / 1e9d;
+            if(generation.getBestEvaluation() >= DESIRED_EVALUATION)
+            {
+                ++solved;
+            }
+            //Unsolved runs count as if they were solved in the last generation.
+            timeToDesired += time / 1e6d;
+        }
+        report.setProperty(name + "." + GENERATIONS_PER_SECOND, Double.toString(iterations / seconds));
+        report.setProperty(name + "." + EVALUATIONS_PER_SECOND, Double.toString(evaluations / seconds));
+        report.setProperty(name + "." + SOLVED_RUNS, Integer.toString(solved));
+        report.setProperty(name + "." + TIME_TO_DESIRED_EVALUATION, Double.toString(timeToDesired / RUNS));
+        report.setProperty(name + "." + PEAK_HEAP, Long.toString(peakHeap));
+        report.setProperty(name + "." + ALLOCATED, Long.toString(allocated / RUNS));
+        System.out.println(name + ": " + Math.round(iterations / seconds) + " generations/s, " 
+                + Math.round(evaluations / seconds) + " evaluations/s, " + Math.round(timeToDesired / RUNS) + " ms to desired evaluation, " 
+                + solved + "/" + RUNS + " solved");
+    }
+    
+    /**
+     * Will print every metric worse than in the <i>baseline</i> by more than the <i>threshold</i>.
+     * 
+     * @return number of such metrics
+     */
+    private static int compare(final Properties report, final Properties baseline, final double threshold)
+    {
+        int regressions = 0;
+        for(String key : report.stringPropertyNames())
+        {
+            String baselineValue = baseline.getProperty(key);
+            if(baselineValue == null)
+            {
+                continue;
+            }
+            double current = Double.parseDouble(report.getProperty(key));
+            double expected = Double.parseDouble(baselineValue);
+            boolean higherIsBetter = key.endsWith(GENERATIONS_PER_SECOND) || key.endsWith(EVALUATIONS_PER_SECOND) 
+                    || key.endsWith(SOLVED_RUNS);
+            boolean regressed = higherIsBetter ? current < expected * (1.0d - threshold) : current > expected * (1.0d + threshold);
+            if(regressed)
+            {
+                System.out.println("REGRESSION " + key + ": " + current + ", baseline " + expected);
+                ++regressions;
+            }
+        }
+        return regressions;
+    }
+    
+    /**
+     * @return properties read from the <i>file</i>
+     */
+    private static Properties load(final File file) throws IOException
+    {
+        Properties properties = new Properties();
+        InputStream in = new FileInputStream(file);
+        try
+        {
+            properties.load(in);
+        }
+        finally
+        {
+            in.close();
+        }
+        return properties;
+    }
+    
+    /**
+     * @return bytes allocated by the current thread, or 0 if the JVM does not measure them
+     */
+    private static long allocatedBytes(final ThreadMXBean threadBean)
+    {
+        if(threadBean instanceof com.sun.management.ThreadMXBean)
+        {
+            return ((com.sun.management.ThreadMXBean)threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+    
+    /**
+     * Will reset peak usage of all heap memory pools.
+     */
+    private static void resetPeakHeap()
+    {
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+        {
+            if(pool.getType() == MemoryType.HEAP)
+            {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+    
+    /**
+     * @return sum of peak usages of all heap memory pools since the last reset
+     */
+    private static long peakHeap()
+    {
+        long peak = 0;
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+        {
+            if(pool.getType() == MemoryType.HEAP)
+            {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
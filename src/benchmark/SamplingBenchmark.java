@@ -0,0 +1,49 @@
+package benchmark;
+
+import java.util.Random;
+
+import alphabet.Alphabet;
+import evolutionary_algorithm.Generation;
+import evolutionary_algorithm.GeometricSamplingSchedule;
+import evolutionary_algorithm.SamplingSchedule;
+
+/**
+ * Compares the time to a full solution of a long message when specimens are scored on the whole cryptogram
+ * and on a progressively growing sample of it, both by {@link evolutionary_algorithm.ProgressiveSampleEvaluator}.<br>
+ * Every run evolves 200 specimens on a 25000 character message of {@link BenchmarkCorpus} seeded with the number of the run.
+ * The progressive sample starts at 500 characters and doubles whenever the best specimen deciphers 90% of it.
+ */
+public class SamplingBenchmark
+{
+    /**Number of runs for each schedule.*/
+    private static final int RUNS = 3;
+    /**Length of the message.*/
+    private static final int MESSAGE_LENGTH = 25000;
+    
+    public static void main(final String[] args) throws Exception
+    {
+        Alphabet alphabet = BenchmarkCorpus.lowerCaseAlphabet();
+        run("whole cryptogram", alphabet, new GeometricSamplingSchedule(MESSAGE_LENGTH, 2.0d, 1.0d));
+        run("progressive sample", alphabet, new GeometricSamplingSchedule(500, 2.0d, 0.9d));
+    }
+    
+    /**
+     * Will print mean time and mean number of generations to the full solution.
+     */
+    private static void run(final String name, final Alphabet alphabet, final SamplingSchedule schedule) throws Exception
+    {
+        long totalTime = 0;
+        long totalIterations = 0;
+        for(int i = 0; i < RUNS; ++i)
+        {
+            Generation generation = new Generation(alphabet, new Random(i));
+            generation.setSamplingSchedule(schedule);
+            long start = System.nanoTime();
+            generation.evolve(200, 1.0d, 10000, 0.2d, 0.5d, 0.3d, BenchmarkCorpus.message(MESSAGE_LENGTH, i), null);
+            totalTime += System.nanoTime() - start;
+            totalIterations += generation.getNumberOfIterations();
+        }
+        System.out.println(name + ": " + (totalTime / RUNS / 1000000) + " ms, "
+                + (totalIterations / RUNS) + " generations to the full solution");
+    }
+}
@@ -0,0 +1,63 @@
+package benchmark;
+
+import java.util.Random;
+
+import alphabet.Alphabet;
+import evolutionary_algorithm.AgeLayeredSolver;
+import evolutionary_algorithm.Generation;
+import evolutionary_algorithm.ParallelTemperingSolver;
+import evolutionary_algorithm.PartiallyMappedCrossover;
+import evolutionary_algorithm.Solver;
+
+/**
+ * Compares solver engines by wall-clock time to the desired evaluation on the same fixed-seed runs.
+ */
+public class SolverBenchmark
+{
+    /**Number of runs for each engine.*/
+    private static final int RUNS = 10;
+    /**Evaluation to be achieved.*/
+    private static final double DESIRED_EVALUATION = 1.0d;
+    
+    public static void main(final String[] args) throws Exception
+    {
+        Alphabet alphabet = BenchmarkCorpus.lowerCaseAlphabet();
+        
+        long[] times = new long[5];
+        for(int run = 0; run < RUNS; ++run)
+        {
+            String message = BenchmarkCorpus.message(1000, run);
+            
+            Generation generation = new Generation(alphabet, new Random(run));
+            times[0] += measure(generation, message);
+            
+            Generation pmxGeneration = new Generation(alphabet, new Random(run));
+            pmxGeneration.setCrossoverOperator(new PartiallyMappedCrossover());
+            times[1] += measure(pmxGeneration, message);
+            
+            times[2] += measure(new ParallelTemperingSolver(alphabet, new Random(run)), message);
+            
+            Generation pipelinedGeneration = new Generation(alphabet, new Random(run));
+            int threads = Runtime.getRuntime().availableProcessors();
+            pipelinedGeneration.setPipelining(Math.max(1, threads / 2), Math.max(1, threads - threads / 2));
+            times[3] += measure(pipelinedGeneration, message);
+            
+            times[4] += measure(new AgeLayeredSolver(alphabet, new Random(run)), message);
+        }
+        System.out.println("generation: " + (times[0] / RUNS / 1000000) + " ms");
+        System.out.println("generation with pmx: " + (times[1] / RUNS / 1000000) + " ms");
+        System.out.println("parallel tempering: " + (times[2] / RUNS / 1000000) + " ms");
+        System.out.println("pipelined generation: " + (times[3] / RUNS / 1000000) + " ms");
+        System.out.println("age-layered: " + (times[4] / RUNS / 1000000) + " ms");
+    }
+    
+    /**
+     * @return wall-clock time of one run in nanoseconds
+     */
+    private static long measure(final Solver solver, final String message) throws Exception
+    {
+        long start = System.nanoTime();
+        solver.solve(message, DESIRED_EVALUATION, null);
+        return System.nanoTime() - start;
+    }
+}
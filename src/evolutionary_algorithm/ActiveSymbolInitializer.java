@@ -0,0 +1,85 @@
+package evolutionary_algorithm;
+
+import java.util.Random;
+
+/**
+ * Creates Specimens for the large-alphabet mode: keys map the characters occurring in the message (active positions) 
+ * to a random permutation of the characters occurring in the cryptogram. The remaining characters are mapped to the remaining ones
+ * in a fixed order, as they never influence the evaluation.<br>
+ * Creating one Specimen costs a copy of the key and a shuffle of the active positions only.
+ */
+public class ActiveSymbolInitializer implements PopulationInitializer
+{
+    /**Characters occurring in the message, in ascending order.*/
+    protected int[] activePositions;
+    /**Key shared by all created Specimens before the active positions are shuffled.*/
+    protected int[] template;
+    
+    /**
+     * @param activePositions characters occurring in the message, in ascending order
+     */
+    public ActiveSymbolInitializer(final int[] activePositions)
+    {
+        this.activePositions = activePositions;
+    }
+    
+    @Override
+    public void prepare(final int[] cryptogram, final int numberOfChromosomes)
+    {
+        boolean[] occurring = new boolean[numberOfChromosomes];
+        for(int i = 0; i < cryptogram.length; ++i)
+        {
+            occurring[cryptogram[i]] = true;
+        }
+        boolean[] active = new boolean[numberOfChromosomes];
+        for(int position : activePositions)
+        {
+            active[position] = true;
+        }
+        
+        //Occurring characters go to the active positions first, then the other ones fill what is left.
+        int[] values = new int[numberOfChromosomes];
+        int count = 0;
+        for(int i = 0; i < numberOfChromosomes; ++i)
+        {
+            if(occurring[i])
+            {
+                values[count++] = i;
+            }
+        }
+        for(int i = 0; i < numberOfChromosomes; ++i)
+        {
+            if(!occurring[i])
+            {
+                values[count++] = i;
+            }
+        }
+        template = new int[numberOfChromosomes];
+        int next = 0;
+        for(int position : activePositions)
+        {
+            template[position] = values[next++];
+        }
+        for(int i = 0; i < numberOfChromosomes; ++i)
+        {
+            if(!active[i])
+            {
+                template[i] = values[next++];
+            }
+        }
+    }
+    
+    @Override
+    public Specimen createSpecimen(final Random rand)
+    {
+        int[] chromosomes = template.clone();
+        for(int i = activePositions.length - 1; i > 0; --i)
+        {
+            int j = rand.nextInt(i + 1);
+            int tmp = chromosomes[activePositions[i]];
+            chromosomes[activePositions[i]] = chromosomes[activePositions[j]];
+            chromosomes[activePositions[j]] = tmp;
+        }
+        return new Specimen(chromosomes);
+    }
+}
@@ -0,0 +1,158 @@
+package evolutionary_algorithm;
+
+/**
+ * Adjusts the parameters of reproduction after every generation from the success of children bred in it.
+ * A child is successful when it is evaluated higher than both of its parents.<br>
+ * -mutation chance: credit assignment, raised when mutated children succeed more often than the others, lowered otherwise<br>
+ * -number of swaps of one mutation: the 1/5th success rule applied to mutated children<br>
+ * -equalValuesStayProbability: the 1/5th success rule applied to all children; 
+ * frequent success lets crossing change more of the parents, rare success keeps more of them
+ */
+public class AdaptiveOperatorControl
+{
+    /**Success rate of the 1/5th rule.*/
+    protected static final double TARGET_SUCCESS_RATE = 0.2d;
+    /**Bounds of the adapted equalValuesStayProbability.*/
+    protected static final double MIN_EQUAL_VALUES_STAY_PROBABILITY = 0.5d;
+    protected static final double MAX_EQUAL_VALUES_STAY_PROBABILITY = 0.99d;
+    
+    /**Bounds of the adapted mutation chance. [0.0d ; 1.0d]*/
+    protected double minMutationChance;
+    protected double maxMutationChance;
+    /**Upper bound of the adapted number of swaps.*/
+    protected int maxNumberOfSwaps;
+    /**Factor by which parameters change in one generation. > 1.0d*/
+    protected double adaptationFactor;
+    
+    /**Current parameters.*/
+    protected double mutationChance;
+    protected double numberOfSwaps;
+    protected double equalValuesStayProbability;
+    
+    /**Children recorded in the current generation.*/
+    protected int mutated;
+    protected int mutatedSuccesses;
+    protected int unmutated;
+    protected int unmutatedSuccesses;
+    
+    /**
+     * @param minMutationChance lower bound of the mutation chance. [0.0d ; 1.0d]
+     * @param maxMutationChance upper bound of the mutation chance. [0.0d ; 1.0d]
+     * @param maxNumberOfSwaps upper bound of the number of swaps of one mutation. >= 1
+     * @param adaptationFactor by which parameters change in one generation. > 1.0d
+     */
+    public AdaptiveOperatorControl(final double minMutationChance, final double maxMutationChance, 
+            final int maxNumberOfSwaps, final double adaptationFactor)
+    {
+        this.minMutationChance = minMutationChance;
+        this.maxMutationChance = maxMutationChance;
+        this.maxNumberOfSwaps = Math.max(1, maxNumberOfSwaps);
+        this.adaptationFactor = adaptationFactor;
+    }
+    
+    /**
+     * Will set the initial parameters at the beginning of a run.
+     * 
+     * @param mutationChance initial mutation chance
+     * @param equalValuesStayProbability initial equalValuesStayProbability
+     */
+    public void start(final double mutationChance, final double equalValuesStayProbability)
+    {
+        this.mutationChance = clamp(mutationChance, minMutationChance, maxMutationChance);
+        this.equalValuesStayProbability = equalValuesStayProbability;
+        numberOfSwaps = 1.0d;
+        resetCounters();
+    }
+    
+    /**
+     * @param wasMutated whether the child has been mutated
+     * @param successful whether the child is evaluated higher than both of its parents
+     */
+    public void record(final boolean wasMutated, final boolean successful)
+    {
+        if(wasMutated)
+        {
+            ++mutated;
+            mutatedSuccesses += successful ? 1 : 0;
+        }
+        else
+        {
+            ++unmutated;
+            unmutatedSuccesses += successful ? 1 : 0;
+        }
+    }
+    
+    /**
+     * Will adjust the parameters from children recorded since the previous call.
+     */
+    public void adapt()
+    {
+        int children = mutated + unmutated;
+        if(children == 0)
+        {
+            return;
+        }
+        double mutatedRate = mutated == 0 ? 0.0d : ((double)mutatedSuccesses) / mutated;
+        double unmutatedRate = unmutated == 0 ? 0.0d : ((double)unmutatedSuccesses) / unmutated;
+        double rate = ((double)(mutatedSuccesses + unmutatedSuccesses)) / children;
+        
+        if(mutated > 0 && unmutated > 0)
+        {
+            mutationChance *= mutatedRate > unmutatedRate ? adaptationFactor : 1.0d / adaptationFactor;
+            mutationChance = clamp(mutationChance, minMutationChance, maxMutationChance);
+        }
+        if(mutated > 0)
+        {
+            numberOfSwaps *= mutatedRate > TARGET_SUCCESS_RATE ? adaptationFactor : 1.0d / adaptationFactor;
+            numberOfSwaps = clamp(numberOfSwaps, 1.0d, maxNumberOfSwaps);
+        }
+        double exploration = 1.0d - equalValuesStayProbability;
+        exploration *= rate > TARGET_SUCCESS_RATE ? adaptationFactor : 1.0d / adaptationFactor;
+        equalValuesStayProbability = clamp(1.0d - exploration, MIN_EQUAL_VALUES_STAY_PROBABILITY, MAX_EQUAL_VALUES_STAY_PROBABILITY);
+        
+        resetCounters();
+    }
+    
+    /**
+     * @return current mutation chance. [0.0d ; 1.0d]
+     */
+    public double getMutationChance()
+    {
+        return mutationChance;
+    }
+    
+    /**
+     * @return current number of swaps of one mutation. >= 1
+     */
+    public int getNumberOfSwaps()
+    {
+        return (int)Math.round(numberOfSwaps);
+    }
+    
+    /**
+     * @return current equalValuesStayProbability. [0.0d ; 1.0d]
+     */
+    public double getEqualValuesStayProbability()
+    {
+        return equalValuesStayProbability;
+    }
+    
+    /**
+     * Will forget recorded children.
+     */
+    protected void resetCounters()
+    {
+        mutated = 0;
+        mutatedSuccesses = 0;
+        unmutated = 0;
+        unmutatedSuccesses = 0;
+    }
+    
+    /**
+     * @return <i>value</i> limited to [<i>min</i> ; <i>max</i>]
+     */
+    protected static double clamp(final double value, final double min, final double max)
+    {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,565 @@
+package evolutionary_algorithm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import alphabet.Alphabet;
+import alphabet.UnknownCharacterException;
+import randomizer.BlockRandom;
+
+/**
+ * Breaks the substitution cipher by an age-layered population structure (ALPS).<br>
+ * Every specimen has an age: the number of generations its oldest genetic material has lived; a child is one generation older 
+ * than its older parent. Layers admit specimens up to growing age limits (ageGap * (layer + 1)^2, the top layer has none), 
+ * and specimens compete only within their layer. A specimen exceeding the limit of its layer is offered to the layer above 
+ * through a bounded promotion queue; while the queue is full, the specimen stays in its layer and is offered again in the next round. 
+ * Every ageGap rounds the bottom layer is promoted as a whole and refilled with fresh random keys, so exploration continues 
+ * without global restarts; members which the full queue did not accept stay in place of fresh keys.<br>
+ * Like {@link Generation}, the solver accepts an {@link EvaluatorFactory}, crossover operators and {@link CribConstraints}, 
+ * and with a {@link alphabet.ClassAlphabet} evolves permutations of symbol classes which can be expanded with {@link Specimen#expand}.<br>
+ * In every round each layer breeds one generation on a separate thread. Promotions cross threads, 
+ * so the course of a run is not reproducible from the seed.
+ */
+public class AgeLayeredSolver implements Solver
+{
+    /**Used by this class.*/
+    protected Alphabet alphabet;
+    /***/
+    protected Random rand;
+    /**Number of layers.*/
+    protected int numberOfLayers = 5;
+    /**Number of specimens kept by every layer.*/
+    protected int layerSize = 100;
+    /**Age limit of the bottom layer and period of injecting fresh keys, in rounds.*/
+    protected int ageGap = 10;
+    /**With which each child is subject to mutation.*/
+    protected double mutationChance = 0.3d;
+    /**How likely a chromosome identical in both parents is to be passed on to the child.*/
+    protected double equalValuesStayProbability = Generation.DEFAULT_EQUAL_VALUES_STAY_PROBABILITY;
+    /**Maximum number of rounds of one run.*/
+    protected int maxNumberOfRounds = 10000;
+    /**Number of threads running the layers.*/
+    protected int numberOfThreads = Runtime.getRuntime().availableProcessors();
+    /**Limits resources spent by one run. Unlimited by default.*/
+    protected Budget budget = new Budget();
+    /**Creates the evaluator of every run, null for the built-in fitness.*/
+    protected EvaluatorFactory evaluatorFactory = null;
+    /**Creates the crossover operator of every layer, null for the crossing built into {@link Specimen#reproduce}.*/
+    protected CrossoverOperatorFactory crossoverOperatorFactory = null;
+    /**Known fragments of the plaintext and substitutions, null if there are none.*/
+    protected CribConstraints cribConstraints = null;
+    
+    /**Assigns fitness to specimens in the current run.*/
+    protected Evaluator evaluator;
+    /**Encoded message of the current run.*/
+    protected int[] cryptogram;
+    /**For each position the number of its group of symbol classes, null if any value may take any position.*/
+    protected int[] symbolGroups;
+    /**For each chromosome the value pinned by <i>cribConstraints</i>, or -1. Null when nothing is pinned.*/
+    protected int[] pinnedValues;
+    /**Chromosomes not pinned by <i>cribConstraints</i>. Null when nothing is pinned.*/
+    protected int[] freePositions;
+    /**Best specimen found so far and its evaluation.*/
+    protected Specimen best;
+    protected double bestEvaluation;
+    /**Number of rounds performed in the last run.*/
+    protected int numberOfRounds;
+    /**Number of evaluations performed in the last run.*/
+    protected final AtomicLong numberOfEvaluations = new AtomicLong();
+    
+    /**
+     * @param alphabet to be used
+     * @param rand for randomization
+     */
+    public AgeLayeredSolver(final Alphabet alphabet, final Random rand)
+    {
+        this.alphabet = alphabet;
+        this.rand = rand;
+    }
+    
+    /**
+     * @param numberOfLayers of the population. >= 1
+     * @param layerSize number of specimens kept by every layer. >= 2
+     * @param ageGap age limit of the bottom layer and period of injecting fresh keys, in rounds. >= 1
+     */
+    public void setLayers(final int numberOfLayers, final int layerSize, final int ageGap)
+    {
+        this.numberOfLayers = Math.max(1, numberOfLayers);
+        this.layerSize = Math.max(2, layerSize);
+        this.ageGap = Math.max(1, ageGap);
+    }
+    
+    /**
+     * @param mutationChance with which each child is subject to mutation. [0.0d ; 1.0d]
+     * @param equalValuesStayProbability determines how likely a chromosome, which is identical in both parents, is to be passed on to the child. [0.0d ; 1.0d]
+     */
+    public void setReproduction(final double mutationChance, final double equalValuesStayProbability)
+    {
+        this.mutationChance = mutationChance;
+        this.equalValuesStayProbability = equalValuesStayProbability;
+    }
+    
+    /**
+     * @param maxNumberOfRounds of one run
+     */
+    public void setMaxNumberOfRounds(final int maxNumberOfRounds)
+    {
+        this.maxNumberOfRounds = maxNumberOfRounds;
+    }
+    
+    /**
+     * @param numberOfThreads running the layers
+     */
+    public void setNumberOfThreads(final int numberOfThreads)
+    {
+        this.numberOfThreads = Math.max(1, numberOfThreads);
+    }
+    
+    /**
+     * @param budget limiting every following run, checked once per round and by every layer once per chunk of children
+     */
+    public void setBudget(final Budget budget)
+    {
+        this.budget = budget;
+    }
+    
+    /**
+     * Replaces the built-in fitness, which compares keys with the cipher, by evaluators created for the cryptogram of every run. 
+     * Layers evaluate specimens concurrently, so the evaluators must be safe to use by several threads.
+     * 
+     * @param evaluatorFactory creating the evaluator of every run, or null for the built-in fitness
+     */
+    public void setEvaluatorFactory(final EvaluatorFactory evaluatorFactory)
+    {
+        this.evaluatorFactory = evaluatorFactory;
+    }
+    
+    /**
+     * Every layer gets an operator of its own from the <i>factory</i>, as layers breed on separate threads.
+     * 
+     * @param factory creating crossover operators, or null for the crossing built into {@link Specimen#reproduce}
+     */
+    public void setCrossoverOperator(final CrossoverOperatorFactory factory)
+    {
+        this.crossoverOperatorFactory = factory;
+    }
+    
+    /**
+     * Chromosomes determined by the <i>cribConstraints</i> are pinned in every specimen.
+     * 
+     * @param cribConstraints to be used, or null
+     */
+    public void setCribConstraints(final CribConstraints cribConstraints)
+    {
+        this.cribConstraints = cribConstraints;
+    }
+    
+    /**
+     * @return number of evaluations performed in the last run
+     */
+    public long getNumberOfEvaluations()
+    {
+        return numberOfEvaluations.get();
+    }
+    
+    /**
+     * @return number of rounds performed in the last run
+     */
+    public int getNumberOfRounds()
+    {
+        return numberOfRounds;
+    }
+    
+    /**
+     * @exception IllegalArgumentException if the crib constraints do not fit the cryptogram
+     */
+    @Override
+    public Specimen solve(final String message, final double desiredEvaluation, final Statistics statistics) 
+            throws UnknownCharacterException
+    {
+        budget.start();
+        try
+        {
+            prepare(message);
+        }
+        catch (IncorrectCribException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+        List<Layer> layers = createLayers();
+        layers.get(0).injectFreshKeys();
+        best = layers.get(0).members.get(0).specimen;
+        bestEvaluation = layers.get(0).members.get(0).evaluation;
+        recordBest(layers);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(numberOfThreads, numberOfLayers));
+        try
+        {
+            while(numberOfRounds < maxNumberOfRounds && !budget.isExhausted(numberOfEvaluations.get()) 
+                    && !(bestEvaluation >= desiredEvaluation && evaluator.verify(best) >= desiredEvaluation))
+            {
+                if(evaluator.newGeneration(bestEvaluation))
+                {
+                    reevaluate(layers);
+                }
+                layers.get(0).injecting = numberOfRounds > 0 && numberOfRounds % ageGap == 0;
+                for(Future<Void> future : executor.invokeAll(layers))
+                {
+                    future.get();
+                }
+                recordBest(layers);
+                generateStatistics(layers, statistics);
+                ++numberOfRounds;
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e)
+        {
+            throw new RuntimeException(e.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        return best;
+    }
+    
+    /**
+     * Will cipher the <i>message</i> with a random key respecting the symbol groups, create the evaluator 
+     * and determine chromosomes pinned by the crib constraints.
+     * 
+     * @param message to be ciphered
+     * 
+     * @throws UnknownCharacterException if an unknown character is found in the <i>message</i> or in the constraints
+     * @throws IncorrectCribException when the crib constraints do not fit the cryptogram
+     */
+    protected void prepare(final String message) throws UnknownCharacterException, IncorrectCribException
+    {
+        symbolGroups = alphabet.getSymbolGroups();
+        Specimen exemplar = new Specimen(alphabet.getAlphabetLength(), rand);
+        if(symbolGroups != null)
+        {
+            exemplar = exemplar.regroup(symbolGroups, rand);
+        }
+        cryptogram = alphabet.convert(message);
+        exemplar.encode(cryptogram);
+        evaluator = evaluatorFactory == null ? new ExemplarEvaluator(exemplar) : evaluatorFactory.createEvaluator(cryptogram);
+        pinnedValues = null;
+        freePositions = null;
+        if(cribConstraints != null)
+        {
+            pinnedValues = cribConstraints.resolve(alphabet, cryptogram);
+            freePositions = CribConstraints.freePositions(pinnedValues);
+        }
+        numberOfEvaluations.set(0);
+        numberOfRounds = 0;
+    }
+    
+    /**
+     * @return empty layers with their age limits, the bottom one first
+     */
+    protected List<Layer> createLayers()
+    {
+        List<Layer> layers = new ArrayList<Layer>();
+        for(int i = numberOfLayers - 1; i >= 0; --i)
+        {
+            int ageLimit = i == numberOfLayers - 1 ? Integer.MAX_VALUE : ageGap * (i + 1) * (i + 1);
+            BlockingQueue<Individual> upper = layers.isEmpty() ? null : layers.get(0).incoming;
+            layers.add(0, new Layer(ageLimit, upper, new BlockRandom(rand.nextLong())));
+        }
+        return layers;
+    }
+    
+    /**
+     * Will evaluate all members and the best specimen again, after the evaluator has changed.
+     * 
+     * @param layers whose members are evaluated
+     */
+    protected void reevaluate(final List<Layer> layers)
+    {
+        for(Layer layer : layers)
+        {
+            for(Individual individual : layer.members)
+            {
+                individual.evaluation = layer.evaluate(individual.specimen);
+            }
+            Collections.sort(layer.members, BY_EVALUATION_DESCENDING);
+        }
+        bestEvaluation = evaluator.evaluate(best);
+        numberOfEvaluations.incrementAndGet();
+    }
+    
+    /**
+     * @param specimen to be pinned
+     * @param rand for randomization
+     * 
+     * @return the <i>specimen</i> respecting the symbol groups, with chromosomes pinned by the crib constraints
+     */
+    protected Specimen pin(final Specimen specimen, final Random rand)
+    {
+        Specimen regrouped = symbolGroups == null ? specimen : specimen.regroup(symbolGroups, rand);
+        return pinnedValues == null ? regrouped : regrouped.pin(pinnedValues);
+    }
+    
+    /**
+     * @param layers whose best specimens are considered
+     */
+    protected void recordBest(final List<Layer> layers)
+    {
+        for(Layer layer : layers)
+        {
+            if(!layer.members.isEmpty() && layer.members.get(0).evaluation > bestEvaluation)
+            {
+                best = layer.members.get(0).specimen;
+                bestEvaluation = layer.members.get(0).evaluation;
+            }
+        }
+    }
+    
+    /**
+     * Sends the message deciphered by the best specimen, its evaluation, mean and worst evaluation of all layers to the <i>statistics</i>.
+     * 
+     * @param layers whose specimens are described
+     * @param statistics to receive data, may be null
+     */
+    protected void generateStatistics(final List<Layer> layers, final Statistics statistics)
+    {
+        if(statistics == null)
+        {
+            return;
+        }
+        double sum = 0.0d;
+        double worst = 1.0d;
+        int count = 0;
+        for(Layer layer : layers)
+        {
+            for(Individual individual : layer.members)
+            {
+                sum += individual.evaluation;
+                worst = Math.min(worst, individual.evaluation);
+                ++count;
+            }
+        }
+        int[] text = cryptogram.clone();
+        best.decode(text);
+        try
+        {
+            statistics.newGeneration(alphabet.convert(text), bestEvaluation, sum / Math.max(1, count), worst);
+        }
+        catch (UnknownCharacterException e)
+        {
+            throw new RuntimeException("Impossible! The cryptogram has been created with the same alphabet.");
+        }
+    }
+    
+    /**Orders the best individuals first.*/
+    protected static final Comparator<Individual> BY_EVALUATION_DESCENDING = new Comparator<Individual>()
+    {
+        @Override
+        public int compare(final Individual a, final Individual b)
+        {
+            return Double.compare(b.evaluation, a.evaluation);
+        }
+    };
+    
+    /**
+     * Specimen with its evaluation and age.
+     */
+    protected static class Individual
+    {
+        /***/
+        protected Specimen specimen;
+        /***/
+        protected double evaluation;
+        /**Number of generations the oldest genetic material of the specimen has lived.*/
+        protected int age;
+        
+        /**
+         * @param specimen to be stored
+         * @param evaluation of the <i>specimen</i>
+         * @param age of the <i>specimen</i>
+         */
+        protected Individual(final Specimen specimen, final double evaluation, final int age)
+        {
+            this.specimen = specimen;
+            this.evaluation = evaluation;
+            this.age = age;
+        }
+    }
+    
+    /**
+     * One layer of the population, breeding one generation per round.
+     */
+    protected class Layer implements Callable<Void>
+    {
+        /**Specimens of this layer, the best first after every round.*/
+        protected List<Individual> members = new ArrayList<Individual>();
+        /**Specimens promoted from the layer below, taken at the beginning of every round.*/
+        protected BlockingQueue<Individual> incoming = new ArrayBlockingQueue<Individual>(layerSize);
+        /**Promotion queue of the layer above, null for the top layer.*/
+        protected BlockingQueue<Individual> upper;
+        /**Oldest age admitted by this layer.*/
+        protected int ageLimit;
+        /**Whether the layer is to be replaced with fresh keys in the next round; used by the bottom layer.*/
+        protected volatile boolean injecting = false;
+        /**Used only by this layer.*/
+        protected Random rand;
+        /**Used only by this layer, null for the crossing built into {@link Specimen#reproduce}.*/
+        protected CrossoverOperator operator;
+        
+        /**
+         * @param ageLimit oldest age admitted by this layer
+         * @param upper promotion queue of the layer above, null for the top layer
+         * @param rand used only by this layer
+         */
+        protected Layer(final int ageLimit, final BlockingQueue<Individual> upper, final Random rand)
+        {
+            this.ageLimit = ageLimit;
+            this.upper = upper;
+            this.rand = rand;
+            this.operator = crossoverOperatorFactory == null ? null : crossoverOperatorFactory.createOperator();
+        }
+        
+        /**
+         * Will breed one generation: children of parents chosen by binary tournaments, 
+         * then promotion of specimens too old for this layer and selection of the best ones among members, children and immigrants.
+         */
+        @Override
+        public Void call()
+        {
+            if(injecting)
+            {
+                injectFreshKeys();
+                injecting = false;
+            }
+            incoming.drainTo(members);
+            if(members.size() < 2)
+            {
+                return null;
+            }
+            
+            List<Individual> pool = new ArrayList<Individual>(members.size() + layerSize);
+            for(int i = 0; i < layerSize; ++i)
+            {
+                if(i % Generation.CHUNK_SIZE == 0 && budget.isExhausted(numberOfEvaluations.get()))
+                {
+                    break;
+                }
+                Individual first = tournament();
+                Individual second = tournament();
+                Specimen child = breed(first.specimen, second.specimen);
+                pool.add(new Individual(child, evaluate(child), Math.max(first.age, second.age)));
+            }
+            for(Individual individual : members)
+            {
+                pool.add(individual);
+            }
+            
+            //The best old specimens are offered first, as the promotion queue may fill up.
+            Collections.sort(pool, BY_EVALUATION_DESCENDING);
+            members.clear();
+            for(Individual individual : pool)
+            {
+                ++individual.age;
+                if(individual.age <= ageLimit || !promote(individual))
+                {
+                    members.add(individual);
+                }
+            }
+            if(members.size() > layerSize)
+            {
+                members.subList(layerSize, members.size()).clear();
+            }
+            return null;
+        }
+        
+        /**
+         * Will promote members, the best first, and fill the layer with new random keys of age 0. 
+         * Members not accepted by the full promotion queue stay in the layer.
+         */
+        protected void injectFreshKeys()
+        {
+            List<Individual> kept = new ArrayList<Individual>();
+            for(Individual individual : members)
+            {
+                if(!promote(individual))
+                {
+                    kept.add(individual);
+                }
+            }
+            members.clear();
+            members.addAll(kept);
+            while(members.size() < layerSize)
+            {
+                Specimen specimen = pin(new Specimen(alphabet.getAlphabetLength(), rand), rand);
+                members.add(new Individual(specimen, evaluate(specimen), 0));
+            }
+            Collections.sort(members, BY_EVALUATION_DESCENDING);
+        }
+        
+        /**
+         * Will offer the <i>individual</i> to the layer above.
+         * 
+         * @return whether the <i>individual</i> has been accepted; false for the top layer and when the promotion queue is full
+         */
+        protected boolean promote(final Individual individual)
+        {
+            return upper != null && upper.offer(individual);
+        }
+        
+        /**
+         * @return the better of two random members
+         */
+        protected Individual tournament()
+        {
+            Individual first = members.get(rand.nextInt(members.size()));
+            Individual second = members.get(rand.nextInt(members.size()));
+            return first.evaluation >= second.evaluation ? first : second;
+        }
+        
+        /**
+         * @return child of the given parents
+         */
+        protected Specimen breed(final Specimen first, final Specimen second)
+        {
+            try
+            {
+                if(operator == null)
+                {
+                    Specimen child = first.reproduce(second, equalValuesStayProbability, mutationChance, 1, freePositions, rand);
+                    return symbolGroups == null ? child : pin(child, rand);
+                }
+                return pin(first.reproduce(second, operator, mutationChance, 1, freePositions, rand), rand);
+            }
+            catch (IncorrectProbabilityException | IncorrectMutationChanceException 
+                    | DifferentNumberOfChromosomesException e)
+            {
+                //All specimens share the same number of chromosomes.
+                throw new RuntimeException(e);
+            }
+        }
+        
+        /**
+         * @return evaluation of the <i>specimen</i>, counted in the number of evaluations
+         */
+        protected double evaluate(final Specimen specimen)
+        {
+            numberOfEvaluations.incrementAndGet();
+            return evaluator.evaluate(specimen);
+        }
+    }
+}
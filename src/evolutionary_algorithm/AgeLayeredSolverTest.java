@@ -0,0 +1,210 @@
+package evolutionary_algorithm;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import alphabet.Alphabet;
+import alphabet.ClassAlphabet;
+import alphabet.DefaultAlphabet;
+import evolutionary_algorithm.AgeLayeredSolver.Individual;
+import evolutionary_algorithm.AgeLayeredSolver.Layer;
+
+
+public class AgeLayeredSolverTest
+{
+    private static final String MESSAGE = "the letter arrived on a quiet evening when nobody expected any news from the north";
+    
+    /**
+     * @return solver prepared for the MESSAGE with three layers of ten specimens and the age gap of 2
+     */
+    private static AgeLayeredSolver prepareSolver() throws Exception
+    {
+        AgeLayeredSolver solver = new AgeLayeredSolver(new Alphabet("abcdefghijklmnopqrstuvwxyz "), new Random(1));
+        solver.setLayers(3, 10, 2);
+        solver.prepare(MESSAGE);
+        return solver;
+    }
+    
+    /**
+     * @return individual which fills a place in a promotion queue
+     */
+    private static Individual filler()
+    {
+        return new Individual(new Specimen(27, new Random(0)), 0.0d, 0);
+    }
+    
+    @Test
+    public void testAgeLimits() throws Exception
+    {
+        AgeLayeredSolver solver = prepareSolver();
+        List<Layer> layers = solver.createLayers();
+        assertEquals(2, layers.get(0).ageLimit);
+        assertEquals(8, layers.get(1).ageLimit);
+        assertEquals(Integer.MAX_VALUE, layers.get(2).ageLimit);
+        
+        Layer bottom = layers.get(0);
+        bottom.injectFreshKeys();
+        int promoted = 0;
+        for(int round = 0; round < 6; ++round)
+        {
+            bottom.call();
+            List<Individual> received = new ArrayList<Individual>();
+            layers.get(1).incoming.drainTo(received);
+            for(Individual individual : received)
+            {
+                assertTrue(individual.age > bottom.ageLimit);
+            }
+            for(Individual individual : bottom.members)
+            {
+                //Only the full promotion queue keeps an old specimen in the layer.
+                assertTrue(individual.age <= bottom.ageLimit || received.size() == solver.layerSize);
+            }
+            promoted += received.size();
+        }
+        assertTrue(promoted > 0);
+    }
+    
+    @Test
+    public void testFullPromotionQueueKeepsSpecimens() throws Exception
+    {
+        AgeLayeredSolver solver = prepareSolver();
+        List<Layer> layers = solver.createLayers();
+        Layer bottom = layers.get(0);
+        bottom.injectFreshKeys();
+        while(layers.get(1).incoming.remainingCapacity() > 0)
+        {
+            layers.get(1).incoming.add(filler());
+        }
+        
+        double bestEvaluation = bottom.members.get(0).evaluation;
+        for(int round = 0; round < 6; ++round)
+        {
+            bottom.call();
+            assertEquals(solver.layerSize, bottom.members.size());
+            assertTrue(bottom.members.get(0).evaluation >= bestEvaluation);
+            bestEvaluation = bottom.members.get(0).evaluation;
+        }
+        assertTrue(bottom.members.get(0).age > bottom.ageLimit);
+    }
+    
+    @Test
+    public void testInjectionPromotesLayerAndRefillsIt() throws Exception
+    {
+        AgeLayeredSolver solver = prepareSolver();
+        List<Layer> layers = solver.createLayers();
+        Layer bottom = layers.get(0);
+        bottom.injectFreshKeys();
+        bottom.call();
+        List<Individual> previous = new ArrayList<Individual>(bottom.members);
+        
+        bottom.injecting = true;
+        bottom.call();
+        assertFalse(bottom.injecting);
+        assertEquals(previous.size(), layers.get(1).incoming.size());
+        assertTrue(layers.get(1).incoming.containsAll(previous));
+        assertEquals(solver.layerSize, bottom.members.size());
+        for(Individual individual : bottom.members)
+        {
+            assertFalse(previous.contains(individual));
+            assertEquals(1, individual.age);
+        }
+    }
+    
+    @Test
+    public void testInjectionKeepsSpecimensNotPromoted() throws Exception
+    {
+        AgeLayeredSolver solver = prepareSolver();
+        List<Layer> layers = solver.createLayers();
+        Layer bottom = layers.get(0);
+        bottom.injectFreshKeys();
+        bottom.call();
+        List<Individual> previous = new ArrayList<Individual>(bottom.members);
+        while(layers.get(1).incoming.remainingCapacity() > 3)
+        {
+            layers.get(1).incoming.add(filler());
+        }
+        
+        bottom.injectFreshKeys();
+        //The three best ones are promoted, the rest stays in place of fresh keys.
+        assertTrue(layers.get(1).incoming.containsAll(previous.subList(0, 3)));
+        assertTrue(bottom.members.containsAll(previous.subList(3, previous.size())));
+        assertEquals(solver.layerSize, bottom.members.size());
+    }
+    
+    @Test
+    public void testSolveWithClassesCribsAndConfiguredOperators() throws Exception
+    {
+        final ClassAlphabet classes = ClassAlphabet.caseClasses(new DefaultAlphabet());
+        final String message = "The bridge had fallen. So, the roads to the valley were closed until spring.";
+        final int[] plaintext = classes.convert(message);
+        final boolean[] created = new boolean[2];
+        
+        AgeLayeredSolver solver = new AgeLayeredSolver(classes, new Random(3));
+        solver.setLayers(3, 40, 5);
+        solver.setNumberOfThreads(2);
+        solver.setEvaluatorFactory(new EvaluatorFactory()
+        {
+            @Override
+            public Evaluator createEvaluator(final int[] cryptogram)
+            {
+                created[0] = true;
+                return new Evaluator()
+                {
+                    @Override
+                    public double evaluate(final Specimen specimen)
+                    {
+                        int[] text = cryptogram.clone();
+                        specimen.decode(text);
+                        int matching = 0;
+                        for(int i = 0; i < text.length; ++i)
+                        {
+                            matching += text[i] == plaintext[i] ? 1 : 0;
+                        }
+                        return ((double)matching) / text.length;
+                    }
+                    
+                    @Override
+                    public double verify(final Specimen specimen)
+                    {
+                        return evaluate(specimen);
+                    }
+                    
+                    @Override
+                    public boolean newGeneration(final double bestEvaluation)
+                    {
+                        return false;
+                    }
+                };
+            }
+        });
+        solver.setCrossoverOperator(new CrossoverOperatorFactory()
+        {
+            @Override
+            public CrossoverOperator createOperator()
+            {
+                created[1] = true;
+                return new OrderCrossover();
+            }
+        });
+        CribConstraints cribs = new CribConstraints();
+        cribs.addCrib("the bridge", 0);
+        solver.setCribConstraints(cribs);
+        
+        Specimen best = solver.solve(message, 1.0d, null);
+        assertTrue(created[0]);
+        assertTrue(created[1]);
+        assertEquals(classes.getFullAlphabet().getAlphabetLength(), best.expand(classes).getChromosomes().length);
+        for(int i = 0; i < solver.pinnedValues.length; ++i)
+        {
+            if(solver.pinnedValues[i] >= 0)
+            {
+                assertEquals(solver.pinnedValues[i], best.getChromosomes()[i]);
+            }
+        }
+        assertEquals(1.0d, solver.evaluator.verify(best), 0.0d);
+    }
+}
@@ -0,0 +1,170 @@
+package evolutionary_algorithm;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits the resources which can be spent by one run of the algorithm.<br>
+ * Supported limits are: wall-clock time, CPU time, number of evaluations and an external {@link CancellationToken}.
+ * Each limit is disabled unless it is set.<br>
+ * CPU time is summed over all threads which check the Budget: every call to {@link Budget#isExhausted} charges
+ * the CPU time its thread has spent since its previous call, or since the start of the run.<br>
+ * A Budget has to be {@link Budget#start started} at the beginning of every run.
+ */
+public class Budget
+{
+    /**Value meaning that the given limit is not set.*/
+    public static final long UNLIMITED = -1;
+    
+    /**Maximum wall-clock time of one run in nanoseconds.*/
+    private long wallClockLimit = UNLIMITED;
+    /**Maximum CPU time of one run in nanoseconds.*/
+    private long cpuTimeLimit = UNLIMITED;
+    /**Maximum number of evaluations in one run.*/
+    private long evaluationLimit = UNLIMITED;
+    /**Checked on every call to {@link Budget#isExhausted}, may be null.*/
+    private CancellationToken cancellationToken = null;
+    
+    /**System.nanoTime() at which the wall-clock time runs out.*/
+    private long deadline;
+    /**CPU time charged by all threads since the start of the run.*/
+    private final AtomicLong cpuTimeSpent = new AtomicLong();
+    /**CPU time of every thread alive at the start of the run, by thread id.*/
+    private Map<Long, Long> startingCpuTimes;
+    /**Number of the current run, so readings from previous runs are not charged.*/
+    private volatile long run = 0;
+    /**Number of the run and CPU time of the current thread at its previous check.*/
+    private final ThreadLocal<long[]> lastCpuTime = new ThreadLocal<long[]>()
+    {
+        @Override
+        protected long[] initialValue()
+        {
+            return new long[]{-1, 0};
+        }
+    };
+    /**Used to measure the CPU time, null when the CPU time is not limited.*/
+    private volatile ThreadMXBean threadBean;
+    
+    /**
+     * @param milliseconds of wall-clock time available for one run, or {@link Budget#UNLIMITED}
+     */
+    public void setWallClockLimit(final long milliseconds)
+    {
+        wallClockLimit = milliseconds == UNLIMITED ? UNLIMITED : milliseconds * 1000000L;
+    }
+    
+    /**
+     * If measuring the CPU time is not supported by the JVM, this limit will be ignored.
+     *
+     * @param milliseconds of CPU time available for one run, or {@link Budget#UNLIMITED}
+     */
+    public void setCpuTimeLimit(final long milliseconds)
+    {
+        cpuTimeLimit = milliseconds == UNLIMITED ? UNLIMITED : milliseconds * 1000000L;
+    }
+    
+    /**
+     * @param evaluations available for one run, or {@link Budget#UNLIMITED}
+     */
+    public void setEvaluationLimit(final long evaluations)
+    {
+        evaluationLimit = evaluations;
+    }
+    
+    /**
+     * @param cancellationToken to be checked, may be null
+     */
+    public void setCancellationToken(final CancellationToken cancellationToken)
+    {
+        this.cancellationToken = cancellationToken;
+    }
+    
+    /**
+     * Will mark the beginning of a run. Limits are measured from this moment.
+     * Must be called before any thread of the run checks the Budget.
+     */
+    public void start()
+    {
+        deadline = System.nanoTime() + wallClockLimit;
+        threadBean = null;
+        if(cpuTimeLimit != UNLIMITED)
+        {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if(bean.isThreadCpuTimeSupported() && bean.isThreadCpuTimeEnabled())
+            {
+                startingCpuTimes = new HashMap<Long, Long>();
+                for(long id : bean.getAllThreadIds())
+                {
+                    long time = bean.getThreadCpuTime(id);
+                    if(time >= 0)
+                    {
+                        startingCpuTimes.put(id, time);
+                    }
+                }
+                cpuTimeSpent.set(0);
+                ++run;
+                threadBean = bean;
+            }
+        }
+    }
+    
+    /**
+     * Cheap enough to be called once per generation and once per chunk of work. May be called from any thread.
+     *
+     * @param numberOfEvaluations performed since the start of the run
+     *
+     * @return whether any of the limits has been reached
+     */
+    public boolean isExhausted(final long numberOfEvaluations)
+    {
+        if(cancellationToken != null && cancellationToken.isCancelled())
+        {
+            return true;
+        }
+        if(evaluationLimit != UNLIMITED && numberOfEvaluations >= evaluationLimit)
+        {
+            return true;
+        }
+        if(wallClockLimit != UNLIMITED && System.nanoTime() - deadline >= 0)
+        {
+            return true;
+        }
+        if(cpuTimeLimit != UNLIMITED && chargeCpuTime() >= cpuTimeLimit)
+        {
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Will charge the CPU time the current thread has spent since its previous check in this run.
+     * A thread checking for the first time is charged from the start of the run, or from its own start
+     * if it has been started later. {@link Budget#isExhausted} calls it; threads working for the run
+     * without checking the Budget should call it once per chunk of work.
+     *
+     * @return CPU time in nanoseconds charged by all threads since the start of the run,
+     * or 0 if the CPU time is not limited or can not be measured
+     */
+    public long chargeCpuTime()
+    {
+        ThreadMXBean threadBean = this.threadBean;
+        if(threadBean == null)
+        {
+            return 0;
+        }
+        long now = threadBean.getCurrentThreadCpuTime();
+        long[] last = lastCpuTime.get();
+        if(last[0] != run)
+        {
+            Long starting = startingCpuTimes.get(Thread.currentThread().getId());
+            last[0] = run;
+            last[1] = starting == null ? 0 : starting;
+        }
+        long spent = cpuTimeSpent.addAndGet(now - last[1]);
+        last[1] = now;
+        return spent;
+    }
+}
@@ -0,0 +1,27 @@
+package evolutionary_algorithm;
+
+/**
+ * Allows another thread to request that a running algorithm stops as soon as possible.
+ * Once cancelled, a token stays cancelled.
+ */
+public class CancellationToken
+{
+    /**Whether the cancellation has been requested.*/
+    private volatile boolean cancelled = false;
+    
+    /**
+     * Will request the cancellation. May be called from any thread.
+     */
+    public void cancel()
+    {
+        cancelled = true;
+    }
+    
+    /**
+     * @return whether the cancellation has been requested
+     */
+    public boolean isCancelled()
+    {
+        return cancelled;
+    }
+}
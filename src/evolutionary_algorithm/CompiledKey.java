@@ -0,0 +1,228 @@
+package evolutionary_algorithm;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+import alphabet.Alphabet;
+import alphabet.ClassAlphabet;
+import alphabet.UnknownCharacterException;
+
+/**
+ * Key of a {@link Specimen} compiled with its {@link Alphabet} into flat char to char tables, 
+ * so texts are encrypted and decrypted in a single pass without converting them to arrays of alphabet indexes.<br>
+ * Output is written into buffers given by the caller, which can be reused between messages. 
+ * A key of a {@link ClassAlphabet} is expanded to its full alphabet, so every member of a class is substituted.<br>
+ * A CompiledKey is immutable and may be shared by threads.
+ */
+public class CompiledKey
+{
+    /**Marks characters which do not belong to the alphabet.*/
+    protected static final char UNKNOWN = (char)0xFFFF;
+    
+    /**Under a plain character, the character which stands for it in the cryptogram.*/
+    protected char[] encryption;
+    /**Under a character of the cryptogram, the plain character it stands for.*/
+    protected char[] decryption;
+    
+    /**
+     * @param key to be compiled
+     * @param alphabet the <i>key</i> permutes
+     * 
+     * @exception IllegalArgumentException if the <i>key</i> does not fit the <i>alphabet</i>, 
+     * or maps a symbol class to a class of a different size
+     */
+    public CompiledKey(final Specimen key, final Alphabet alphabet)
+    {
+        String symbols = alphabet.getAlphabet();
+        if(symbols.length() != key.chromosomes.length)
+        {
+            throw new IllegalArgumentException("The key does not fit the alphabet.");
+        }
+        int[] chromosomes = key.chromosomes;
+        if(alphabet instanceof ClassAlphabet)
+        {
+            ClassAlphabet classes = (ClassAlphabet)alphabet;
+            chromosomes = classes.expand(chromosomes);
+            symbols = classes.getFullAlphabet().getAlphabet();
+        }
+        char highest = 0;
+        for(int i = 0; i < symbols.length(); ++i)
+        {
+            if(symbols.charAt(i) == UNKNOWN)
+            {
+                throw new IllegalArgumentException("The alphabet contains the reserved character \\uFFFF.");
+            }
+            highest = (char)Math.max(highest, symbols.charAt(i));
+        }
+        encryption = new char[highest + 1];
+        decryption = new char[highest + 1];
+        Arrays.fill(encryption, UNKNOWN);
+        Arrays.fill(decryption, UNKNOWN);
+        for(int i = 0; i < symbols.length(); ++i)
+        {
+            char plain = symbols.charAt(i);
+            char cipher = symbols.charAt(chromosomes[i]);
+            encryption[plain] = cipher;
+            decryption[cipher] = plain;
+        }
+    }
+    
+    /**
+     * @param text to be encrypted
+     * @param output to receive the cryptogram from index 0, at least as long as the <i>text</i>
+     * 
+     * @return number of characters written
+     * 
+     * @exception UnknownCharacterException if an unknown character is found in the <i>text</i>.
+     * This character will be stored as a description of the Exception.
+     */
+    public int encrypt(final CharSequence text, final char[] output) throws UnknownCharacterException
+    {
+        return substitute(encryption, text, output);
+    }
+    
+    /**
+     * @param cryptogram to be decrypted
+     * @param output to receive the text from index 0, at least as long as the <i>cryptogram</i>
+     * 
+     * @return number of characters written
+     * 
+     * @exception UnknownCharacterException if an unknown character is found in the <i>cryptogram</i>.
+     * This character will be stored as a description of the Exception.
+     */
+    public int decrypt(final CharSequence cryptogram, final char[] output) throws UnknownCharacterException
+    {
+        return substitute(decryption, cryptogram, output);
+    }
+    
+    /**
+     * Input and output may be the same array, to encrypt in place.
+     * 
+     * @param text to be encrypted
+     * @param offset of the first character of the text
+     * @param length of the text
+     * @param output to receive the cryptogram
+     * @param outputOffset at which the cryptogram starts
+     * 
+     * @exception UnknownCharacterException if an unknown character is found in the <i>text</i>.
+     * This character will be stored as a description of the Exception.
+     */
+    public void encrypt(final char[] text, final int offset, final int length, final char[] output, final int outputOffset) 
+            throws UnknownCharacterException
+    {
+        substitute(encryption, text, offset, length, output, outputOffset);
+    }
+    
+    /**
+     * Input and output may be the same array, to decrypt in place.
+     * 
+     * @param cryptogram to be decrypted
+     * @param offset of the first character of the cryptogram
+     * @param length of the cryptogram
+     * @param output to receive the text
+     * @param outputOffset at which the text starts
+     * 
+     * @exception UnknownCharacterException if an unknown character is found in the <i>cryptogram</i>.
+     * This character will be stored as a description of the Exception.
+     */
+    public void decrypt(final char[] cryptogram, final int offset, final int length, final char[] output, final int outputOffset) 
+            throws UnknownCharacterException
+    {
+        substitute(decryption, cryptogram, offset, length, output, outputOffset);
+    }
+    
+    /**
+     * Will encrypt the remaining characters of the <i>text</i> into the <i>output</i>, advancing positions of both buffers.
+     * 
+     * @param text to be encrypted
+     * @param output to receive the cryptogram, with at least as many remaining characters as the <i>text</i>
+     * 
+     * @exception UnknownCharacterException if an unknown character is found in the <i>text</i>.
+     * This character will be stored as a description of the Exception, and neither position is advanced.
+     */
+    public void encrypt(final CharBuffer text, final CharBuffer output) throws UnknownCharacterException
+    {
+        substitute(encryption, text, output);
+    }
+    
+    /**
+     * Will decrypt the remaining characters of the <i>cryptogram</i> into the <i>output</i>, advancing positions of both buffers.
+     * 
+     * @param cryptogram to be decrypted
+     * @param output to receive the text, with at least as many remaining characters as the <i>cryptogram</i>
+     * 
+     * @exception UnknownCharacterException if an unknown character is found in the <i>cryptogram</i>.
+     * This character will be stored as a description of the Exception, and neither position is advanced.
+     */
+    public void decrypt(final CharBuffer cryptogram, final CharBuffer output) throws UnknownCharacterException
+    {
+        substitute(decryption, cryptogram, output);
+    }
+    
+    /**
+     * @return the character standing for <i>character</i> in the <i>table</i>
+     * 
+     * @exception UnknownCharacterException if the <i>character</i> is not in the <i>table</i>
+     */
+    private static char lookUp(final char[] table, final char character) throws UnknownCharacterException
+    {
+        char result = character < table.length ? table[character] : UNKNOWN;
+        if(result == UNKNOWN)
+        {
+            throw new UnknownCharacterException(Character.toString(character));
+        }
+        return result;
+    }
+    
+    private static int substitute(final char[] table, final CharSequence input, final char[] output) throws UnknownCharacterException
+    {
+        int length = input.length();
+        if(output.length < length)
+        {
+            throw new IndexOutOfBoundsException("The output is shorter than the input.");
+        }
+        for(int i = 0; i < length; ++i)
+        {
+            output[i] = lookUp(table, input.charAt(i));
+        }
+        return length;
+    }
+    
+    private static void substitute(final char[] table, final char[] input, final int offset, final int length, 
+            final char[] output, final int outputOffset) throws UnknownCharacterException
+    {
+        if(offset < 0 || length < 0 || offset + length > input.length || outputOffset < 0 || outputOffset + length > output.length)
+        {
+            throw new IndexOutOfBoundsException("The range does not fit the arrays.");
+        }
+        for(int i = 0; i < length; ++i)
+        {
+            output[outputOffset + i] = lookUp(table, input[offset + i]);
+        }
+    }
+    
+    private static void substitute(final char[] table, final CharBuffer input, final CharBuffer output) throws UnknownCharacterException
+    {
+        int length = input.remaining();
+        if(output.remaining() < length)
+        {
+            throw new IndexOutOfBoundsException("The output has less room than the input.");
+        }
+        if(input.hasArray() && output.hasArray() && !output.isReadOnly())
+        {
+            substitute(table, input.array(), input.arrayOffset() + input.position(), length, 
+                    output.array(), output.arrayOffset() + output.position());
+        }
+        else
+        {
+            int inputPosition = input.position();
+            int outputPosition = output.position();
+            for(int i = 0; i < length; ++i)
+            {
+                output.put(outputPosition + i, lookUp(table, input.get(inputPosition + i)));
+            }
+        }
+        input.position(input.position() + length);
+        output.position(output.position() + length);
+    }
+}
@@ -0,0 +1,87 @@
+package evolutionary_algorithm;
+import static org.junit.Assert.*;
+
+import java.nio.CharBuffer;
+import java.util.Random;
+
+import org.junit.Test;
+
+import alphabet.Alphabet;
+import alphabet.ClassAlphabet;
+import alphabet.DefaultAlphabet;
+import alphabet.UnknownCharacterException;
+
+
+public class CompiledKeyTest
+{
+    private static final String TEXT = "The bridge had fallen, so the roads were closed.";
+
+    @Test
+    public void testMatchesSpecimenEncode() throws Exception
+    {
+        Alphabet alphabet = new DefaultAlphabet();
+        Specimen key = new Specimen(alphabet.getAlphabetLength(), new Random(4));
+        int[] expected = alphabet.convert(TEXT);
+        key.encode(expected);
+        
+        char[] output = new char[TEXT.length() + 10];
+        int length = new CompiledKey(key, alphabet).encrypt(TEXT, output);
+        assertEquals(TEXT.length(), length);
+        assertEquals(alphabet.convert(expected), new String(output, 0, length));
+    }
+    
+    @Test
+    public void testDecryptReversesEncryptInPlace() throws Exception
+    {
+        Alphabet alphabet = new DefaultAlphabet();
+        CompiledKey key = new CompiledKey(new Specimen(alphabet.getAlphabetLength(), new Random(9)), alphabet);
+        char[] buffer = ("xx" + TEXT).toCharArray();
+        key.encrypt(buffer, 2, TEXT.length(), buffer, 2);
+        assertFalse(TEXT.equals(new String(buffer, 2, TEXT.length())));
+        key.decrypt(buffer, 2, TEXT.length(), buffer, 2);
+        assertEquals("xx" + TEXT, new String(buffer));
+    }
+    
+    @Test
+    public void testCharBuffersAdvance() throws Exception
+    {
+        Alphabet alphabet = new DefaultAlphabet();
+        CompiledKey key = new CompiledKey(new Specimen(alphabet.getAlphabetLength(), new Random(2)), alphabet);
+        CharBuffer text = CharBuffer.wrap(TEXT);
+        CharBuffer cryptogram = CharBuffer.allocate(TEXT.length());
+        key.encrypt(text, cryptogram);
+        assertEquals(0, text.remaining());
+        assertEquals(0, cryptogram.remaining());
+        
+        cryptogram.flip();
+        char[] plain = new char[TEXT.length()];
+        key.decrypt(cryptogram, CharBuffer.wrap(plain));
+        assertEquals(TEXT, new String(plain));
+    }
+    
+    @Test
+    public void testClassAlphabetSubstitutesAllMembers() throws Exception
+    {
+        ClassAlphabet classes = ClassAlphabet.caseClasses(new DefaultAlphabet());
+        Alphabet full = classes.getFullAlphabet();
+        Random rand = new Random(6);
+        Specimen key = new Specimen(classes.getAlphabetLength(), rand).regroup(classes.getSymbolGroups(), rand);
+        int[] expected = full.convert(TEXT);
+        key.expand(classes).encode(expected);
+        
+        CompiledKey compiled = new CompiledKey(key, classes);
+        char[] output = new char[TEXT.length()];
+        compiled.encrypt(TEXT, output);
+        assertEquals(full.convert(expected), new String(output));
+        compiled.decrypt(output, 0, output.length, output, 0);
+        assertEquals(TEXT, new String(output));
+    }
+    
+    @Test(expected = UnknownCharacterException.class)
+    public void testUnknownCharacter() throws Exception
+    {
+        Alphabet alphabet = new DefaultAlphabet();
+        CompiledKey key = new CompiledKey(new Specimen(alphabet.getAlphabetLength(), new Random(1)), alphabet);
+        key.encrypt("no digits 4 here", new char[16]);
+    }
+}
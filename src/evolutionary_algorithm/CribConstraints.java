@@ -0,0 +1,134 @@
+package evolutionary_algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import alphabet.Alphabet;
+import alphabet.UnknownCharacterException;
+
+/**
+ * Known fragments of the plaintext (cribs) and known substitutions.<br>
+ * Positions of the key determined by them are pinned, so the algorithm only searches the remaining ones.
+ */
+public class CribConstraints
+{
+    /**Known fragments of the plaintext.*/
+    private List<String> cribs = new ArrayList<String>();
+    /**Positions in the message at which <i>cribs</i> start.*/
+    private List<Integer> offsets = new ArrayList<Integer>();
+    /**Plaintext characters of known substitutions.*/
+    private StringBuilder plainCharacters = new StringBuilder();
+    /**Cryptogram characters of known substitutions.*/
+    private StringBuilder cipherCharacters = new StringBuilder();
+    
+    /**
+     * @param crib known fragment of the plaintext
+     * @param offset in the message at which the <i>crib</i> starts
+     */
+    public void addCrib(final String crib, final int offset)
+    {
+        cribs.add(crib);
+        offsets.add(offset);
+    }
+    
+    /**
+     * @param plainCharacter which is known to be substituted with <i>cipherCharacter</i>
+     * @param cipherCharacter which substitutes <i>plainCharacter</i>
+     */
+    public void addSubstitution(final char plainCharacter, final char cipherCharacter)
+    {
+        plainCharacters.append(plainCharacter);
+        cipherCharacters.append(cipherCharacter);
+    }
+    
+    /**
+     * Will determine the key positions pinned by the constraints.
+     * 
+     * @param alphabet used by the message
+     * @param cryptogram to which the cribs belong
+     * 
+     * @return for each position of the key the value it must hold, or -1 if it is free
+     * 
+     * @throws UnknownCharacterException if a constraint contains a character not found in the <i>alphabet</i>
+     * @throws IncorrectCribException if a crib exceeds the cryptogram or the constraints contradict each other
+     */
+    public int[] resolve(final Alphabet alphabet, final int[] cryptogram) 
+            throws UnknownCharacterException, IncorrectCribException
+    {
+        int[] pinnedValues = new int[alphabet.getAlphabetLength()];
+        int[] pinnedPositions = new int[alphabet.getAlphabetLength()];
+        for(int i = 0; i < pinnedValues.length; ++i)
+        {
+            pinnedValues[i] = -1;
+            pinnedPositions[i] = -1;
+        }
+        
+        for(int c = 0; c < cribs.size(); ++c)
+        {
+            int[] crib = alphabet.convert(cribs.get(c));
+            int offset = offsets.get(c);
+            if(offset < 0 || offset + crib.length > cryptogram.length)
+            {
+                throw new IncorrectCribException("Crib \"" + cribs.get(c) + "\" at " + offset + " exceeds the cryptogram.");
+            }
+            for(int i = 0; i < crib.length; ++i)
+            {
+                pin(pinnedValues, pinnedPositions, crib[i], cryptogram[offset + i]);
+            }
+        }
+        
+        int[] plain = alphabet.convert(plainCharacters.toString());
+        int[] cipher = alphabet.convert(cipherCharacters.toString());
+        for(int i = 0; i < plain.length; ++i)
+        {
+            pin(pinnedValues, pinnedPositions, plain[i], cipher[i]);
+        }
+        return pinnedValues;
+    }
+    
+    /**
+     * @param pinnedValues for each position the value it must hold, or -1
+     * 
+     * @return positions which are not pinned
+     */
+    public static int[] freePositions(final int[] pinnedValues)
+    {
+        int numberOfFree = 0;
+        for(int i = 0; i < pinnedValues.length; ++i)
+        {
+            if(pinnedValues[i] < 0)
+            {
+                ++numberOfFree;
+            }
+        }
+        int[] free = new int[numberOfFree];
+        for(int i = 0, j = 0; i < pinnedValues.length; ++i)
+        {
+            if(pinnedValues[i] < 0)
+            {
+                free[j++] = i;
+            }
+        }
+        return free;
+    }
+    
+    /**
+     * @param pinnedValues for each position the value it must hold, or -1
+     * @param pinnedPositions for each value the position it must be held at, or -1
+     * @param position to be pinned
+     * @param value to be held at the <i>position</i>
+     * 
+     * @throws IncorrectCribException if the <i>position</i> or the <i>value</i> are already pinned differently
+     */
+    private void pin(final int[] pinnedValues, final int[] pinnedPositions, final int position, final int value) 
+            throws IncorrectCribException
+    {
+        if((pinnedValues[position] >= 0 && pinnedValues[position] != value) 
+                || (pinnedPositions[value] >= 0 && pinnedPositions[value] != position))
+        {
+            throw new IncorrectCribException("Constraints contradict each other at the character of index " + position + ".");
+        }
+        pinnedValues[position] = value;
+        pinnedPositions[value] = position;
+    }
+}
@@ -0,0 +1,121 @@
+package evolutionary_algorithm;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import alphabet.Alphabet;
+
+
+public class CribConstraintsTest
+{
+    private static final String MESSAGE = "the letter arrived on a quiet evening when nobody expected any news from the north";
+    
+    private static Alphabet alphabet() throws Exception
+    {
+        return new Alphabet("abcdefghijklmnopqrstuvwxyz ");
+    }
+    
+    @Test
+    public void testResolvePinsCribCharacters() throws Exception
+    {
+        Alphabet alphabet = alphabet();
+        CribConstraints constraints = new CribConstraints();
+        constraints.addCrib("aa", 1);
+        constraints.addSubstitution('z', 'q');
+        int[] pinned = constraints.resolve(alphabet, alphabet.convert("xbbx"));
+        assertEquals(1, pinned[0]);
+        assertEquals(16, pinned[25]);
+        int[] free = CribConstraints.freePositions(pinned);
+        assertEquals(25, free.length);
+    }
+    
+    @Test(expected = IncorrectCribException.class)
+    public void testCharacterCipheredTwoWaysRejected() throws Exception
+    {
+        Alphabet alphabet = alphabet();
+        CribConstraints constraints = new CribConstraints();
+        constraints.addCrib("aa", 0);
+        constraints.resolve(alphabet, alphabet.convert("bc"));
+    }
+    
+    @Test(expected = IncorrectCribException.class)
+    public void testTwoCharactersCipheredAlikeRejected() throws Exception
+    {
+        Alphabet alphabet = alphabet();
+        CribConstraints constraints = new CribConstraints();
+        constraints.addCrib("ab", 0);
+        constraints.resolve(alphabet, alphabet.convert("cc"));
+    }
+    
+    @Test(expected = IncorrectCribException.class)
+    public void testSubstitutionContradictingCribRejected() throws Exception
+    {
+        Alphabet alphabet = alphabet();
+        CribConstraints constraints = new CribConstraints();
+        constraints.addCrib("the", 0);
+        constraints.addSubstitution('t', 'x');
+        constraints.resolve(alphabet, alphabet.convert("abc"));
+    }
+    
+    @Test(expected = IncorrectCribException.class)
+    public void testCribExceedingCryptogramRejected() throws Exception
+    {
+        Alphabet alphabet = alphabet();
+        CribConstraints constraints = new CribConstraints();
+        constraints.addCrib("abc", 2);
+        constraints.resolve(alphabet, alphabet.convert("abcd"));
+    }
+    
+    @Test
+    public void testPinnedPositionsSurviveReproduction() throws Exception
+    {
+        Alphabet alphabet = alphabet();
+        Random rand = new Random(7);
+        Specimen exemplar = new Specimen(alphabet.getAlphabetLength(), rand);
+        int[] cryptogram = alphabet.convert(MESSAGE);
+        exemplar.encode(cryptogram);
+        CribConstraints constraints = new CribConstraints();
+        constraints.addCrib("the letter", 0);
+        int[] pinned = constraints.resolve(alphabet, cryptogram);
+        int[] free = CribConstraints.freePositions(pinned);
+        
+        Specimen first = new Specimen(alphabet.getAlphabetLength(), rand).pin(pinned);
+        Specimen second = new Specimen(alphabet.getAlphabetLength(), rand).pin(pinned);
+        assertPinned(pinned, first);
+        assertPinned(pinned, second);
+        for(int i = 0; i < 200; ++i)
+        {
+            Specimen child = first.reproduce(second, 0.5d, 1.0d, 3, free, rand);
+            assertPinned(pinned, child);
+            Specimen crossed = first.reproduce(second, new OrderCrossover(), 1.0d, 3, free, rand).pin(pinned);
+            assertPinned(pinned, crossed);
+            assertPinned(pinned, child.mutate(free, rand));
+            first = second;
+            second = child;
+        }
+    }
+    
+    @Test
+    public void testEvolutionKeepsPinnedPositions() throws Exception
+    {
+        Generation generation = new Generation(alphabet(), new Random(8));
+        CribConstraints constraints = new CribConstraints();
+        constraints.addCrib("the letter", 0);
+        generation.setCribConstraints(constraints);
+        Specimen best = generation.evolve(100, 1.0d, 20, 0.2d, 0.5d, 0.3d, MESSAGE, null);
+        assertPinned(generation.pinnedValues, best);
+    }
+    
+    private static void assertPinned(final int[] pinned, final Specimen specimen)
+    {
+        for(int i = 0; i < pinned.length; ++i)
+        {
+            if(pinned[i] >= 0)
+            {
+                assertEquals(pinned[i], specimen.getChromosomes()[i]);
+            }
+        }
+    }
+}
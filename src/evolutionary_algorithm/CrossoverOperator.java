@@ -0,0 +1,19 @@
+package evolutionary_algorithm;
+
+import java.util.Random;
+
+/**
+ * Creates the key of a child from keys of its two parents.<br>
+ * Implementations work on primitive arrays and reuse their own scratch buffers, so they do not allocate per child;
+ * in exchange, one instance must not be used by several threads at once.
+ */
+public interface CrossoverOperator
+{
+    /**
+     * @param first key of the first parent
+     * @param second key of the second parent, of the same length as <i>first</i>
+     * @param child to store the key of the child in, of the same length as <i>first</i>
+     * @param rand for randomization
+     */
+    public abstract void cross(final int[] first, final int[] second, final int[] child, final Random rand);
+}
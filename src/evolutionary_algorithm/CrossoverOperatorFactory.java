@@ -0,0 +1,12 @@
+package evolutionary_algorithm;
+
+/**
+ * Creates {@link CrossoverOperator}s, so that every thread breeding children can use an instance of its own.
+ */
+public interface CrossoverOperatorFactory
+{
+    /**
+     * @return a new operator, not shared with any other caller
+     */
+    public abstract CrossoverOperator createOperator();
+}
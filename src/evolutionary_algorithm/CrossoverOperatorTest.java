@@ -0,0 +1,77 @@
+package evolutionary_algorithm;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+
+public class CrossoverOperatorTest
+{
+    private static final int LENGTH = 30;
+    
+    private static final CrossoverOperator[] OPERATORS = {new PartiallyMappedCrossover(), new OrderCrossover(), 
+            new CycleCrossover(), new PositionBasedCrossover()};
+    
+    private int[] randomPermutation(final Random rand)
+    {
+        int[] permutation = new int[LENGTH];
+        for(int i = 0; i < LENGTH; ++i)
+        {
+            int j = rand.nextInt(i + 1);
+            permutation[i] = permutation[j];
+            permutation[j] = i;
+        }
+        return permutation;
+    }
+    
+    @Test
+    public void testChildIsPermutation()
+    {
+        Random rand = new Random(1);
+        int[] child = new int[LENGTH];
+        for(CrossoverOperator operator : OPERATORS)
+        {
+            for(int run = 0; run < 100; ++run)
+            {
+                operator.cross(randomPermutation(rand), randomPermutation(rand), child, rand);
+                boolean[] seen = new boolean[LENGTH];
+                for(int value : child)
+                {
+                    assertFalse(operator.getClass().getSimpleName(), seen[value]);
+                    seen[value] = true;
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testEqualParentsGiveEqualChild()
+    {
+        Random rand = new Random(2);
+        int[] parent = randomPermutation(rand);
+        int[] child = new int[LENGTH];
+        for(CrossoverOperator operator : OPERATORS)
+        {
+            operator.cross(parent, parent.clone(), child, rand);
+            assertArrayEquals(operator.getClass().getSimpleName(), parent, child);
+        }
+    }
+    
+    @Test
+    public void testCycleCrossoverKeepsPositionsOfParents()
+    {
+        Random rand = new Random(3);
+        int[] child = new int[LENGTH];
+        for(int run = 0; run < 100; ++run)
+        {
+            int[] first = randomPermutation(rand);
+            int[] second = randomPermutation(rand);
+            new CycleCrossover().cross(first, second, child, rand);
+            for(int i = 0; i < LENGTH; ++i)
+            {
+                assertTrue(child[i] == first[i] || child[i] == second[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package evolutionary_algorithm;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * CX: positions are divided into cycles defined by both parents; the child takes alternate cycles from alternate parents,
+ * so every value stays at a position it holds in one of the parents. The cycle taken from the first parent is chosen at random.
+ */
+public class CycleCrossover implements CrossoverOperator
+{
+    /**Under index of a value, its position in the first parent.*/
+    private int[] positionsInFirst = new int[0];
+    /**Under index of a position, whether it belongs to an already copied cycle.*/
+    private boolean[] visited = new boolean[0];
+    
+    @Override
+    public void cross(final int[] first, final int[] second, final int[] child, final Random rand)
+    {
+        int length = first.length;
+        if(positionsInFirst.length != length)
+        {
+            positionsInFirst = new int[length];
+            visited = new boolean[length];
+        }
+        else
+        {
+            Arrays.fill(visited, false);
+        }
+        for(int i = 0; i < length; ++i)
+        {
+            positionsInFirst[first[i]] = i;
+        }
+        
+        boolean fromFirst = rand.nextBoolean();
+        for(int start = 0; start < length; ++start)
+        {
+            if(visited[start])
+            {
+                continue;
+            }
+            int position = start;
+            do
+            {
+                visited[position] = true;
+                child[position] = fromFirst ? first[position] : second[position];
+                position = positionsInFirst[second[position]];
+            }
+            while(position != start);
+            fromFirst = !fromFirst;
+        }
+    }
+}
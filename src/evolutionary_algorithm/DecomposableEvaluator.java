@@ -0,0 +1,17 @@
+package evolutionary_algorithm;
+
+/**
+ * Evaluator whose fitness is a sum of independent contributions of key positions:
+ * evaluate(specimen) is the sum of positionScore(i, chromosomes[i]) over all positions i.<br>
+ * Changing a few positions of a key can then be scored from the contributions of these positions only.
+ */
+public interface DecomposableEvaluator extends Evaluator
+{
+    /**
+     * @param position of the chromosome
+     * @param value of the chromosome
+     * 
+     * @return contribution of the <i>position</i> holding the <i>value</i> to the fitness
+     */
+    public abstract double positionScore(final int position, final int value);
+}
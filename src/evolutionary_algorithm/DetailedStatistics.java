@@ -0,0 +1,14 @@
+package evolutionary_algorithm;
+
+/**
+ * {@link Statistics} which also receives a {@link StatisticsSnapshot} of every generation.
+ */
+public interface DetailedStatistics extends Statistics
+{
+    /**
+     * Called after {@link Statistics#newGeneration} for the same generation.
+     * 
+     * @param snapshot of the generation
+     */
+    public abstract void newSnapshot(final StatisticsSnapshot snapshot);
+}
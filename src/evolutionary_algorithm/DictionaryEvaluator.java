@@ -0,0 +1,68 @@
+package evolutionary_algorithm;
+
+import language.DictionaryAutomaton;
+
+/**
+ * Evaluates Specimens by how much of the deciphered cryptogram is made of dictionary words: the number of its characters 
+ * covered by at least one dictionary word, divided by its length.<br>
+ * Words are found by a {@link DictionaryAutomaton} in one pass over the cryptogram, deciphered on the fly.
+ */
+public class DictionaryEvaluator implements Evaluator
+{
+    /**Finds dictionary words.*/
+    protected DictionaryAutomaton automaton;
+    /**To be deciphered.*/
+    protected int[] cryptogram;
+    
+    /**
+     * @param automaton of the dictionary
+     * @param cryptogram to be deciphered
+     */
+    public DictionaryEvaluator(final DictionaryAutomaton automaton, final int[] cryptogram)
+    {
+        this.automaton = automaton;
+        this.cryptogram = cryptogram;
+    }
+    
+    /**
+     * @param automaton of the dictionary
+     * 
+     * @return factory of evaluators of the given dictionary
+     */
+    public static EvaluatorFactory factory(final DictionaryAutomaton automaton)
+    {
+        return new EvaluatorFactory()
+        {
+            @Override
+            public Evaluator createEvaluator(final int[] cryptogram)
+            {
+                return new DictionaryEvaluator(automaton, cryptogram);
+            }
+        };
+    }
+    
+    /**
+     * @return share of the deciphered cryptogram covered by dictionary words. [0.0d ; 1.0d]
+     */
+    @Override
+    public double evaluate(final Specimen specimen)
+    {
+        if(cryptogram.length == 0)
+        {
+            return 1.0d;
+        }
+        return ((double)automaton.score(cryptogram, specimen.inversedChromosomes)) / cryptogram.length;
+    }
+    
+    @Override
+    public double verify(final Specimen specimen)
+    {
+        return evaluate(specimen);
+    }
+    
+    @Override
+    public boolean newGeneration(final double bestEvaluation)
+    {
+        return false;
+    }
+}
@@ -0,0 +1,141 @@
+package evolutionary_algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of chromosome values at every position, counted over all Specimens of a population.<br>
+ * Updated incrementally as Specimens enter and leave the population at the cost of O(numberOfChromosomes) each,
+ * it gives diversity metrics at the cost of O(numberOfChromosomes^2) instead of comparing all pairs of Specimens.
+ */
+public class DiversityTracker
+{
+    /**Of every tracked Specimen.*/
+    private int numberOfChromosomes;
+    /**Under index of position * numberOfChromosomes + value, number of Specimens holding the value at the position.*/
+    private int[] counts;
+    /**Number of tracked Specimens.*/
+    private int size;
+    
+    /**
+     * @param numberOfChromosomes of every tracked Specimen
+     */
+    public DiversityTracker(final int numberOfChromosomes)
+    {
+        this.numberOfChromosomes = numberOfChromosomes;
+        counts = new int[numberOfChromosomes * numberOfChromosomes];
+    }
+    
+    /**
+     * @param specimen entering the population
+     */
+    public void add(final Specimen specimen)
+    {
+        int[] chromosomes = specimen.chromosomes;
+        for(int i = 0; i < numberOfChromosomes; ++i)
+        {
+            ++counts[i * numberOfChromosomes + chromosomes[i]];
+        }
+        ++size;
+    }
+    
+    /**
+     * @param specimen leaving the population, must have been added before
+     */
+    public void remove(final Specimen specimen)
+    {
+        int[] chromosomes = specimen.chromosomes;
+        for(int i = 0; i < numberOfChromosomes; ++i)
+        {
+            --counts[i * numberOfChromosomes + chromosomes[i]];
+        }
+        --size;
+    }
+    
+    /**
+     * Will forget all Specimens.
+     */
+    public void clear()
+    {
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+    
+    /**
+     * @return number of tracked Specimens
+     */
+    public int size()
+    {
+        return size;
+    }
+    
+    /**
+     * @param position of the chromosome
+     * @param value of the chromosome
+     * 
+     * @return number of Specimens holding the <i>value</i> at the <i>position</i>
+     */
+    public int count(final int position, final int value)
+    {
+        return counts[position * numberOfChromosomes + value];
+    }
+    
+    /**
+     * @return mean over positions of the entropy of values held at the position, 
+     * 0.0d when all Specimens are equal, 1.0d when values are uniformly distributed. [0.0d ; 1.0d]
+     */
+    public double entropy()
+    {
+        if(size == 0 || numberOfChromosomes <= 1)
+        {
+            return 0.0d;
+        }
+        double sum = 0.0d;
+        for(int i = 0; i < counts.length; ++i)
+        {
+            if(counts[i] > 0)
+            {
+                double p = ((double)counts[i]) / size;
+                sum -= p * Math.log(p);
+            }
+        }
+        return sum / (numberOfChromosomes * Math.log(numberOfChromosomes));
+    }
+    
+    /**
+     * The consensus holds at each position the value most often held there.
+     * 
+     * @return mean percentage of positions at which a Specimen differs from the consensus. [0.0d ; 1.0d]
+     */
+    public double distanceToConsensus()
+    {
+        if(size == 0)
+        {
+            return 0.0d;
+        }
+        long agreements = 0;
+        for(int i = 0; i < numberOfChromosomes; ++i)
+        {
+            agreements += counts[i * numberOfChromosomes + consensus(i)];
+        }
+        return 1.0d - ((double)agreements) / ((long)size * numberOfChromosomes);
+    }
+    
+    /**
+     * @param position of the chromosome
+     * 
+     * @return value most often held at the <i>position</i>
+     */
+    public int consensus(final int position)
+    {
+        int offset = position * numberOfChromosomes;
+        int best = 0;
+        for(int value = 1; value < numberOfChromosomes; ++value)
+        {
+            if(counts[offset + value] > counts[offset + best])
+            {
+                best = value;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,219 @@
+package evolutionary_algorithm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds the best rearrangement of the values of a few key positions by exhaustive branch-and-bound search.<br>
+ * Thanks to a {@link DecomposableEvaluator}, every assignment is scored from a table of contributions of the positions only. 
+ * A branch is cut when its score plus, for each position still free, the best contribution of any value still unused 
+ * cannot beat the best assignment found so far. The upper levels of the search tree are explored in parallel by fork-join tasks.
+ */
+public class EndgameSolver
+{
+    /**Maximum number of positions, limited by the bit mask of used values.*/
+    public static final int MAX_POSITIONS = 30;
+    /**Number of levels of the search tree whose branches are forked as separate tasks.*/
+    protected static final int FORK_DEPTH = 3;
+    
+    /**Fitness of keys.*/
+    protected DecomposableEvaluator evaluator;
+    /**Runs the tasks.*/
+    protected ForkJoinPool pool;
+    
+    /**Under [position][value], contribution of the i-th position holding the j-th value, in the current search.*/
+    protected double[][] scores;
+    /**Best assignment found so far in the current search, under each position the index of its value, and its score.*/
+    protected int[] bestAssignment;
+    protected volatile double bestScore;
+    /**Number of complete assignments reached in the last search.*/
+    protected AtomicLong numberOfLeaves = new AtomicLong();
+    
+    /**
+     * @param evaluator fitness of keys
+     * @param pool to run the tasks
+     */
+    public EndgameSolver(final DecomposableEvaluator evaluator, final ForkJoinPool pool)
+    {
+        this.evaluator = evaluator;
+        this.pool = pool;
+    }
+    
+    /**
+     * @return number of complete assignments reached in the last search, which is far below the number of permutations 
+     * when bounds are effective
+     */
+    public long getNumberOfLeaves()
+    {
+        return numberOfLeaves.get();
+    }
+    
+    /**
+     * @param start key whose other positions stay unchanged
+     * @param positions whose values are rearranged, at most {@link EndgameSolver#MAX_POSITIONS}
+     * 
+     * @return the key with the best arrangement of the values of <i>positions</i>, or <i>start</i> if none is better
+     */
+    public Specimen solve(final Specimen start, final int[] positions)
+    {
+        if(positions.length > MAX_POSITIONS)
+        {
+            throw new IllegalArgumentException("At most " + MAX_POSITIONS + " positions can be searched.");
+        }
+        int k = positions.length;
+        int[] values = new int[k];
+        for(int i = 0; i < k; ++i)
+        {
+            values[i] = start.chromosomes[positions[i]];
+        }
+        scores = new double[k][k];
+        bestAssignment = new int[k];
+        double startScore = 0.0d;
+        for(int i = 0; i < k; ++i)
+        {
+            for(int j = 0; j < k; ++j)
+            {
+                scores[i][j] = evaluator.positionScore(positions[i], values[j]);
+            }
+            bestAssignment[i] = i;
+            startScore += scores[i][i];
+        }
+        bestScore = startScore;
+        numberOfLeaves.set(0);
+        
+        pool.invoke(new Branch(new int[k], 0, 0, 0.0d));
+        if(bestScore <= startScore)
+        {
+            return start;
+        }
+        int[] chromosomes = start.chromosomes.clone();
+        for(int i = 0; i < k; ++i)
+        {
+            chromosomes[positions[i]] = values[bestAssignment[i]];
+        }
+        return new Specimen(chromosomes);
+    }
+    
+    /**
+     * Will remember the <i>assignment</i> if it is better than the best one found so far.
+     */
+    protected synchronized void offer(final int[] assignment, final double score)
+    {
+        if(score > bestScore)
+        {
+            System.arraycopy(assignment, 0, bestAssignment, 0, assignment.length);
+            bestScore = score;
+        }
+    }
+    
+    /**
+     * @return the highest score which assignments of the values not in <i>used</i> to positions from <i>depth</i> on can reach
+     */
+    protected double bound(final int depth, final int used)
+    {
+        double result = 0.0d;
+        for(int i = depth; i < scores.length; ++i)
+        {
+            double max = Double.NEGATIVE_INFINITY;
+            for(int j = 0; j < scores.length; ++j)
+            {
+                if((used & (1 << j)) == 0 && scores[i][j] > max)
+                {
+                    max = scores[i][j];
+                }
+            }
+            result += max;
+        }
+        return result;
+    }
+    
+    /**
+     * Subtree of assignments sharing the values of the first <i>depth</i> positions.
+     */
+    protected class Branch extends RecursiveAction
+    {
+        /***/
+        private static final long serialVersionUID = 1L;
+        /**Under each assigned position the index of its value; owned by this task.*/
+        protected int[] assignment;
+        /**Number of assigned positions.*/
+        protected int depth;
+        /**Bit mask of assigned values.*/
+        protected int used;
+        /**Sum of contributions of assigned positions.*/
+        protected double score;
+        
+        /**
+         * @param assignment of the first <i>depth</i> positions, owned by this task
+         * @param depth number of assigned positions
+         * @param used bit mask of assigned values
+         * @param score sum of contributions of assigned positions
+         */
+        protected Branch(final int[] assignment, final int depth, final int used, final double score)
+        {
+            this.assignment = assignment;
+            this.depth = depth;
+            this.used = used;
+            this.score = score;
+        }
+        
+        @Override
+        protected void compute()
+        {
+            if(depth >= FORK_DEPTH || depth == scores.length)
+            {
+                search(depth, used, score);
+                return;
+            }
+            if(score + bound(depth, used) <= bestScore)
+            {
+                return;
+            }
+            Branch[] branches = new Branch[scores.length];
+            int count = 0;
+            for(int j = 0; j < scores.length; ++j)
+            {
+                if((used & (1 << j)) == 0)
+                {
+                    int[] next = assignment.clone();
+                    next[depth] = j;
+                    branches[count++] = new Branch(next, depth + 1, used | (1 << j), score + scores[depth][j]);
+                }
+            }
+            for(int i = 0; i < count; ++i)
+            {
+                branches[i].fork();
+            }
+            for(int i = 0; i < count; ++i)
+            {
+                branches[i].join();
+            }
+        }
+        
+        /**
+         * Sequential depth-first search below the forked levels.
+         */
+        protected void search(final int level, final int usedValues, final double partialScore)
+        {
+            if(level == scores.length)
+            {
+                numberOfLeaves.incrementAndGet();
+                offer(assignment, partialScore);
+                return;
+            }
+            if(partialScore + bound(level, usedValues) <= bestScore)
+            {
+                return;
+            }
+            for(int j = 0; j < scores.length; ++j)
+            {
+                if((usedValues & (1 << j)) == 0)
+                {
+                    assignment[level] = j;
+                    search(level + 1, usedValues | (1 << j), partialScore + scores[level][j]);
+                }
+            }
+        }
+    }
+}
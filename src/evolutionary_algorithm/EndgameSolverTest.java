@@ -0,0 +1,52 @@
+package evolutionary_algorithm;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+
+public class EndgameSolverTest
+{
+
+    @Test
+    public void testRestoresScrambledPositions()
+    {
+        Random rand = new Random(7);
+        Specimen exemplar = new Specimen(40, rand);
+        ExemplarEvaluator evaluator = new ExemplarEvaluator(exemplar);
+        int[] positions = {2, 5, 11, 17, 23, 31, 39};
+        int[] scrambled = exemplar.chromosomes.clone();
+        for(int i = 0; i < positions.length; ++i)
+        {
+            scrambled[positions[i]] = exemplar.chromosomes[positions[(i + 3) % positions.length]];
+        }
+        
+        Specimen solved = new EndgameSolver(evaluator, ForkJoinPool.commonPool()).solve(new Specimen(scrambled), positions);
+        assertArrayEquals(exemplar.chromosomes, solved.chromosomes);
+        assertEquals(1.0d, evaluator.evaluate(solved), 1e-9);
+    }
+    
+    @Test
+    public void testKeepsOptimalStart()
+    {
+        Specimen exemplar = new Specimen(20, new Random(1));
+        EndgameSolver solver = new EndgameSolver(new ExemplarEvaluator(exemplar), ForkJoinPool.commonPool());
+        assertSame(exemplar, solver.solve(exemplar, new int[] {0, 1, 2, 3}));
+    }
+    
+    @Test
+    public void testPositionScoresSumToEvaluation()
+    {
+        Random rand = new Random(3);
+        ExemplarEvaluator evaluator = new ExemplarEvaluator(new Specimen(30, rand));
+        Specimen specimen = new Specimen(30, rand);
+        double sum = 0.0d;
+        for(int i = 0; i < 30; ++i)
+        {
+            sum += evaluator.positionScore(i, specimen.chromosomes[i]);
+        }
+        assertEquals(evaluator.evaluate(specimen), sum, 1e-9);
+    }
+}
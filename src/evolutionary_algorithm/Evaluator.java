@@ -0,0 +1,33 @@
+package evolutionary_algorithm;
+
+/**
+ * Assigns a fitness to Specimens.
+ * Implementations must be safe for concurrent calls to {@link Evaluator#evaluate} and {@link Evaluator#verify}.
+ */
+public interface Evaluator
+{
+    /**
+     * @param specimen to be evaluated
+     * 
+     * @return fitness of the <i>specimen</i>, the higher the better. [0.0d ; 1.0d]
+     */
+    public abstract double evaluate(final Specimen specimen);
+    
+    /**
+     * Evaluates the <i>specimen</i> without any approximations made by {@link Evaluator#evaluate}.
+     * 
+     * @param specimen to be evaluated
+     * 
+     * @return exact fitness of the <i>specimen</i>. [0.0d ; 1.0d]
+     */
+    public abstract double verify(final Specimen specimen);
+    
+    /**
+     * Called before the population of every generation is evaluated.
+     * 
+     * @param bestEvaluation found so far
+     * 
+     * @return whether evaluations returned before this call are no longer comparable with the following ones
+     */
+    public abstract boolean newGeneration(final double bestEvaluation);
+}
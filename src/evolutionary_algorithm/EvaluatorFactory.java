@@ -0,0 +1,15 @@
+package evolutionary_algorithm;
+
+/**
+ * Creates the {@link Evaluator} of a run once the cryptogram is known, for fitness which does not need the plaintext, 
+ * such as scores of a language model.
+ */
+public interface EvaluatorFactory
+{
+    /**
+     * @param cryptogram to be broken, in the form of an array of alphabet indexes
+     * 
+     * @return evaluator of keys deciphering the <i>cryptogram</i>
+     */
+    public abstract Evaluator createEvaluator(final int[] cryptogram);
+}
@@ -0,0 +1,56 @@
+package evolutionary_algorithm;
+
+/**
+ * Evaluates Specimens by comparing their keys with the key of the exemplar.
+ */
+public class ExemplarEvaluator implements DecomposableEvaluator
+{
+    /**Cipher to be broken*/
+    protected Specimen exemplar;
+    
+    /**
+     * @param exemplar whose cipher is to be broken
+     */
+    public ExemplarEvaluator(final Specimen exemplar)
+    {
+        this.exemplar = exemplar;
+    }
+    
+    /**
+     * @return percentage of sameness with the exemplar. [0.0d ; 1.0d]
+     */
+    @Override
+    public double evaluate(final Specimen specimen)
+    {
+        try
+        {
+            return specimen.evaluate(exemplar);
+        }
+        catch (IncompatibleSpecimensException e)
+        {
+            //If we find ourselves stranded here, we are unable to recover.
+            throw new RuntimeException();
+        }
+    }
+    
+    /**
+     * @return 1 / numberOfChromosomes if the <i>position</i> of the exemplar holds the <i>value</i>, 0.0d otherwise
+     */
+    @Override
+    public double positionScore(final int position, final int value)
+    {
+        return exemplar.chromosomes[position] == value ? 1.0d / exemplar.chromosomes.length : 0.0d;
+    }
+    
+    @Override
+    public double verify(final Specimen specimen)
+    {
+        return evaluate(specimen);
+    }
+    
+    @Override
+    public boolean newGeneration(final double bestEvaluation)
+    {
+        return false;
+    }
+}
@@ -0,0 +1,122 @@
+package evolutionary_algorithm;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Creates Specimens whose keys map the n-th most frequent character of the language 
+ * to the n-th most frequent character of the cryptogram.<br>
+ * For diversity, each key is perturbed with a random number of swaps between characters of close frequency ranks.
+ */
+public class FrequencyAnalysisInitializer implements PopulationInitializer
+{
+    /**Frequency of every character of the alphabet in the language of the messages.*/
+    protected double[] languageFrequencies;
+    /**Maximum number of swaps applied to one key.*/
+    protected int maxNumberOfSwaps;
+    /**Maximum difference of frequency ranks of two swapped characters.*/
+    protected int rankWindow;
+    /**Characters of the alphabet from the most to the least frequent in the language.*/
+    protected int[] languageRanking;
+    /**Key built from frequency ranks, shared by all created Specimens before perturbation.*/
+    protected int[] rankKey;
+    
+    /**
+     * @param languageFrequencies of every character of the alphabet, see {@link FrequencyAnalysisInitializer#countFrequencies}
+     * @param maxNumberOfSwaps applied to one key
+     * @param rankWindow maximum difference of frequency ranks of two swapped characters. >= 1
+     */
+    public FrequencyAnalysisInitializer(final double[] languageFrequencies, final int maxNumberOfSwaps, final int rankWindow)
+    {
+        this.languageFrequencies = languageFrequencies;
+        this.maxNumberOfSwaps = maxNumberOfSwaps;
+        this.rankWindow = Math.max(1, rankWindow);
+        this.languageRanking = rank(languageFrequencies);
+    }
+    
+    /**
+     * Will count how often each character occurs in the <i>text</i>.
+     * 
+     * @param text in the form of an array of alphabet indexes
+     * @param alphabetLength of the alphabet used in the <i>text</i>
+     * 
+     * @return frequency of every character of the alphabet. [0.0d ; 1.0d]
+     */
+    public static double[] countFrequencies(final int[] text, final int alphabetLength)
+    {
+        double[] frequencies = new double[alphabetLength];
+        for(int i = 0; i < text.length; ++i)
+        {
+            ++frequencies[text[i]];
+        }
+        for(int i = 0; i < alphabetLength; ++i)
+        {
+            frequencies[i] /= Math.max(1, text.length);
+        }
+        return frequencies;
+    }
+    
+    @Override
+    public void prepare(final int[] cryptogram, final int numberOfChromosomes)
+    {
+        assert(numberOfChromosomes == languageFrequencies.length);
+        int[] cryptogramRanking = rank(countFrequencies(cryptogram, numberOfChromosomes));
+        
+        rankKey = new int[numberOfChromosomes];
+        for(int i = 0; i < numberOfChromosomes; ++i)
+        {
+            rankKey[languageRanking[i]] = cryptogramRanking[i];
+        }
+    }
+    
+    @Override
+    public Specimen createSpecimen(final Random rand)
+    {
+        int[] chromosomes = rankKey.clone();
+        int length = chromosomes.length;
+        if(length > 1)
+        {
+            int numberOfSwaps = rand.nextInt(maxNumberOfSwaps + 1);
+            for(int i = 0; i < numberOfSwaps; ++i)
+            {
+                int firstRank = rand.nextInt(length - 1);
+                int secondRank = Math.min(length - 1, firstRank + 1 + rand.nextInt(rankWindow));
+                int first = languageRanking[firstRank];
+                int second = languageRanking[secondRank];
+                int tmp = chromosomes[first];
+                chromosomes[first] = chromosomes[second];
+                chromosomes[second] = tmp;
+            }
+        }
+        return new Specimen(chromosomes);
+    }
+    
+    /**
+     * @param frequencies of characters
+     * 
+     * @return characters from the most to the least frequent, ties are ordered by the character index
+     */
+    protected static int[] rank(final double[] frequencies)
+    {
+        Integer[] order = new Integer[frequencies.length];
+        for(int i = 0; i < order.length; ++i)
+        {
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>()
+        {
+            @Override
+            public int compare(final Integer a, final Integer b)
+            {
+                return Double.compare(frequencies[b], frequencies[a]);
+            }
+        });
+        int[] ranking = new int[order.length];
+        for(int i = 0; i < order.length; ++i)
+        {
+            ranking[i] = order[i];
+        }
+        return ranking;
+    }
+}
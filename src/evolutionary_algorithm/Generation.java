@@ -1,20 +1,95 @@
 package evolutionary_algorithm;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import alphabet.Alphabet;
 import alphabet.UnknownCharacterException;
+import key_index.SolvedKeyIndex;
+import randomizer.BlockRandom;
 
-public class Generation
+public class Generation implements Solver
 {
+    /**Default value of <i>equalValuesStayProbability</i> passed to {@link Specimen#reproduce}.*/
+    public static final double DEFAULT_EQUAL_VALUES_STAY_PROBABILITY = 0.9d;
+    /**Number of specimens processed between two checks of the budget inside one generation.*/
+    protected static final int CHUNK_SIZE = 256;
+    /**Number of children passed at once from a breeder to an evaluator in the pipelined mode.*/
+    protected static final int BATCH_SIZE = 64;
+    /**Maximum number of batches waiting for evaluation in the pipelined mode.*/
+    protected static final int QUEUE_CAPACITY = 32;
+    /**Share of the maximum heap used for automatic population sizing when no memory budget is set.*/
+    public static final double DEFAULT_MEMORY_FRACTION = 0.25d;
+    
+    /**Parameters of evolve used by {@link Generation#solve}.*/
+    protected int solverPopulationSize = 200;
+    protected int solverMaxNumberOfIterations = 10000;
+    protected double solverPercentageOfOldGenerationSurvivors = 0.2d;
+    protected double solverPercentageOfParents = 0.5d;
+    protected double solverMutationChance = 0.3d;
     /**Used by this class.*/
     protected Alphabet alphabet;
     /***/
     protected Random rand;
+    /**Unshared generator used by reproduction, seeded from <i>rand</i> at the start of every run.*/
+    protected Random breedingRandom;
     /**Cipher to be broken*/
     protected Specimen exemplar;
     /**Encoded message*/
     protected int[] cryptogram;
+    /**Assigns fitness to specimens in the current run.*/
+    protected Evaluator evaluator;
+    /**Creates specimens of the first generation.*/
+    protected PopulationInitializer populationInitializer = new RandomPopulationInitializer();
+    /**Initializer used in the current run.*/
+    protected PopulationInitializer initializer;
+    /**Whether all messages given to {@link Generation#addMessage} are broken together with <i>message</i>.*/
+    protected boolean jointCracking = false;
+    /**Messages waiting to be merged into the joint evaluator, in the form of arrays of alphabet indexes.*/
+    protected ConcurrentLinkedQueue<int[]> pendingMessages = new ConcurrentLinkedQueue<int[]>();
+    /**Evaluator of the current run in the joint mode, null otherwise.*/
+    protected MultiMessageEvaluator jointEvaluator;
+    /**Keys of previously broken cryptograms, may be null.*/
+    protected SolvedKeyIndex solvedKeyIndex = null;
+    /**Specimen put into the first generation, found in <i>solvedKeyIndex</i>. May be null.*/
+    protected Specimen seed;
+    /**Known fragments of the plaintext, may be null.*/
+    protected CribConstraints cribConstraints = null;
+    /**For each chromosome the value pinned by <i>cribConstraints</i>, or -1. Null when nothing is pinned.*/
+    protected int[] pinnedValues;
+    /**Chromosomes not pinned by <i>cribConstraints</i>. Null when nothing is pinned.*/
+    protected int[] freePositions;
+    /**Number of threads breeding and evaluating children in the pipelined mode, 0 if the mode is disabled.*/
+    protected int numberOfBreeders = 0;
+    protected int numberOfEvaluators = 0;
+    /**Runs breeders and evaluators during evolve in the pipelined mode, null otherwise.*/
+    protected ExecutorService pipelineExecutor;
+    /**Whether operators and evaluation are restricted to the characters occurring in the message.*/
+    protected boolean largeAlphabetMode = false;
+    /**In the large-alphabet mode, characters occurring in the message, in ascending order. Null otherwise.*/
+    protected int[] activePositions;
+    /**For each chromosome the group of symbols among which it can be mapped, null if any symbol can be mapped to any other.*/
+    protected int[] symbolGroups;
+    /**If not null, creates the evaluator of every run instead of the built-in fitness.*/
+    protected EvaluatorFactory evaluatorFactory = null;
+    /**If not null, specimens are evaluated on a growing sample of the cryptogram.*/
+    protected SamplingSchedule samplingSchedule = null;
     /***/
     protected String message;
     /**Currently evaluated and bred group of Specimens.*/
@@ -37,8 +112,64 @@ public class Generation
     protected int numberOfParents;
     /**mutationChance with which each child is subject to mutation. [0.0d ; 1.0d]*/
     protected double mutationChance;
+    /**equalValuesStayProbability determines how likely a chromosome, which is identical in both parents, is to be passed on to the child. [0.0d ; 1.0d]*/
+    protected double equalValuesStayProbability = DEFAULT_EQUAL_VALUES_STAY_PROBABILITY;
+    /**Creates keys of children, null for the crossing built into {@link Specimen#reproduce}.*/
+    protected CrossoverOperator crossoverOperator = null;
+    /**Creates an operator for every breeder thread of the pipelined mode, null if only crossoverOperator is set.*/
+    protected CrossoverOperatorFactory crossoverOperatorFactory = null;
+    /**Operators used by breeder threads of the pipelined mode in the current run, one per breeder.*/
+    protected CrossoverOperator[] breederOperators;
+    /**If not null, adjusts parameters of reproduction during the run.*/
+    protected AdaptiveOperatorControl adaptiveControl = null;
+    /**Parameters of reproduction in the current generation, equal to the configured ones unless <i>adaptiveControl</i> is set.*/
+    protected double currentMutationChance;
+    protected int currentNumberOfSwaps;
+    protected double currentEqualValuesStayProbability;
+    /**Limits resources spent by one call to evolve. Unlimited by default.*/
+    protected Budget budget = new Budget();
+    /**Bytes the data of one run may take, 0 if not limited.*/
+    protected long memoryBudget = 0;
+    /**Number of the generations processed in the current run.*/
+    protected int iteration;
+    /**Number of evaluations performed in the current run.*/
+    protected final AtomicLong numberOfEvaluations = new AtomicLong();
+    /**Whether duplicated specimens are replaced while assembling the next generation.*/
+    protected boolean duplicateElimination = false;
+    /**Hashes of specimens already in the next generation.*/
+    protected PermutationHashSet nextGenerationHashes;
+    /**Percentage of specimens replaced as duplicates while assembling the current population. [0.0d ; 1.0d]*/
+    protected double duplicateRate;
+    /**Whether diversity of the population is tracked even if no feature needs it.*/
+    protected boolean diversityTracking = false;
+    /**Histogram of the current population, null when diversity is not tracked.*/
+    protected DiversityTracker diversity;
+    /**Maximum number of low-confidence positions searched exhaustively, 0 when the endgame is disabled.*/
+    protected int endgamePositions = 0;
+    /**Positions whose consensus value is held by less than this share of the population have low confidence.*/
+    protected double endgameConfidence;
+    /**Low-confidence positions and the best specimen of the last endgame, which is not repeated for the same ones.*/
+    protected int[] lastEndgamePositions;
+    protected EvaluatedSpecimen lastEndgameBest;
+    /**Settings of restarts performed when the run stagnates, null if restarts are disabled.*/
+    protected StagnationRestarts stagnationRestarts = null;
+    /**Best distinct specimens found in the current run, the best first.*/
+    protected List<EvaluatedSpecimen> eliteArchive = new ArrayList<EvaluatedSpecimen>();
+    /**Evaluation of the best specimen when it last improved.*/
+    protected double lastImprovement;
+    /**Number of generations since the best evaluation last improved.*/
+    protected int generationsWithoutImprovement;
+    /**Number of restarts performed in the current run.*/
+    protected int numberOfRestarts;
+    /**Number of generations without improvement which preceded restarts in the current run.*/
+    protected long wastedGenerations;
+    /**Best specimen found so far in the current run.*/
+    protected EvaluatedSpecimen best;
     
     /**
+     * With a {@link alphabet.ClassAlphabet} the algorithm evolves permutations of symbol classes, 
+     * which can be expanded to keys of the full alphabet with {@link Specimen#expand}.
+     * 
      * @param alphabet to be used
      * @param rand for randomization
      */
@@ -46,12 +177,314 @@ public class Generation
     {
         this.alphabet = alphabet;
         this.rand = rand;
+        symbolGroups = alphabet.getSymbolGroups();
     }
     
     /**
-     * Will attempt to break the substitution cipher by means of an evolutionary algorithm.
+     * Will set parameters of evolve used by {@link Generation#solve}.
      * 
      * @param populationSize will be constant throughout generations
+     * @param maxNumberOfIterations to be processed
+     * @param percentageOfOldGenerationSurvivors who can transit to the next generation. [0.0d ; 1.0d]
+     * @param percentageOfParents how many specimens can participate in reproduction. [0.0d ; 1.0d]
+     * @param mutationChance with which each child is subject to mutation. [0.0d ; 1.0d]
+     */
+    public void setSolverParameters(final int populationSize, final int maxNumberOfIterations, 
+            final double percentageOfOldGenerationSurvivors, final double percentageOfParents, final double mutationChance)
+    {
+        solverPopulationSize = populationSize;
+        solverMaxNumberOfIterations = maxNumberOfIterations;
+        solverPercentageOfOldGenerationSurvivors = percentageOfOldGenerationSurvivors;
+        solverPercentageOfParents = percentageOfParents;
+        solverMutationChance = mutationChance;
+    }
+    
+    /**
+     * Will call evolve with parameters given to {@link Generation#setSolverParameters}.
+     * 
+     * @exception IllegalArgumentException when the parameters or the crib constraints are incorrect, or the population does not fit the memory budget
+     */
+    @Override
+    public Specimen solve(final String message, final double desiredEvaluation, final Statistics statistics) 
+            throws UnknownCharacterException
+    {
+        try
+        {
+            return evolve(solverPopulationSize, desiredEvaluation, solverMaxNumberOfIterations, 
+                    solverPercentageOfOldGenerationSurvivors, solverPercentageOfParents, solverMutationChance, message, statistics);
+        }
+        catch (IncorrectDesiredEvaluation | IncorrectPercentageOfOldGenerationSurvivors | IncorrectPercentageOfParents 
+                | IncorrectMutationChanceException | IncorrectPopulationSizeException | IncorrectCribException 
+                | InsufficientMemoryException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+    }
+    
+    /**
+     * @param budget limiting every following run, checked once per generation and once per chunk of specimens
+     */
+    public void setBudget(final Budget budget)
+    {
+        this.budget = budget;
+    }
+    
+    /**
+     * Populations whose estimated footprint ({@link Generation#estimateMemoryFootprint}) exceeds the budget are rejected 
+     * by evolve with {@link InsufficientMemoryException} before they are created. 
+     * A population size of 0 given to evolve means the largest population fitting the budget.
+     * 
+     * @param bytes the data of one run may take, 0 to disable the check
+     */
+    public void setMemoryBudget(final long bytes)
+    {
+        memoryBudget = Math.max(0, bytes);
+    }
+    
+    /**
+     * @param fraction of the maximum heap the data of one run may take. (0.0d ; 1.0d]
+     * 
+     * @see Generation#setMemoryBudget
+     */
+    public void setMemoryBudgetFraction(final double fraction)
+    {
+        setMemoryBudget((long)(Runtime.getRuntime().maxMemory() * fraction));
+    }
+    
+    /**
+     * @param populationInitializer to create specimens of the first generation, {@link RandomPopulationInitializer} by default
+     */
+    public void setPopulationInitializer(final PopulationInitializer populationInitializer)
+    {
+        this.populationInitializer = populationInitializer;
+    }
+    
+    /**
+     * Before a run, the <i>solvedKeyIndex</i> is searched for the cryptogram. If the very same cryptogram has already been broken
+     * with the desired evaluation, its key is returned at once; otherwise the key of the most similar cryptogram is put into the first generation.
+     * After a run, the best key is stored in the <i>solvedKeyIndex</i>.
+     * 
+     * @param solvedKeyIndex to be used, or null
+     */
+    public void setSolvedKeyIndex(final SolvedKeyIndex solvedKeyIndex)
+    {
+        this.solvedKeyIndex = solvedKeyIndex;
+    }
+    
+    /**
+     * Enables the joint mode, in which all messages given to {@link Generation#addMessage} are encoded with the same key 
+     * as the message given to evolve, and specimens are evaluated on all of them at a cost independent of their number.
+     * 
+     * @param jointCracking whether the joint mode is enabled
+     */
+    public void setJointCracking(final boolean jointCracking)
+    {
+        this.jointCracking = jointCracking;
+    }
+    
+    /**
+     * Will add a message to be broken in the joint mode. May be called from any thread, also while evolve is running, 
+     * in which case the message is taken into account from the next generation.
+     * 
+     * @param message to be added
+     * 
+     * @throws UnknownCharacterException if an unknown character is found in the <i>message</i>.
+     * This character will be stored as a description of the Exception.
+     */
+    public void addMessage(final String message) throws UnknownCharacterException
+    {
+        pendingMessages.add(alphabet.convert(message));
+    }
+    
+    /**
+     * Chromosomes determined by the <i>cribConstraints</i> are pinned in every specimen, 
+     * crossing and mutation only operate on the remaining ones.
+     * 
+     * @param cribConstraints to be used, or null
+     */
+    public void setCribConstraints(final CribConstraints cribConstraints)
+    {
+        this.cribConstraints = cribConstraints;
+    }
+    
+    /**
+     * Replaces the built-in fitness, which compares keys with the cipher, by evaluators created for the cryptogram of every run,
+     * for example {@link DictionaryEvaluator} or a {@link WeightedEvaluator} of several components. 
+     * The desired evaluation refers to the score of these evaluators. Takes precedence over the joint mode and the progressive sample.
+     * 
+     * @param evaluatorFactory creating the evaluator of every run, or null for the built-in fitness
+     */
+    public void setEvaluatorFactory(final EvaluatorFactory evaluatorFactory)
+    {
+        this.evaluatorFactory = evaluatorFactory;
+    }
+    
+    /**
+     * Enables the progressive-sample fitness: early generations are evaluated on a small sample of the cryptogram, 
+     * which grows according to the <i>samplingSchedule</i>. The best specimen is verified on the whole cryptogram before the algorithm stops.
+     * 
+     * @param samplingSchedule to be used, or null to evaluate specimens by comparing them with the exemplar
+     */
+    public void setSamplingSchedule(final SamplingSchedule samplingSchedule)
+    {
+        this.samplingSchedule = samplingSchedule;
+    }
+    
+    /**
+     * When enabled, every specimen whose key is already present in the next generation is replaced 
+     * by its mutated copy or, if the copy is a duplicate as well, by a new specimen from the population initializer.
+     * 
+     * @param duplicateElimination whether duplicated specimens are replaced
+     */
+    public void setDuplicateElimination(final boolean duplicateElimination)
+    {
+        this.duplicateElimination = duplicateElimination;
+    }
+    
+    /**
+     * Enables the pipelined mode, in which breeder threads stream batches of children through a bounded queue to evaluator threads, 
+     * so breeding and evaluation of a generation overlap. Each evaluator keeps the best children it has seen, 
+     * and only those are merged into the next generation. The order of children, and so the course of a run, 
+     * is no longer reproducible from the seed.
+     * 
+     * @param numberOfBreeders threads breeding children, 0 to disable the pipelined mode
+     * @param numberOfEvaluators threads evaluating children. >= 1 if <i>numberOfBreeders</i> > 0
+     */
+    public void setPipelining(final int numberOfBreeders, final int numberOfEvaluators)
+    {
+        this.numberOfBreeders = numberOfBreeders;
+        this.numberOfEvaluators = numberOfBreeders > 0 ? Math.max(1, numberOfEvaluators) : 0;
+    }
+    
+    /**
+     * Enables the mode for alphabets of thousands of characters, in which only the characters occurring in the message (active positions) 
+     * are crossed, mutated and evaluated, so the cost of a generation depends on the message rather than on the alphabet:<br>
+     * -specimens of the first generation map active positions to the characters occurring in the cryptogram ({@link ActiveSymbolInitializer}), 
+     * the population initializer is not used;<br>
+     * -unless the joint mode or the progressive sample is enabled, specimens are evaluated by {@link SparseAlignmentEvaluator};<br>
+     * -diversity is not tracked.<br>
+     * Keys are still permutations of the whole alphabet, so O(alphabetLength) copying per child remains.
+     * 
+     * @param largeAlphabetMode whether the large-alphabet mode is enabled
+     */
+    public void setLargeAlphabetMode(final boolean largeAlphabetMode)
+    {
+        this.largeAlphabetMode = largeAlphabetMode;
+    }
+    
+    /**
+     * Enables the endgame: after a generation is evaluated, positions of the key on which the population does not agree 
+     * (the most frequent value is held by less than <i>confidenceThreshold</i> of specimens) are found. If there are at most 
+     * <i>maxPositions</i> of them, every rearrangement of the values of these positions in the best key is checked 
+     * by {@link EndgameSolver} and the best one replaces the worst specimen of the population.<br>
+     * Enables diversity tracking. The endgame is skipped in the large-alphabet mode and when the evaluator 
+     * is not a {@link DecomposableEvaluator}.
+     * 
+     * @param maxPositions searched exhaustively, at most {@link EndgameSolver#MAX_POSITIONS}; 0 to disable the endgame
+     * @param confidenceThreshold share of the population below which a position has low confidence. [0.0d ; 1.0d]
+     */
+    public void setEndgame(final int maxPositions, final double confidenceThreshold)
+    {
+        this.endgamePositions = Math.min(maxPositions, EndgameSolver.MAX_POSITIONS);
+        this.endgameConfidence = confidenceThreshold;
+    }
+    
+    /**
+     * When enabled, positional entropy and distance to consensus of every generation are sent in {@link StatisticsSnapshot}s.
+     * Costs O(alphabetLength^2) memory and O(alphabetLength) time per specimen entering the population. Disabled by default; 
+     * the endgame and stagnation restarts track diversity anyway, as they need it. Never tracked in the large-alphabet mode.
+     * 
+     * @param diversityTracking whether diversity of the population is tracked
+     */
+    public void setDiversityTracking(final boolean diversityTracking)
+    {
+        this.diversityTracking = diversityTracking;
+    }
+    
+    /**
+     * The operator is used by one thread only, so it cannot be combined with the pipelined mode of more than one breeder; 
+     * use {@link Generation#setCrossoverOperator(CrossoverOperatorFactory)} then.
+     * 
+     * @param crossoverOperator creating keys of children, or null for the crossing built into {@link Specimen#reproduce}, 
+     * which keeps chromosomes identical in both parents with equalValuesStayProbability and shuffles the rest
+     */
+    public void setCrossoverOperator(final CrossoverOperator crossoverOperator)
+    {
+        this.crossoverOperator = crossoverOperator;
+        this.crossoverOperatorFactory = null;
+    }
+    
+    /**
+     * Every breeder thread of the pipelined mode gets an operator of its own from the <i>factory</i>, 
+     * as operators keep scratch buffers and must not be shared by threads.
+     * 
+     * @param factory creating operators which create keys of children, or null for the crossing built into {@link Specimen#reproduce}
+     */
+    public void setCrossoverOperator(final CrossoverOperatorFactory factory)
+    {
+        this.crossoverOperatorFactory = factory;
+        this.crossoverOperator = factory == null ? null : factory.createOperator();
+    }
+    
+    /**
+     * When set, mutationChance, equalValuesStayProbability and the number of swaps of one mutation are adjusted 
+     * after every generation, starting from the values given to evolve.
+     * 
+     * @param adaptiveControl to be used, or null to keep parameters constant
+     */
+    public void setAdaptiveOperatorControl(final AdaptiveOperatorControl adaptiveControl)
+    {
+        this.adaptiveControl = adaptiveControl;
+    }
+    
+    /**
+     * Stagnation is detected by the distance of the population to its consensus, so restarts enable diversity tracking, 
+     * except in the large-alphabet mode, in which they never happen.
+     * 
+     * @param stagnationRestarts settings of restarts performed when the run stagnates, or null to disable restarts
+     */
+    public void setStagnationRestarts(final StagnationRestarts stagnationRestarts)
+    {
+        this.stagnationRestarts = stagnationRestarts;
+    }
+    
+    /**
+     * @param equalValuesStayProbability determines how likely a chromosome, which is identical in both parents, is to be passed on to the child. [0.0d ; 1.0d]
+     */
+    public void setEqualValuesStayProbability(final double equalValuesStayProbability)
+    {
+        this.equalValuesStayProbability = equalValuesStayProbability;
+    }
+    
+    /**
+     * @return number of generations processed in the last run
+     */
+    public int getNumberOfIterations()
+    {
+        return iteration;
+    }
+    
+    /**
+     * @return evaluation of the best specimen found in the last run
+     */
+    public double getBestEvaluation()
+    {
+        return best.getEvaluation();
+    }
+    
+    /**
+     * @return number of evaluations performed in the last run
+     */
+    public long getNumberOfEvaluations()
+    {
+        return numberOfEvaluations.get();
+    }
+    
+    /**
+     * Will attempt to break the substitution cipher by means of an evolutionary algorithm.
+     * 
+     * @param populationSize will be constant throughout generations, >= 2; 0 for the largest population fitting the memory budget, 
+     *      or {@link Generation#DEFAULT_MEMORY_FRACTION} of the maximum heap if no budget is set
      * @param desiredEvaluation to be achieved. This algorithm WILL STOP when one of the specimens is evaluated with value greater or equal to this parameter. [0.0d ; 1.0d]
      * @param maxNumberOfIterations to be processed. This algorithm will stop when this value is met regardless of current specimens evaluations.
      * @param percentageOfOldGenerationSurvivors who can transit to the next generation. [0.0d ; 1.0d]
@@ -61,29 +494,175 @@ public class Generation
      * @param statistics to receive the message deciphered by the best specimen in the generation, his evaluation, mean evaluation of 
      *      the generation and the worst evaluation
      *
+     * @return the best Specimen found, also when the run has been stopped by its {@link Budget}
+     *
      * @exception IncorrectDesiredEvaluation when the 'desiredEvaluation' parameter does not belong to [0.0d ; 1.0d]
      * @exception IncorrectPercentageOfOldGenerationSurvivors when the 'percentageOfOldGenerationSurvivors' parameter does not belong to [0.0d ; 1.0d]
      * @exception IncorrectPercentageOfParents when the 'percentageOfParents' parameter does not belong to [0.0d ; 1.0d] 
      * @exception IncorrectMutationChanceException when the 'mutationChance' parameter does not belong to [0.0d ; 1.0d]
+     * @exception IncorrectPopulationSizeException when the population size is lower than 2
      * @exception UnknownCharacterException if an unknown character is found in the provided <i>text</i>.
      * This character will be stored as a description of the Exception.
+     * @exception IncorrectCribException when the crib constraints do not fit the cryptogram
+     * @exception InsufficientMemoryException when the estimated footprint of the population exceeds the memory budget
      */
-    public void evolve(final int populationSize, final double desiredEvaluation, 
+    public Specimen evolve(final int populationSize, final double desiredEvaluation, 
             final int maxNumberOfIterations, final double percentageOfOldGenerationSurvivors, 
             final double percentageOfParents, final double mutationChance, final String message, final Statistics statistics)
             throws IncorrectDesiredEvaluation, IncorrectPercentageOfOldGenerationSurvivors, IncorrectPercentageOfParents, 
-            IncorrectMutationChanceException, UnknownCharacterException
+            IncorrectMutationChanceException, IncorrectPopulationSizeException, UnknownCharacterException, IncorrectCribException, 
+            InsufficientMemoryException
     {
-        setParameters(populationSize, desiredEvaluation, maxNumberOfIterations, 
+        setParameters(fitPopulationSize(populationSize, message.length()), desiredEvaluation, maxNumberOfIterations, 
                 percentageOfOldGenerationSurvivors, percentageOfParents, mutationChance, message);
         checkParameters();
-        prepareDataStructure();
-        while(checkExitConditions())
+        budget.start();
+        if(prepareDataStructure())
+        {
+            return best.getSpecimen();
+        }
+        breederOperators = createBreederOperators();
+        pipelineExecutor = numberOfBreeders > 0 ? Executors.newFixedThreadPool(numberOfBreeders + numberOfEvaluators) : null;
+        try
+        {
+            while(checkExitConditions())
+            {
+                mergePendingMessages();
+                if(evaluator.newGeneration(best.getEvaluation()))
+                {
+                    best.reevaluate(evaluator);
+                    lastImprovement = best.getEvaluation();
+                    eliteArchive.clear();
+                    evaluatePopulation();
+                }
+                else if(iteration == 0)
+                {
+                    evaluatePopulation();
+                }
+                tryEndgame();
+                trackImprovement();
+                generateStatistics(statistics);
+                if(isStagnant())
+                {
+                    restart();
+                }
+                performReproduction();
+                ++iteration;
+            }
+        }
+        finally
+        {
+            if(pipelineExecutor != null)
+            {
+                pipelineExecutor.shutdownNow();
+                pipelineExecutor = null;
+            }
+        }
+        storeSolvedKey();
+        return best.getSpecimen();
+    }
+    
+    /**
+     * Estimates the heap taken by the data of a run: every individual costs its {@link EvaluatedSpecimen}, {@link Specimen}, 
+     * two int[] keys and slots in the population arrays, counted twice as the population and the children live together 
+     * (in the pipelined mode once more per evaluator, which keeps its best children), plus the hash set of duplicate elimination. 
+     * Fixed costs are the cryptogram and per-message tables of the evaluator, the counts of the joint mode, the diversity histogram 
+     * and children in flight in the pipelined mode. Only the joint mode and diversity tracking cost alphabetLength^2, 
+     * so the large-alphabet mode has no such term.
+     * Sizes assume compressed references below 32 GB of heap.
+     * 
+     * @param populationSize of the run
+     * @param messageLength length of the message
+     * 
+     * @return estimated footprint in bytes
+     */
+    public long estimateMemoryFootprint(final int populationSize, final int messageLength)
+    {
+        return fixedFootprint(messageLength) + footprintPerIndividual() * populationSize;
+    }
+    
+    /**
+     * @return estimated bytes taken by one individual of the population
+     */
+    protected long footprintPerIndividual()
+    {
+        long reference = Runtime.getRuntime().maxMemory() < (32L << 30) ? 4 : 8;
+        long header = reference == 4 ? 12 : 16;
+        long specimen = align(header + 3 * reference + 8) + align(header) + 2 * align(16 + 4L * alphabet.getAlphabetLength());
+        long evaluated = align(header + 2 * reference + 8);
+        int copies = 1 + (numberOfBreeders > 0 ? numberOfEvaluators : 1);
+        return copies * (specimen + evaluated) + 3 * reference + (duplicateElimination ? 32 : 0) 
+                + (numberOfBreeders > 0 ? numberOfEvaluators * reference : 0);
+    }
+    
+    /**
+     * @param messageLength length of the message
+     * 
+     * @return estimated bytes taken by a run regardless of its population size
+     */
+    protected long fixedFootprint(final int messageLength)
+    {
+        long alphabetLength = alphabet.getAlphabetLength();
+        long specimen = 64 + 8 * alphabetLength;
+        long result = 16L * messageLength;
+        if(jointCracking)
+        {
+            //Int counts of MultiMessageEvaluator, twice while a merged message replaces them.
+            result += 8 * alphabetLength * alphabetLength;
+        }
+        if(tracksDiversity())
+        {
+            result += 4 * alphabetLength * alphabetLength;
+        }
+        if(numberOfBreeders > 0)
+        {
+            result += (QUEUE_CAPACITY + numberOfBreeders + numberOfEvaluators) * BATCH_SIZE * specimen;
+        }
+        if(stagnationRestarts != null)
         {
-            evaluatePopulation();
-            generateStatistics(statistics);
-            performReproduction();
+            result += stagnationRestarts.eliteSize * specimen;
         }
+        return result;
+    }
+    
+    /**
+     * @return <i>bytes</i> rounded up to the 8 byte alignment of objects
+     */
+    private static long align(final long bytes)
+    {
+        return (bytes + 7) & ~7L;
+    }
+    
+    /**
+     * @param populationSize requested, 0 for the largest one fitting the budget
+     * @param messageLength length of the message
+     * 
+     * @return population size of the run
+     * 
+     * @exception InsufficientMemoryException when the population, or a population of 2 if its size is to be chosen, does not fit the budget
+     */
+    protected int fitPopulationSize(final int populationSize, final int messageLength) throws InsufficientMemoryException
+    {
+        long available = memoryBudget;
+        if(populationSize == 0)
+        {
+            if(available == 0)
+            {
+                available = (long)(Runtime.getRuntime().maxMemory() * DEFAULT_MEMORY_FRACTION);
+            }
+            long fitting = (available - fixedFootprint(messageLength)) / footprintPerIndividual();
+            if(fitting < 2)
+            {
+                throw new InsufficientMemoryException(2, estimateMemoryFootprint(2, messageLength), available);
+            }
+            return (int)Math.min(fitting, Integer.MAX_VALUE - 8);
+        }
+        long estimate = estimateMemoryFootprint(populationSize, messageLength);
+        if(available > 0 && estimate > available)
+        {
+            throw new InsufficientMemoryException(populationSize, estimate, available);
+        }
+        return populationSize;
     }
     
     /**
@@ -94,7 +673,60 @@ public class Generation
      */
     protected void generateStatistics(final Statistics statistics)
     {
-        //TODO
+        if(statistics == null)
+        {
+            return;
+        }
+        double sum = 0.0d;
+        double worst = 1.0d;
+        for(int i = 0; i < populationSize; ++i)
+        {
+            sum += population[i].getEvaluation();
+            worst = Math.min(worst, population[i].getEvaluation());
+        }
+        statistics.newGeneration(decipher(best.getSpecimen()), best.getEvaluation(), sum / populationSize, worst);
+        
+        if(statistics instanceof DetailedStatistics)
+        {
+            StatisticsSnapshot snapshot = new StatisticsSnapshot();
+            snapshot.iteration = iteration;
+            snapshot.bestEvaluation = best.getEvaluation();
+            snapshot.meanEvaluation = sum / populationSize;
+            snapshot.worstEvaluation = worst;
+            snapshot.numberOfEvaluations = numberOfEvaluations.get();
+            snapshot.duplicateRate = duplicateRate;
+            snapshot.generationsWithoutImprovement = generationsWithoutImprovement;
+            snapshot.numberOfRestarts = numberOfRestarts;
+            snapshot.wastedGenerations = wastedGenerations + generationsWithoutImprovement;
+            snapshot.mutationChance = currentMutationChance;
+            snapshot.numberOfSwaps = currentNumberOfSwaps;
+            snapshot.equalValuesStayProbability = currentEqualValuesStayProbability;
+            if(diversity != null)
+            {
+                snapshot.entropy = diversity.entropy();
+                snapshot.distanceToConsensus = diversity.distanceToConsensus();
+            }
+            ((DetailedStatistics)statistics).newSnapshot(snapshot);
+        }
+    }
+    
+    /**
+     * @param specimen to decipher the cryptogram with
+     * 
+     * @return cryptogram deciphered by the given specimen
+     */
+    protected String decipher(final Specimen specimen)
+    {
+        int[] text = cryptogram.clone();
+        specimen.decode(text);
+        try
+        {
+            return alphabet.convert(text);
+        }
+        catch (UnknownCharacterException e)
+        {
+            throw new RuntimeException("Impossible! The cryptogram has been created with the same alphabet.");
+        }
     }
     
     /**
@@ -133,27 +765,33 @@ public class Generation
      * @exception IncorrectMaxPercentOfOldGenerationSurvivors when the 'maxPercentOfOldGenerationSurvivors' parameter does not belong to [0.0d ; 1.0d]
      * @exception IncorrectpercentageOfParents when the 'maxPercentOfParents' parameter does not belong to [0.0d ; 1.0d] 
      * @exception IncorrectMutationChanceException when the 'mutationChance' parameter does not belong to [0.0d ; 1.0d]
+     * @exception IncorrectPopulationSizeException when the population size is lower than 2
      */
     protected void checkParameters() 
             throws IncorrectDesiredEvaluation, IncorrectPercentageOfOldGenerationSurvivors, 
-            IncorrectPercentageOfParents, IncorrectMutationChanceException
+            IncorrectPercentageOfParents, IncorrectMutationChanceException, IncorrectPopulationSizeException
     {
-        if(desiredEvaluation < 0.0d && desiredEvaluation > 1.0d)
+        if(populationSize < 2)
+        {
+            throw new IncorrectPopulationSizeException();
+        }
+        
+        if(desiredEvaluation < 0.0d || desiredEvaluation > 1.0d)
         {
             throw new IncorrectDesiredEvaluation();
         }
         
-        if(percentageOfOldGenerationSurvivors < 0.0d && percentageOfOldGenerationSurvivors > 1.0d)
+        if(percentageOfOldGenerationSurvivors < 0.0d || percentageOfOldGenerationSurvivors > 1.0d)
         {
             throw new IncorrectPercentageOfOldGenerationSurvivors();
         }
         
-        if(percentageOfParents < 0.0d && percentageOfParents > 1.0d)
+        if(percentageOfParents < 0.0d || percentageOfParents > 1.0d)
         {
             throw new IncorrectPercentageOfParents();
         }
         
-        if(mutationChance < 0.0d && mutationChance > 1.0d)
+        if(mutationChance < 0.0d || mutationChance > 1.0d)
         {
             throw new IncorrectMutationChanceException();
         }
@@ -163,23 +801,110 @@ public class Generation
     /**
      * Everything necessary before the start of actual algorithm.
      * 
+     * @return whether the solved key index already holds a key with the desired evaluation, 
+     * in which case it is the best specimen and no population is generated
+     * 
      * @throws UnknownCharacterException if an unknown character is found in the provided <i>text</i>.
      * This character will be stored as a description of the Exception.
+     * @throws IncorrectCribException when the crib constraints do not fit the cryptogram
      */
-    protected void prepareDataStructure() throws UnknownCharacterException
+    protected boolean prepareDataStructure() throws UnknownCharacterException, IncorrectCribException
     {
+        iteration = 0;
+        numberOfEvaluations.set(0);
+        best = null;
+        lastEndgamePositions = null;
+        lastEndgameBest = null;
+        eliteArchive.clear();
+        generationsWithoutImprovement = 0;
+        numberOfRestarts = 0;
+        wastedGenerations = 0;
+        breedingRandom = new BlockRandom(rand.nextLong());
+        currentMutationChance = mutationChance;
+        currentNumberOfSwaps = 1;
+        currentEqualValuesStayProbability = equalValuesStayProbability;
+        if(adaptiveControl != null)
+        {
+            adaptiveControl.start(mutationChance, equalValuesStayProbability);
+        }
         generateCipher();
         cipherMessage();
+        resolveCribs();
+        resolveActivePositions();
+        createEvaluator();
+        if(findSolvedKey())
+        {
+            return true;
+        }
         createStructure();
         generatePopulation();
+        return false;
     }
     
     /**
-     * Will create the specimen whose cipher is to be cracked.
+     * Will search the solved key index for the cryptogram.
+     * 
+     * @return whether the cryptogram has already been broken with the desired evaluation, 
+     * in which case its key becomes the best specimen and nothing else is prepared
      */
-    protected void generateCipher()
+    protected boolean findSolvedKey()
     {
-        exemplar = new Specimen(alphabet.getAlphabetLength(), rand);
+        seed = null;
+        if(solvedKeyIndex == null)
+        {
+            return false;
+        }
+        SolvedKeyIndex.Match match;
+        try
+        {
+            match = solvedKeyIndex.find(cryptogram, alphabet.getAlphabetLength(), SolvedKeyIndex.DEFAULT_MAX_SIGNATURE_DISTANCE);
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Solved key index can not be read.", e);
+        }
+        if(match == null)
+        {
+            return false;
+        }
+        seed = pin(new Specimen(match.getKey()));
+        if(match.isExact() && evaluator.verify(seed) >= desiredEvaluation)
+        {
+            best = new EvaluatedSpecimen(seed, evaluator);
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Will store the best key in the solved key index, unless no generation has been processed.
+     */
+    protected void storeSolvedKey()
+    {
+        if(solvedKeyIndex == null || iteration == 0)
+        {
+            return;
+        }
+        try
+        {
+            solvedKeyIndex.store(cryptogram, best.getSpecimen().getChromosomes(), evaluator.verify(best.getSpecimen()));
+        }
+        catch (IOException e)
+        {
+            throw new RuntimeException("Solved key index can not be written.", e);
+        }
+    }
+    
+    /**
+     * Will create the specimen whose cipher is to be cracked.
+     */
+    protected void generateCipher()
+    {
+        exemplar = new Specimen(alphabet.getAlphabetLength(), rand);
+        if(symbolGroups != null)
+        {
+            exemplar = exemplar.regroup(symbolGroups, rand);
+        }
     }
     
     /**
@@ -194,6 +919,150 @@ public class Generation
         exemplar.encode(cryptogram);
     }
     
+    /**
+     * Will determine chromosomes pinned by the crib constraints.
+     * 
+     * @throws UnknownCharacterException if an unknown character is found in the constraints
+     * @throws IncorrectCribException when the crib constraints do not fit the cryptogram
+     */
+    protected void resolveCribs() throws UnknownCharacterException, IncorrectCribException
+    {
+        pinnedValues = null;
+        freePositions = null;
+        if(cribConstraints != null)
+        {
+            pinnedValues = cribConstraints.resolve(alphabet, cryptogram);
+            freePositions = CribConstraints.freePositions(pinnedValues);
+        }
+    }
+    
+    /**
+     * In the large-alphabet mode, will find the characters occurring in the message and restrict free positions to them.
+     * 
+     * @throws UnknownCharacterException if an unknown character is found in the <i>message</i>.
+     */
+    protected void resolveActivePositions() throws UnknownCharacterException
+    {
+        activePositions = null;
+        if(!largeAlphabetMode)
+        {
+            return;
+        }
+        boolean[] occurring = new boolean[alphabet.getAlphabetLength()];
+        for(int character : alphabet.convert(message))
+        {
+            occurring[character] = true;
+        }
+        if(pinnedValues != null)
+        {
+            for(int i = 0; i < pinnedValues.length; ++i)
+            {
+                if(pinnedValues[i] >= 0)
+                {
+                    occurring[i] = false;
+                }
+            }
+        }
+        int count = 0;
+        for(int i = 0; i < occurring.length; ++i)
+        {
+            count += occurring[i] ? 1 : 0;
+        }
+        activePositions = new int[count];
+        count = 0;
+        for(int i = 0; i < occurring.length; ++i)
+        {
+            if(occurring[i])
+            {
+                activePositions[count++] = i;
+            }
+        }
+        freePositions = activePositions;
+    }
+    
+    /**
+     * @param specimen to be pinned
+     * 
+     * @return the <i>specimen</i> respecting the symbol groups, with chromosomes pinned by the crib constraints
+     */
+    protected Specimen pin(final Specimen specimen)
+    {
+        return pin(specimen, rand);
+    }
+    
+    /**
+     * @param specimen to be pinned
+     * @param rand for randomization
+     * 
+     * @return the <i>specimen</i> respecting the symbol groups, with chromosomes pinned by the crib constraints
+     */
+    protected Specimen pin(final Specimen specimen, final Random rand)
+    {
+        Specimen regrouped = symbolGroups == null ? specimen : specimen.regroup(symbolGroups, rand);
+        return pinnedValues == null ? regrouped : regrouped.pin(pinnedValues);
+    }
+    
+    /**
+     * Will create the evaluator used in this run.
+     * 
+     * @throws UnknownCharacterException if an unknown character is found in the <i>message</i>.
+     */
+    protected void createEvaluator() throws UnknownCharacterException
+    {
+        jointEvaluator = null;
+        if(evaluatorFactory != null)
+        {
+            evaluator = evaluatorFactory.createEvaluator(cryptogram);
+        }
+        else if(jointCracking)
+        {
+            jointEvaluator = new MultiMessageEvaluator(alphabet.getAlphabetLength());
+            jointEvaluator.addMessage(alphabet.convert(message), cryptogram);
+            mergePendingMessages();
+            evaluator = jointEvaluator;
+        }
+        else if(largeAlphabetMode && samplingSchedule == null)
+        {
+            evaluator = new SparseAlignmentEvaluator(alphabet.convert(message), cryptogram);
+        }
+        else if(samplingSchedule == null)
+        {
+            evaluator = new ExemplarEvaluator(exemplar);
+        }
+        else
+        {
+            evaluator = new ProgressiveSampleEvaluator(cryptogram, alphabet.convert(message), samplingSchedule);
+        }
+    }
+    
+    /**
+     * In the joint mode, will encode messages added since the last call and merge them into the joint evaluator.
+     */
+    protected void mergePendingMessages()
+    {
+        if(jointEvaluator == null)
+        {
+            return;
+        }
+        int[] pending = pendingMessages.poll();
+        while(pending != null)
+        {
+            int[] encoded = pending.clone();
+            exemplar.encode(encoded);
+            jointEvaluator.addMessage(pending, encoded);
+            pending = pendingMessages.poll();
+        }
+    }
+    
+    /**
+     * @return whether diversity of the population is tracked: when asked for or needed by the endgame or stagnation restarts, 
+     * but never in the large-alphabet mode
+     */
+    protected boolean tracksDiversity()
+    {
+        return !largeAlphabetMode && (diversityTracking || endgamePositions > 0 || stagnationRestarts != null);
+    }
+    
     /**
      * Will create data structures used by the algorithm.
      */
@@ -202,6 +1071,9 @@ public class Generation
         population = new EvaluatedSpecimen[populationSize];
         children = new EvaluatedSpecimen[populationSize];
         nextGeneration = new EvaluatedSpecimen[populationSize];
+        nextGenerationHashes = duplicateElimination ? new PermutationHashSet(populationSize) : null;
+        duplicateRate = 0.0d;
+        diversity = tracksDiversity() ? new DiversityTracker(alphabet.getAlphabetLength()) : null;
     }
     
     /**
@@ -209,18 +1081,26 @@ public class Generation
      */
     protected void generatePopulation()
     {
+        initializer = largeAlphabetMode ? new ActiveSymbolInitializer(activePositions) : populationInitializer;
+        initializer.prepare(cryptogram, alphabet.getAlphabetLength());
         for(int i = 0; i < populationSize; ++i)
         {
-            try
-            {
-                population[i] = new EvaluatedSpecimen(new Specimen(alphabet.getAlphabetLength(), rand), exemplar);
-            } 
-            catch (IncompatibleSpecimensException e)
+            population[i] = new EvaluatedSpecimen(pin(initializer.createSpecimen(rand)), evaluator);
+            considerBest(population[i]);
+        }
+        if(seed != null)
+        {
+            population[0] = new EvaluatedSpecimen(seed, evaluator);
+            considerBest(population[0]);
+        }
+        if(diversity != null)
+        {
+            for(int i = 0; i < populationSize; ++i)
             {
-                //If we find ourselves stranded here, we are unable to recover.
-                throw new RuntimeException();
+                diversity.add(population[i].getSpecimen());
             }
         }
+        lastImprovement = best.getEvaluation();
     }
     
     /**
@@ -230,29 +1110,518 @@ public class Generation
      * -evaluates children
      * -determines specimens which will create the next generation
      * -removes dead specimens
+     * 
+     * Stops without changing the population if the budget runs out.
      */
     protected void performReproduction()
     {
-        //TODO
+        Arrays.sort(population, BY_EVALUATION_DESCENDING);
+        int numberOfSurvivors = (int)(populationSize * percentageOfOldGenerationSurvivors);
+        if(pipelineExecutor != null)
+        {
+            if(!breedChildrenPipelined(populationSize - numberOfSurvivors))
+            {
+                return;
+            }
+        }
+        else
+        {
+            if(!breedChildren())
+            {
+                return;
+            }
+            Arrays.sort(children, BY_EVALUATION_DESCENDING);
+        }
+        
+        for(int i = 0; i < numberOfSurvivors; ++i)
+        {
+            nextGeneration[i] = population[i];
+        }
+        for(int i = numberOfSurvivors; i < populationSize; ++i)
+        {
+            nextGeneration[i] = children[i - numberOfSurvivors];
+        }
+        if(duplicateElimination)
+        {
+            replaceDuplicates();
+        }
+        if(diversity != null)
+        {
+            for(int i = 0; i < populationSize; ++i)
+            {
+                if(nextGeneration[i] != population[i])
+                {
+                    diversity.remove(population[i].getSpecimen());
+                    diversity.add(nextGeneration[i].getSpecimen());
+                }
+            }
+        }
+        
+        EvaluatedSpecimen[] tmp = population;
+        population = nextGeneration;
+        nextGeneration = tmp;
+    }
+    
+    /**
+     * Will count generations since the best evaluation last improved.
+     */
+    protected void trackImprovement()
+    {
+        if(best.getEvaluation() > lastImprovement)
+        {
+            lastImprovement = best.getEvaluation();
+            generationsWithoutImprovement = 0;
+        }
+        else
+        {
+            ++generationsWithoutImprovement;
+        }
+    }
+    
+    /**
+     * @return whether restarts are enabled and the run stagnates
+     */
+    protected boolean isStagnant()
+    {
+        if(stagnationRestarts == null)
+        {
+            return false;
+        }
+        int patience = stagnationRestarts.policy.patience(numberOfRestarts);
+        if(generationsWithoutImprovement >= patience)
+        {
+            return true;
+        }
+        return diversity != null && generationsWithoutImprovement >= Math.max(1, patience / 4)
+                && diversity.distanceToConsensus() < stagnationRestarts.minimumDiversity;
+    }
+    
+    /**
+     * Will update the elite archive with the best specimens of the population and replace the worst specimens 
+     * with new ones from the population initializer. Members of the elite archive take the best places in the population.
+     */
+    protected void restart()
+    {
+        Arrays.sort(population, BY_EVALUATION_DESCENDING);
+        updateEliteArchive();
+        
+        int eliteCount = Math.min(eliteArchive.size(), populationSize);
+        int replaced = Math.min(populationSize - eliteCount, 
+                (int)Math.round(populationSize * stagnationRestarts.restartFraction));
+        for(int i = 0; i < eliteCount; ++i)
+        {
+            replaceInPopulation(i, eliteArchive.get(i));
+        }
+        for(int i = populationSize - replaced; i < populationSize; ++i)
+        {
+            replaceInPopulation(i, new EvaluatedSpecimen(pin(initializer.createSpecimen(rand)), evaluator));
+        }
+        
+        wastedGenerations += generationsWithoutImprovement;
+        generationsWithoutImprovement = 0;
+        ++numberOfRestarts;
+    }
+    
+    /**
+     * Will merge the best distinct specimens of the sorted population into the elite archive.
+     */
+    protected void updateEliteArchive()
+    {
+        List<EvaluatedSpecimen> merged = new ArrayList<EvaluatedSpecimen>(eliteArchive);
+        for(int i = 0; i < Math.min(stagnationRestarts.eliteSize, populationSize); ++i)
+        {
+            merged.add(population[i]);
+        }
+        merged.sort(BY_EVALUATION_DESCENDING);
+        
+        eliteArchive.clear();
+        PermutationHashSet hashes = new PermutationHashSet(merged.size());
+        for(EvaluatedSpecimen candidate : merged)
+        {
+            if(eliteArchive.size() < stagnationRestarts.eliteSize && hashes.add(candidate.getSpecimen().hash64()))
+            {
+                eliteArchive.add(candidate);
+            }
+        }
+    }
+    
+    /**
+     * Will search the low-confidence positions of the best key exhaustively, if the endgame is enabled and there are few enough of them.
+     * The result replaces the worst specimen of the population if it is better than the best one.
+     */
+    protected void tryEndgame()
+    {
+        if(endgamePositions <= 0 || diversity == null || !(evaluator instanceof DecomposableEvaluator))
+        {
+            return;
+        }
+        int[] positions = lowConfidencePositions();
+        if(positions == null || positions.length < 2 
+                || (best == lastEndgameBest && Arrays.equals(positions, lastEndgamePositions)))
+        {
+            return;
+        }
+        lastEndgamePositions = positions;
+        lastEndgameBest = best;
+        
+        EndgameSolver solver = new EndgameSolver((DecomposableEvaluator)evaluator, ForkJoinPool.commonPool());
+        Specimen solved = pin(solver.solve(best.getSpecimen(), positions));
+        numberOfEvaluations.addAndGet(solver.getNumberOfLeaves());
+        if(solved == best.getSpecimen())
+        {
+            return;
+        }
+        EvaluatedSpecimen candidate = new EvaluatedSpecimen(solved, evaluator);
+        if(candidate.getEvaluation() <= best.getEvaluation())
+        {
+            return;
+        }
+        int worst = 0;
+        for(int i = 1; i < populationSize; ++i)
+        {
+            if(population[i].getEvaluation() < population[worst].getEvaluation())
+            {
+                worst = i;
+            }
+        }
+        replaceInPopulation(worst, candidate);
+        lastEndgameBest = best;
+    }
+    
+    /**
+     * @return free positions whose consensus value is held by less than endgameConfidence of the population, 
+     * or null if there are more than endgamePositions of them
+     */
+    protected int[] lowConfidencePositions()
+    {
+        int numberOfPositions = freePositions == null ? alphabet.getAlphabetLength() : freePositions.length;
+        int[] found = new int[endgamePositions];
+        int count = 0;
+        double threshold = endgameConfidence * diversity.size();
+        for(int i = 0; i < numberOfPositions; ++i)
+        {
+            int position = freePositions == null ? i : freePositions[i];
+            if(diversity.count(position, diversity.consensus(position)) < threshold)
+            {
+                if(count == endgamePositions)
+                {
+                    return null;
+                }
+                found[count++] = position;
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+    
+    /**
+     * Will put the <i>specimen</i> into the population in place of the one at the given <i>index</i>.
+     * 
+     * @param index in the population
+     * @param specimen to be put
+     */
+    protected void replaceInPopulation(final int index, final EvaluatedSpecimen specimen)
+    {
+        if(population[index] == specimen)
+        {
+            return;
+        }
+        if(diversity != null)
+        {
+            diversity.remove(population[index].getSpecimen());
+            diversity.add(specimen.getSpecimen());
+        }
+        population[index] = specimen;
+        considerBest(specimen);
+    }
+    
+    /**
+     * Will replace every specimen of <i>nextGeneration</i> whose key occurs earlier in it 
+     * with its mutated copy or, if the copy is a duplicate as well, with a new specimen.
+     */
+    protected void replaceDuplicates()
+    {
+        nextGenerationHashes.clear();
+        int duplicates = 0;
+        for(int i = 0; i < populationSize; ++i)
+        {
+            if(nextGenerationHashes.add(nextGeneration[i].getSpecimen().hash64()))
+            {
+                continue;
+            }
+            ++duplicates;
+            Specimen replacement = pin(nextGeneration[i].getSpecimen().mutate(freePositions, rand), rand);
+            if(!nextGenerationHashes.add(replacement.hash64()))
+            {
+                replacement = pin(initializer.createSpecimen(rand));
+                nextGenerationHashes.add(replacement.hash64());
+            }
+            nextGeneration[i] = new EvaluatedSpecimen(replacement, evaluator);
+            considerBest(nextGeneration[i]);
+        }
+        duplicateRate = ((double)duplicates) / populationSize;
+    }
+    
+    /**
+     * Fills <i>children</i> with evaluated offspring of the best <i>numberOfParents</i> specimens of the sorted <i>population</i>.
+     * 
+     * @return false if the budget ran out before all children were bred
+     */
+    protected boolean breedChildren()
+    {
+        int parents = Math.max(2, Math.min(numberOfParents, populationSize));
+        for(int start = 0; start < populationSize; start += CHUNK_SIZE)
+        {
+            if(budget.isExhausted(numberOfEvaluations.get()))
+            {
+                return false;
+            }
+            int end = Math.min(start + CHUNK_SIZE, populationSize);
+            for(int i = start; i < end; ++i)
+            {
+                int first = breedingRandom.nextInt(parents);
+                int second = breedingRandom.nextInt(parents - 1);
+                if(second >= first)
+                {
+                    ++second;
+                }
+                boolean mutated = breedingRandom.nextDouble() < currentMutationChance;
+                children[i] = new EvaluatedSpecimen(breedChild(population[first].getSpecimen(), population[second].getSpecimen(), 
+                        mutated, breedingRandom), evaluator);
+                considerBest(children[i]);
+                if(adaptiveControl != null)
+                {
+                    adaptiveControl.record(mutated, children[i].getEvaluation() > population[first].getEvaluation() 
+                            && children[i].getEvaluation() > population[second].getEvaluation());
+                }
+            }
+        }
+        adaptOperators();
+        return true;
+    }
+    
+    /**
+     * Breeds <i>populationSize</i> children of the best <i>numberOfParents</i> specimens of the sorted <i>population</i> 
+     * on breeder threads and evaluates them on evaluator threads, which receive them in batches through a bounded queue.
+     * Each evaluator keeps its best <i>numberOfChildren</i> children in a heap; the heaps are merged 
+     * into the first <i>numberOfChildren</i> elements of <i>children</i>, sorted from the best.
+     * 
+     * @param numberOfChildren needed by the next generation
+     * 
+     * @return false if the budget ran out or the thread was interrupted before all children were bred
+     */
+    protected boolean breedChildrenPipelined(final int numberOfChildren)
+    {
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<Batch>(QUEUE_CAPACITY);
+        List<EvaluationWorker> evaluators = new ArrayList<EvaluationWorker>();
+        List<Future<?>> evaluatorFutures = new ArrayList<Future<?>>();
+        for(int i = 0; i < numberOfEvaluators; ++i)
+        {
+            EvaluationWorker worker = new EvaluationWorker(queue, numberOfChildren);
+            evaluators.add(worker);
+            evaluatorFutures.add(pipelineExecutor.submit(worker));
+        }
+        List<Future<Boolean>> breederFutures = new ArrayList<Future<Boolean>>();
+        for(int i = 0; i < numberOfBreeders; ++i)
+        {
+            int count = populationSize * (i + 1) / numberOfBreeders - populationSize * i / numberOfBreeders;
+            breederFutures.add(pipelineExecutor.submit(new Breeder(queue, count, breederOperators[i], 
+                    new BlockRandom(breedingRandom.nextLong()))));
+        }
+        
+        boolean completed = true;
+        try
+        {
+            for(Future<Boolean> future : breederFutures)
+            {
+                completed &= future.get();
+            }
+            for(int i = 0; i < numberOfEvaluators; ++i)
+            {
+                queue.put(Batch.END);
+            }
+            for(Future<?> future : evaluatorFutures)
+            {
+                future.get();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        catch (ExecutionException e)
+        {
+            throw new RuntimeException(e.getCause());
+        }
+        
+        List<EvaluatedSpecimen> candidates = new ArrayList<EvaluatedSpecimen>();
+        for(EvaluationWorker worker : evaluators)
+        {
+            candidates.addAll(worker.best);
+            if(adaptiveControl != null)
+            {
+                worker.replayResults();
+            }
+        }
+        if(!completed || candidates.size() < numberOfChildren)
+        {
+            return false;
+        }
+        Collections.sort(candidates, BY_EVALUATION_DESCENDING);
+        for(int i = 0; i < numberOfChildren; ++i)
+        {
+            children[i] = candidates.get(i);
+        }
+        if(numberOfChildren > 0)
+        {
+            considerBest(children[0]);
+        }
+        adaptOperators();
+        return true;
+    }
+    
+    /**
+     * @return crossover operators of breeder threads, one per breeder, or null if the pipelined mode is disabled
+     * 
+     * @exception IllegalArgumentException when a single crossover operator would be shared by several breeders
+     */
+    protected CrossoverOperator[] createBreederOperators()
+    {
+        if(numberOfBreeders <= 0)
+        {
+            return null;
+        }
+        if(crossoverOperator != null && crossoverOperatorFactory == null && numberOfBreeders > 1)
+        {
+            throw new IllegalArgumentException("A crossover operator cannot be shared by breeder threads, set a CrossoverOperatorFactory.");
+        }
+        CrossoverOperator[] result = new CrossoverOperator[numberOfBreeders];
+        for(int i = 0; i < numberOfBreeders; ++i)
+        {
+            result[i] = crossoverOperatorFactory == null ? crossoverOperator : crossoverOperatorFactory.createOperator();
+        }
+        return result;
+    }
+    
+    /**
+     * @param first parent
+     * @param second parent
+     * @param mutated whether the child is mutated
+     * @param rand for randomization
+     * 
+     * @return child of the parents
+     */
+    protected Specimen breedChild(final Specimen first, final Specimen second, final boolean mutated, final Random rand)
+    {
+        return breedChild(first, second, mutated, crossoverOperator, rand);
+    }
+    
+    /**
+     * @param first parent
+     * @param second parent
+     * @param mutated whether the child is mutated
+     * @param operator creating the key of the child, used only by the calling thread; null for the crossing built into {@link Specimen#reproduce}
+     * @param rand for randomization
+     * 
+     * @return child of the parents
+     */
+    protected Specimen breedChild(final Specimen first, final Specimen second, final boolean mutated, 
+            final CrossoverOperator operator, final Random rand)
+    {
+        try
+        {
+            if(operator == null)
+            {
+                Specimen child = first.reproduce(second, currentEqualValuesStayProbability, mutated ? 1.0d : 0.0d, 
+                        currentNumberOfSwaps, freePositions, rand);
+                return symbolGroups == null ? child : pin(child, rand);
+            }
+            return pin(first.reproduce(second, operator, mutated ? 1.0d : 0.0d, currentNumberOfSwaps, freePositions, rand), rand);
+        }
+        catch (IncorrectProbabilityException | IncorrectMutationChanceException 
+                | DifferentNumberOfChromosomesException e)
+        {
+            //Parameters have been checked and all specimens share the same number of chromosomes.
+            throw new RuntimeException(e);
+        }
+    }
+    
+    /**
+     * Will let the adaptive operator control adapt to the recorded results of the last generation.
+     */
+    protected void adaptOperators()
+    {
+        if(adaptiveControl != null)
+        {
+            adaptiveControl.adapt();
+            currentMutationChance = adaptiveControl.getMutationChance();
+            currentNumberOfSwaps = adaptiveControl.getNumberOfSwaps();
+            currentEqualValuesStayProbability = adaptiveControl.getEqualValuesStayProbability();
+        }
     }
     
     /** 
-     * @return whether the algorithms exit conditions are met
+     * @return whether the algorithm should continue, which is false when the desired evaluation has been achieved, 
+     * the maximum number of iterations has been processed or the budget ran out
      */
     protected boolean checkExitConditions()
     {
-        //TODO
-        return false;
+        if(iteration >= maxNumberOfIterations)
+        {
+            return false;
+        }
+        if(best.getEvaluation() >= desiredEvaluation 
+                && evaluator.verify(best.getSpecimen()) >= desiredEvaluation)
+        {
+            return false;
+        }
+        return !budget.isExhausted(numberOfEvaluations.get());
     }
     
     /**
-     * Evaluates all specimens.
+     * Evaluates all specimens again. Needed only when the evaluator has changed, as every specimen is evaluated 
+     * when it enters the population. Stops early if the budget runs out; specimens not reached keep their previous evaluation.
      */
     public void evaluatePopulation()
     {
-        //TODO
+        for(int start = 0; start < populationSize; start += CHUNK_SIZE)
+        {
+            if(budget.isExhausted(numberOfEvaluations.get()))
+            {
+                return;
+            }
+            int end = Math.min(start + CHUNK_SIZE, populationSize);
+            for(int i = start; i < end; ++i)
+            {
+                population[i].reevaluate(evaluator);
+                considerBest(population[i]);
+            }
+        }
     }
     
+    /**
+     * Will remember the <i>candidate</i> if it is better than the best specimen found so far.
+     * 
+     * @param candidate to be considered
+     */
+    protected void considerBest(final EvaluatedSpecimen candidate)
+    {
+        if(best == null || candidate.getEvaluation() > best.getEvaluation())
+        {
+            best = candidate;
+        }
+    }
+    
+    /**Orders the best specimens first.*/
+    protected static final Comparator<EvaluatedSpecimen> BY_EVALUATION_DESCENDING = new Comparator<EvaluatedSpecimen>()
+    {
+        @Override
+        public int compare(final EvaluatedSpecimen a, final EvaluatedSpecimen b)
+        {
+            return Double.compare(b.getEvaluation(), a.getEvaluation());
+        }
+    };
+    
     protected class EvaluatedSpecimen
     {
         /***/
@@ -262,21 +1631,19 @@ public class Generation
         
         /**
          * @param specimen to be stored 
-         * @param Exemplar to be compared with the stored specimen
-         * 
-         * @throws IncompatibleSpecimensException when the <i>expemplar</i> can not be compared with this Specimen.
+         * @param evaluator to evaluate the stored specimen
          */
-        public EvaluatedSpecimen(final Specimen specimen, final Specimen exemplar) throws IncompatibleSpecimensException
+        public EvaluatedSpecimen(final Specimen specimen, final Evaluator evaluator)
         {
-            assert(specimen != null && exemplar != null);
+            assert(specimen != null && evaluator != null);
             this.specimen = specimen;
-            reevaluate(exemplar);
+            reevaluate(evaluator);
         }
         
         /**
          * Will return currently held evaluation.<br>
          * 
-         * @return percentage of sameness with the exemplar. [0.0d ; 1.0d]
+         * @return fitness of the stored specimen. [0.0d ; 1.0d]
          */
         public double getEvaluation()
         {
@@ -292,16 +1659,196 @@ public class Generation
         }
         
         /**
-         * Will compare this specimen with the given <i>exemplar</i>.<br>
+         * Will evaluate the stored specimen with the given <i>evaluator</i>.<br>
          * Evaluation can be retrieved with {@link EvaluatedSpecimen#getEvaluation}.
          * 
-         * @param exemplar to compare this Specimen with
-         * 
-         * @throws IncompatibleSpecimensException when the <i>expemplar</i> can not be compared with this Specimen.
+         * @param evaluator to be used
          */
-        public void reevaluate(final Specimen exemplar) throws IncompatibleSpecimensException
+        public void reevaluate(final Evaluator evaluator)
         {
-            evaluation = specimen.evaluate(exemplar);
+            evaluation = evaluator.evaluate(specimen);
+            numberOfEvaluations.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Children passed from a breeder to an evaluator at once.
+     */
+    protected static class Batch
+    {
+        /**Tells an evaluator to finish.*/
+        protected static final Batch END = new Batch();
+        
+        /**Bred children.*/
+        protected Specimen[] children = new Specimen[BATCH_SIZE];
+        /**Whether each child was mutated.*/
+        protected boolean[] mutated = new boolean[BATCH_SIZE];
+        /**Evaluation of the better parent of each child.*/
+        protected double[] parentEvaluation = new double[BATCH_SIZE];
+        /**Number of children in this batch.*/
+        protected int size = 0;
+    }
+    
+    /**
+     * Breeds children of the sorted <i>population</i> in the pipelined mode.
+     */
+    protected class Breeder implements Callable<Boolean>
+    {
+        /**To pass batches to evaluators.*/
+        protected BlockingQueue<Batch> queue;
+        /**Number of children to be bred.*/
+        protected int count;
+        /**Creates keys of children, used only by this breeder; null for the crossing built into {@link Specimen#reproduce}.*/
+        protected CrossoverOperator operator;
+        /**Used only by this breeder.*/
+        protected Random rand;
+        
+        /**
+         * @param queue to pass batches to evaluators
+         * @param count of children to be bred
+         * @param operator used only by this breeder, may be null
+         * @param rand used only by this breeder
+         */
+        protected Breeder(final BlockingQueue<Batch> queue, final int count, final CrossoverOperator operator, final Random rand)
+        {
+            this.queue = queue;
+            this.count = count;
+            this.operator = operator;
+            this.rand = rand;
+        }
+        
+        /**
+         * @return false if the budget ran out before all children were bred
+         */
+        @Override
+        public Boolean call() throws InterruptedException
+        {
+            int parents = Math.max(2, Math.min(numberOfParents, populationSize));
+            int bred = 0;
+            while(bred < count)
+            {
+                if(budget.isExhausted(numberOfEvaluations.get()))
+                {
+                    return false;
+                }
+                Batch batch = new Batch();
+                while(batch.size < BATCH_SIZE && bred < count)
+                {
+                    int first = rand.nextInt(parents);
+                    int second = rand.nextInt(parents - 1);
+                    if(second >= first)
+                    {
+                        ++second;
+                    }
+                    boolean mutated = rand.nextDouble() < currentMutationChance;
+                    batch.children[batch.size] = breedChild(population[first].getSpecimen(), population[second].getSpecimen(), 
+                            mutated, operator, rand);
+                    batch.mutated[batch.size] = mutated;
+                    batch.parentEvaluation[batch.size] = Math.max(population[first].getEvaluation(), population[second].getEvaluation());
+                    ++batch.size;
+                    ++bred;
+                }
+                queue.put(batch);
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Evaluates children in the pipelined mode and keeps the best of them.
+     */
+    protected class EvaluationWorker implements Callable<Void>
+    {
+        /**To receive batches from breeders.*/
+        protected BlockingQueue<Batch> queue;
+        /**Number of kept children.*/
+        protected int capacity;
+        /**Best children evaluated by this worker, the worst of them on top.*/
+        protected PriorityQueue<EvaluatedSpecimen> best;
+        /**For each combination of mutated (index 1) or not (index 0), number of children and of children better than both parents.*/
+        protected int[] trials = new int[2];
+        protected int[] successes = new int[2];
+        
+        /**
+         * @param queue to receive batches from breeders
+         * @param capacity number of kept children
+         */
+        protected EvaluationWorker(final BlockingQueue<Batch> queue, final int capacity)
+        {
+            this.queue = queue;
+            this.capacity = capacity;
+            best = new PriorityQueue<EvaluatedSpecimen>(Math.max(1, capacity), Collections.reverseOrder(BY_EVALUATION_DESCENDING));
+        }
+        
+        /**
+         * If an evaluation fails, will keep taking batches until the end, so breeders are never blocked, and then rethrow.
+         */
+        @Override
+        public Void call() throws InterruptedException
+        {
+            RuntimeException failure = null;
+            Batch batch = queue.take();
+            while(batch != Batch.END)
+            {
+                try
+                {
+                    if(failure == null)
+                    {
+                        evaluate(batch);
+                        budget.chargeCpuTime();
+                    }
+                }
+                catch (RuntimeException e)
+                {
+                    failure = e;
+                }
+                batch = queue.take();
+            }
+            if(failure != null)
+            {
+                throw failure;
+            }
+            return null;
+        }
+        
+        /**
+         * @param batch of children to be evaluated
+         */
+        protected void evaluate(final Batch batch)
+        {
+            for(int i = 0; i < batch.size; ++i)
+            {
+                EvaluatedSpecimen child = new EvaluatedSpecimen(batch.children[i], evaluator);
+                int mutated = batch.mutated[i] ? 1 : 0;
+                ++trials[mutated];
+                if(child.getEvaluation() > batch.parentEvaluation[i])
+                {
+                    ++successes[mutated];
+                }
+                if(best.size() < capacity)
+                {
+                    best.add(child);
+                }
+                else if(capacity > 0 && child.getEvaluation() > best.peek().getEvaluation())
+                {
+                    best.poll();
+                    best.add(child);
+                }
+            }
+        }
+        
+        /**
+         * Will pass the recorded results to the adaptive operator control.
+         */
+        protected void replayResults()
+        {
+            for(int mutated = 0; mutated < 2; ++mutated)
+            {
+                for(int i = 0; i < trials[mutated]; ++i)
+                {
+                    adaptiveControl.record(mutated == 1, i < successes[mutated]);
+                }
+            }
         }
     }
 }
@@ -0,0 +1,234 @@
+package evolutionary_algorithm;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import alphabet.Alphabet;
+import key_index.SolvedKeyIndex;
+
+
+public class GenerationTest
+{
+    private static final String MESSAGE = "the letter arrived on a quiet evening when nobody expected any news from the north";
+    
+    /**
+     * Checks every child of the pipelined mode.
+     */
+    private static class CheckedGeneration extends Generation
+    {
+        private int checkedChildren = 0;
+        
+        CheckedGeneration(final Alphabet alphabet, final Random rand)
+        {
+            super(alphabet, rand);
+        }
+        
+        @Override
+        protected boolean breedChildrenPipelined(final int numberOfChildren)
+        {
+            boolean result = super.breedChildrenPipelined(numberOfChildren);
+            for(int i = 0; result && i < numberOfChildren; ++i)
+            {
+                assertPermutation(children[i].getSpecimen());
+                ++checkedChildren;
+            }
+            return result;
+        }
+    }
+    
+    private static void assertPermutation(final Specimen specimen)
+    {
+        int[] sorted = specimen.chromosomes.clone();
+        Arrays.sort(sorted);
+        for(int i = 0; i < sorted.length; ++i)
+        {
+            assertEquals(i, sorted[i]);
+            assertEquals(i, specimen.inversedChromosomes[specimen.chromosomes[i]]);
+        }
+    }
+
+    @Test
+    public void testPipelinedChildrenArePermutations() throws Exception
+    {
+        Alphabet alphabet = new Alphabet("abcdefghijklmnopqrstuvwxyz ");
+        CheckedGeneration generation = new CheckedGeneration(alphabet, new Random(1));
+        generation.setPipelining(3, 2);
+        generation.setCrossoverOperator(new CrossoverOperatorFactory()
+        {
+            @Override
+            public CrossoverOperator createOperator()
+            {
+                return new PartiallyMappedCrossover();
+            }
+        });
+        Specimen best = generation.evolve(200, 1.0d, 30, 0.2d, 0.5d, 0.3d, MESSAGE, null);
+        
+        assertPermutation(best);
+        assertTrue(generation.checkedChildren > 0);
+    }
+    
+    @Test
+    public void testPipelinedModeSolvesMessage() throws Exception
+    {
+        Alphabet alphabet = new Alphabet("abcdefghijklmnopqrstuvwxyz ");
+        Generation generation = new Generation(alphabet, new Random(2));
+        generation.setPipelining(2, 2);
+        generation.evolve(200, 1.0d, 5000, 0.2d, 0.5d, 0.3d, MESSAGE, null);
+        assertEquals(1.0d, generation.getBestEvaluation(), 0.0d);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testSharedOperatorRejectedByBreeders() throws Exception
+    {
+        Generation generation = new Generation(new Alphabet("abcdefghijklmnopqrstuvwxyz "), new Random(3));
+        generation.setPipelining(2, 1);
+        generation.setCrossoverOperator(new OrderCrossover());
+        generation.evolve(50, 1.0d, 5, 0.2d, 0.5d, 0.3d, MESSAGE, null);
+    }
+    
+    @Test
+    public void testFootprintGrowsWithPopulation() throws Exception
+    {
+        Generation generation = new Generation(new Alphabet("abcdefghijklmnopqrstuvwxyz "), new Random(4));
+        long perThousand = generation.estimateMemoryFootprint(2000, 1000) - generation.estimateMemoryFootprint(1000, 1000);
+        //At least two keys of 27 ints for each individual.
+        assertTrue(perThousand > 1000 * 2 * 4 * 27);
+        assertEquals(generation.estimateMemoryFootprint(1000, 1000) + 2 * perThousand, generation.estimateMemoryFootprint(3000, 1000));
+        
+        long separate = generation.estimateMemoryFootprint(1000, 1000);
+        generation.setJointCracking(true);
+        assertEquals(separate + 8 * 27 * 27, generation.estimateMemoryFootprint(1000, 1000));
+    }
+    
+    @Test
+    public void testDiversityTrackedOnlyWhenNeeded() throws Exception
+    {
+        Generation generation = new Generation(new Alphabet("abcdefghijklmnopqrstuvwxyz "), new Random(10));
+        long untracked = generation.estimateMemoryFootprint(0, 1000);
+        generation.evolve(50, 1.0d, 5, 0.2d, 0.5d, 0.3d, MESSAGE, null);
+        assertNull(generation.diversity);
+        
+        generation.setEndgame(4, 0.9d);
+        assertEquals(untracked + 4 * 27 * 27, generation.estimateMemoryFootprint(0, 1000));
+        generation.evolve(50, 1.0d, 5, 0.2d, 0.5d, 0.3d, MESSAGE, null);
+        assertNotNull(generation.diversity);
+        
+        generation.setEndgame(0, 0.9d);
+        generation.setStagnationRestarts(new StagnationRestarts(new LubyRestartPolicy(10), 0.5d, 0, 0.05d));
+        assertEquals(untracked + 4 * 27 * 27, generation.estimateMemoryFootprint(0, 1000));
+        generation.setStagnationRestarts(null);
+        generation.setDiversityTracking(true);
+        assertEquals(untracked + 4 * 27 * 27, generation.estimateMemoryFootprint(0, 1000));
+        generation.setLargeAlphabetMode(true);
+        assertEquals(untracked, generation.estimateMemoryFootprint(0, 1000));
+    }
+    
+    @Test
+    public void testLargeAlphabetHasNoQuadraticCost() throws Exception
+    {
+        StringBuilder symbols = new StringBuilder();
+        for(char c = 0x4E00; c < 0x4E00 + 3000; ++c)
+        {
+            symbols.append(c);
+        }
+        Generation generation = new Generation(new Alphabet(symbols.toString()), new Random(5));
+        generation.setLargeAlphabetMode(true);
+        long withoutPopulation = generation.estimateMemoryFootprint(0, 1000);
+        assertTrue(withoutPopulation < 1L << 20);
+        
+        generation.setMemoryBudget(16L << 20);
+        int populationSize = generation.fitPopulationSize(0, 1000);
+        assertTrue(populationSize > 100);
+    }
+    
+    @Test
+    public void testFitPopulationSize() throws Exception
+    {
+        Generation generation = new Generation(new Alphabet("abcdefghijklmnopqrstuvwxyz "), new Random(6));
+        long budget = generation.estimateMemoryFootprint(5000, 1000);
+        generation.setMemoryBudget(budget);
+        assertEquals(5000, generation.fitPopulationSize(5000, 1000));
+        int automatic = generation.fitPopulationSize(0, 1000);
+        assertTrue(generation.estimateMemoryFootprint(automatic, 1000) <= budget);
+        assertTrue(generation.estimateMemoryFootprint(automatic + 1, 1000) > budget);
+        
+        try
+        {
+            generation.fitPopulationSize(5001, 1000);
+            fail();
+        }
+        catch (InsufficientMemoryException e)
+        {
+            assertEquals(generation.estimateMemoryFootprint(5001, 1000), e.getEstimatedBytes());
+            assertEquals(budget, e.getBudgetBytes());
+        }
+    }
+    
+    @Test(expected = InsufficientMemoryException.class)
+    public void testEvolveFailsBeforeAllocating() throws Exception
+    {
+        Generation generation = new Generation(new Alphabet("abcdefghijklmnopqrstuvwxyz "), new Random(7));
+        generation.setMemoryBudget(1L << 20);
+        generation.evolve(1000000, 1.0d, 10, 0.2d, 0.5d, 0.3d, MESSAGE, null);
+    }
+    
+    @Test(expected = IncorrectPopulationSizeException.class)
+    public void testPopulationOfOneRejected() throws Exception
+    {
+        Generation generation = new Generation(new Alphabet("abcdefghijklmnopqrstuvwxyz "), new Random(8));
+        generation.evolve(1, 1.0d, 10, 0.2d, 0.5d, 0.3d, MESSAGE, null);
+    }
+    
+    @Test(expected = IncorrectMutationChanceException.class)
+    public void testMutationChanceOutOfRangeRejected() throws Exception
+    {
+        Generation generation = new Generation(new Alphabet("abcdefghijklmnopqrstuvwxyz "), new Random(9));
+        generation.evolve(100, 1.0d, 10, 0.2d, 0.5d, 1.5d, MESSAGE, null);
+    }
+    
+    @Test
+    public void testKeyFromIndexReturnedWithoutPopulation() throws Exception
+    {
+        Alphabet alphabet = new Alphabet("abcdefghijklmnopqrstuvwxyz ");
+        SamplingSchedule schedule = new GeometricSamplingSchedule(10, 2.0d, 0.9d);
+        Generation probe = new Generation(alphabet, new Random(10));
+        probe.setSamplingSchedule(schedule);
+        probe.evolve(100, 1.0d, 0, 0.2d, 0.5d, 0.3d, MESSAGE, null);
+        
+        //A key which deciphers the whole message better than its initial sample.
+        Specimen stored = null;
+        for(int i = 0; stored == null && i < alphabet.getAlphabetLength(); ++i)
+        {
+            for(int j = i + 1; stored == null && j < alphabet.getAlphabetLength(); ++j)
+            {
+                int[] chromosomes = probe.exemplar.getChromosomes().clone();
+                chromosomes[i] = probe.exemplar.getChromosomes()[j];
+                chromosomes[j] = probe.exemplar.getChromosomes()[i];
+                Specimen candidate = new Specimen(chromosomes);
+                if(probe.evaluator.evaluate(candidate) < probe.evaluator.verify(candidate))
+                {
+                    stored = candidate;
+                }
+            }
+        }
+        assertNotNull(stored);
+        double desiredEvaluation = probe.evaluator.verify(stored);
+        
+        File file = File.createTempFile("solved", ".idx");
+        file.deleteOnExit();
+        SolvedKeyIndex index = new SolvedKeyIndex(file, 10);
+        index.store(probe.cryptogram, stored.getChromosomes(), desiredEvaluation);
+        
+        Generation generation = new Generation(alphabet, new Random(10));
+        generation.setSamplingSchedule(schedule);
+        generation.setSolvedKeyIndex(index);
+        Specimen best = generation.evolve(100, desiredEvaluation, 1000, 0.2d, 0.5d, 0.3d, MESSAGE, null);
+        assertArrayEquals(stored.getChromosomes(), best.getChromosomes());
+        assertEquals(0, generation.getNumberOfIterations());
+        index.close();
+    }
+}
@@ -0,0 +1,28 @@
+package evolutionary_algorithm;
+
+/**
+ * Patience starts at a given number of generations and is multiplied by a constant factor after every restart.
+ */
+public class GeometricRestartPolicy implements RestartPolicy
+{
+    /**Patience before the first restart.*/
+    protected int initialPatience;
+    /**Factor by which the patience grows. >= 1.0d*/
+    protected double growthFactor;
+    
+    /**
+     * @param initialPatience before the first restart. >= 1
+     * @param growthFactor by which the patience grows. >= 1.0d
+     */
+    public GeometricRestartPolicy(final int initialPatience, final double growthFactor)
+    {
+        this.initialPatience = Math.max(1, initialPatience);
+        this.growthFactor = growthFactor;
+    }
+    
+    @Override
+    public int patience(final int numberOfRestarts)
+    {
+        return (int)Math.min(Integer.MAX_VALUE, Math.ceil(initialPatience * Math.pow(growthFactor, numberOfRestarts)));
+    }
+}
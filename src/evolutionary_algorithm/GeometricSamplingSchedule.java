@@ -0,0 +1,43 @@
+package evolutionary_algorithm;
+
+/**
+ * Multiplies the size of the sample by a constant factor whenever the best specimen 
+ * is evaluated on the current sample with at least the given value.
+ */
+public class GeometricSamplingSchedule implements SamplingSchedule
+{
+    /**Size of the sample in the first generation.*/
+    protected int initialSampleSize;
+    /**Factor by which the sample grows. > 1.0d*/
+    protected double growthFactor;
+    /**Evaluation which has to be achieved on the current sample for it to grow. [0.0d ; 1.0d]*/
+    protected double promotionEvaluation;
+    
+    /**
+     * @param initialSampleSize in the first generation
+     * @param growthFactor by which the sample grows. > 1.0d
+     * @param promotionEvaluation which has to be achieved on the current sample for it to grow. [0.0d ; 1.0d]
+     */
+    public GeometricSamplingSchedule(final int initialSampleSize, final double growthFactor, final double promotionEvaluation)
+    {
+        this.initialSampleSize = Math.max(1, initialSampleSize);
+        this.growthFactor = growthFactor;
+        this.promotionEvaluation = promotionEvaluation;
+    }
+    
+    @Override
+    public int initialSampleSize(final int fullSize)
+    {
+        return Math.min(initialSampleSize, fullSize);
+    }
+    
+    @Override
+    public int nextSampleSize(final int currentSampleSize, final int fullSize, final double bestEvaluation)
+    {
+        if(bestEvaluation < promotionEvaluation)
+        {
+            return currentSampleSize;
+        }
+        return (int)Math.min(fullSize, Math.ceil(currentSampleSize * growthFactor));
+    }
+}
@@ -0,0 +1,18 @@
+package evolutionary_algorithm;
+
+/**
+ * When a crib does not fit the cryptogram or contradicts another crib.
+ */
+public class IncorrectCribException extends Exception
+{
+    /***/
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * @param description of the problem
+     */
+    public IncorrectCribException(final String description)
+    {
+        super(description);
+    }
+}
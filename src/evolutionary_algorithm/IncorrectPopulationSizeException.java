@@ -0,0 +1,11 @@
+package evolutionary_algorithm;
+
+/**
+ * When the 'populationSize' parameter from {@link Generation#evolve} is lower than 2, so no pair of parents can be chosen
+ */
+public class IncorrectPopulationSizeException extends Exception
+{
+    /***/
+    private static final long serialVersionUID = 1L;
+
+}
@@ -0,0 +1,45 @@
+package evolutionary_algorithm;
+
+/**
+ * When the estimated memory footprint of a run does not fit the memory budget.
+ * Thrown before the population is created, so the run fails fast instead of running out of memory midway.
+ */
+public class InsufficientMemoryException extends Exception
+{
+    /***/
+    private static final long serialVersionUID = 1L;
+    
+    /**Estimated footprint of the run in bytes.*/
+    private final long estimatedBytes;
+    /**Memory budget in bytes.*/
+    private final long budgetBytes;
+    
+    /**
+     * @param populationSize which does not fit
+     * @param estimatedBytes footprint of the run
+     * @param budgetBytes memory budget
+     */
+    public InsufficientMemoryException(final int populationSize, final long estimatedBytes, final long budgetBytes)
+    {
+        super("A population of " + populationSize + " needs about " + (estimatedBytes >> 20) + " MB (" + estimatedBytes 
+                + " bytes), the memory budget is " + (budgetBytes >> 20) + " MB (" + budgetBytes + " bytes)");
+        this.estimatedBytes = estimatedBytes;
+        this.budgetBytes = budgetBytes;
+    }
+    
+    /**
+     * @return estimated footprint of the run in bytes
+     */
+    public long getEstimatedBytes()
+    {
+        return estimatedBytes;
+    }
+    
+    /**
+     * @return memory budget in bytes
+     */
+    public long getBudgetBytes()
+    {
+        return budgetBytes;
+    }
+}
@@ -0,0 +1,43 @@
+package evolutionary_algorithm;
+
+/**
+ * Patience follows the Luby sequence (1, 1, 2, 1, 1, 2, 4, 1, 1, 2, ...) multiplied by a unit.
+ */
+public class LubyRestartPolicy implements RestartPolicy
+{
+    /**Number of generations corresponding to 1 in the Luby sequence.*/
+    protected int unit;
+    
+    /**
+     * @param unit number of generations corresponding to 1 in the Luby sequence. >= 1
+     */
+    public LubyRestartPolicy(final int unit)
+    {
+        this.unit = Math.max(1, unit);
+    }
+    
+    @Override
+    public int patience(final int numberOfRestarts)
+    {
+        long patience = unit * luby(numberOfRestarts + 1);
+        return (int)Math.min(Integer.MAX_VALUE, patience);
+    }
+    
+    /**
+     * @param i index in the sequence, starting from 1
+     * 
+     * @return i element of the Luby sequence
+     */
+    protected static long luby(long i)
+    {
+        while(true)
+        {
+            int k = 64 - Long.numberOfLeadingZeros(i);
+            if(i == (1L << k) - 1)
+            {
+                return 1L << (k - 1);
+            }
+            i -= (1L << (k - 1)) - 1;
+        }
+    }
+}
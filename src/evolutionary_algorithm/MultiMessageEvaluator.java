@@ -0,0 +1,125 @@
+package evolutionary_algorithm;
+
+/**
+ * Evaluates Specimens by the percentage of characters they decipher correctly in many cryptograms encoded with the same key.<br>
+ * All messages are merged into one table counting how often each cryptogram character stands for each message character,
+ * so the cost of one evaluation depends only on the length of the alphabet, not on the number or length of the messages.<br>
+ * Messages can be added while the algorithm is running.
+ */
+public class MultiMessageEvaluator implements DecomposableEvaluator
+{
+    /**Length of the alphabet used by the messages.*/
+    protected int alphabetLength;
+    /**Current merged statistics, replaced as a whole whenever a message is added.*/
+    protected volatile Aggregate aggregate;
+    /**Aggregate used in the previous generation.*/
+    protected Aggregate lastGenerationAggregate;
+    
+    /**
+     * @param alphabetLength of the alphabet used by the messages
+     */
+    public MultiMessageEvaluator(final int alphabetLength)
+    {
+        this.alphabetLength = alphabetLength;
+        aggregate = new Aggregate(new int[alphabetLength * alphabetLength], 0);
+        lastGenerationAggregate = aggregate;
+    }
+    
+    /**
+     * Will merge the given message into the statistics. May be called from any thread.
+     * 
+     * @param message in the form of an array of alphabet indexes
+     * @param cryptogram of the <i>message</i>
+     */
+    public synchronized void addMessage(final int[] message, final int[] cryptogram)
+    {
+        assert(message.length == cryptogram.length);
+        int[] counts = aggregate.counts.clone();
+        for(int i = 0; i < message.length; ++i)
+        {
+            ++counts[cryptogram[i] * alphabetLength + message[i]];
+        }
+        aggregate = new Aggregate(counts, aggregate.numberOfCharacters + message.length);
+    }
+    
+    /**
+     * @return number of characters in all merged messages
+     */
+    public long getNumberOfCharacters()
+    {
+        return aggregate.numberOfCharacters;
+    }
+    
+    /**
+     * @return percentage of correctly deciphered characters in all merged messages. [0.0d ; 1.0d]
+     */
+    @Override
+    public double evaluate(final Specimen specimen)
+    {
+        Aggregate current = aggregate;
+        if(current.numberOfCharacters == 0)
+        {
+            return 1.0d;
+        }
+        int[] key = specimen.chromosomes;
+        long correct = 0;
+        for(int i = 0; i < key.length; ++i)
+        {
+            correct += current.counts[key[i] * alphabetLength + i];
+        }
+        return ((double)correct) / current.numberOfCharacters;
+    }
+    
+    /**
+     * @return share of all merged characters equal to the <i>position</i> which are correctly deciphered when it holds the <i>value</i>
+     */
+    @Override
+    public double positionScore(final int position, final int value)
+    {
+        Aggregate current = aggregate;
+        if(current.numberOfCharacters == 0)
+        {
+            return 0.0d;
+        }
+        return ((double)current.counts[value * alphabetLength + position]) / current.numberOfCharacters;
+    }
+    
+    @Override
+    public double verify(final Specimen specimen)
+    {
+        return evaluate(specimen);
+    }
+    
+    /**
+     * @return whether messages have been added since the previous generation
+     */
+    @Override
+    public boolean newGeneration(final double bestEvaluation)
+    {
+        Aggregate current = aggregate;
+        boolean changed = current != lastGenerationAggregate;
+        lastGenerationAggregate = current;
+        return changed;
+    }
+    
+    /**
+     * Immutable merged statistics of all messages.
+     */
+    protected static class Aggregate
+    {
+        /**Under index of cryptogramCharacter * alphabetLength + messageCharacter, number of times they were aligned.*/
+        protected final int[] counts;
+        /**Sum of <i>counts</i>.*/
+        protected final long numberOfCharacters;
+        
+        /**
+         * @param counts of aligned characters
+         * @param numberOfCharacters sum of the <i>counts</i>
+         */
+        protected Aggregate(final int[] counts, final long numberOfCharacters)
+        {
+            this.counts = counts;
+            this.numberOfCharacters = numberOfCharacters;
+        }
+    }
+}
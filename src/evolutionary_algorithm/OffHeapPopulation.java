@@ -0,0 +1,223 @@
+package evolutionary_algorithm;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Random;
+
+/**
+ * Population of keys and their evaluations held outside of the Java heap, in direct buffers.<br>
+ * Each key takes 2 bytes per chromosome, so alphabets of up to 65536 characters are supported. 
+ * Keys are split into segments of at most {@link OffHeapPopulation#MAX_SEGMENT_BYTES} bytes, 
+ * so the size of the population is limited only by the available native memory.<br>
+ * Keys of different individuals can be written from different threads at the same time.
+ */
+public class OffHeapPopulation
+{
+    /**Maximum size of one segment of keys.*/
+    protected static final int MAX_SEGMENT_BYTES = 1 << 30;
+    
+    /**Number of individuals.*/
+    protected int size;
+    /**Number of chromosomes of each key.*/
+    protected int numberOfChromosomes;
+    /**Number of keys in every segment.*/
+    protected int individualsPerSegment;
+    /**Chromosomes of all keys, key after key.*/
+    protected CharBuffer[] segments;
+    /**Evaluation of every individual.*/
+    protected DoubleBuffer evaluations;
+    
+    /**
+     * @param size number of individuals. >= 1
+     * @param numberOfChromosomes of each key. [1 ; 65536]
+     */
+    public OffHeapPopulation(final int size, final int numberOfChromosomes)
+    {
+        if(size < 1 || numberOfChromosomes < 1 || numberOfChromosomes > 65536)
+        {
+            throw new IllegalArgumentException("Unsupported population of " + size + " keys of " + numberOfChromosomes + " chromosomes.");
+        }
+        this.size = size;
+        this.numberOfChromosomes = numberOfChromosomes;
+        individualsPerSegment = Math.min(size, MAX_SEGMENT_BYTES / (2 * numberOfChromosomes));
+        segments = new CharBuffer[(size + individualsPerSegment - 1) / individualsPerSegment];
+        for(int s = 0; s < segments.length; ++s)
+        {
+            int individuals = Math.min(individualsPerSegment, size - s * individualsPerSegment);
+            segments[s] = ByteBuffer.allocateDirect(2 * individuals * numberOfChromosomes).order(ByteOrder.nativeOrder()).asCharBuffer();
+        }
+        evaluations = ByteBuffer.allocateDirect(8 * size).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+    
+    /**
+     * @return number of individuals
+     */
+    public int size()
+    {
+        return size;
+    }
+    
+    /**
+     * @return number of chromosomes of each key
+     */
+    public int getNumberOfChromosomes()
+    {
+        return numberOfChromosomes;
+    }
+    
+    /**
+     * @param individual index of the individual
+     * @param position of the chromosome
+     * 
+     * @return value of the chromosome
+     */
+    public int get(final int individual, final int position)
+    {
+        return segments[individual / individualsPerSegment].get((individual % individualsPerSegment) * numberOfChromosomes + position);
+    }
+    
+    /**
+     * @param individual index of the individual
+     * @param position of the chromosome
+     * @param value of the chromosome
+     */
+    public void set(final int individual, final int position, final int value)
+    {
+        segments[individual / individualsPerSegment].put((individual % individualsPerSegment) * numberOfChromosomes + position, (char)value);
+    }
+    
+    /**
+     * @param individual index of the individual
+     * 
+     * @return evaluation of the individual
+     */
+    public double getEvaluation(final int individual)
+    {
+        return evaluations.get(individual);
+    }
+    
+    /**
+     * @param individual index of the individual
+     * @param evaluation of the individual
+     */
+    public void setEvaluation(final int individual, final double evaluation)
+    {
+        evaluations.put(individual, evaluation);
+    }
+    
+    /**
+     * Will write a random permutation to the key of the <i>individual</i>.
+     * 
+     * @param individual index of the individual
+     * @param rand for randomization
+     */
+    public void randomize(final int individual, final Random rand)
+    {
+        CharBuffer segment = segments[individual / individualsPerSegment];
+        int offset = (individual % individualsPerSegment) * numberOfChromosomes;
+        for(int i = 0; i < numberOfChromosomes; ++i)
+        {
+            int j = rand.nextInt(i + 1);
+            segment.put(offset + i, segment.get(offset + j));
+            segment.put(offset + j, (char)i);
+        }
+    }
+    
+    /**
+     * Will copy the key and evaluation of the <i>individual</i> to the individual <i>target</i> of the <i>destination</i>.
+     * 
+     * @param individual index of the copied individual
+     * @param destination population of keys of the same length
+     * @param target index of the individual in the <i>destination</i>
+     */
+    public void copy(final int individual, final OffHeapPopulation destination, final int target)
+    {
+        for(int i = 0; i < numberOfChromosomes; ++i)
+        {
+            destination.set(target, i, get(individual, i));
+        }
+        destination.setEvaluation(target, getEvaluation(individual));
+    }
+    
+    /**
+     * @param individual index of the individual
+     * @param key array of <i>numberOfChromosomes</i> to receive the key of the individual
+     */
+    public void read(final int individual, final int[] key)
+    {
+        for(int i = 0; i < numberOfChromosomes; ++i)
+        {
+            key[i] = get(individual, i);
+        }
+    }
+    
+    /**
+     * Will cross keys of two individuals of the <i>parents</i> population into the key of the <i>child</i>. 
+     * Positions where both parents hold the same value keep it with the given probability; 
+     * values of the other positions are randomly shuffled among them.
+     * 
+     * @param parents population holding the parents
+     * @param first index of the first parent
+     * @param second index of the second parent
+     * @param child index of the individual of this population receiving the key
+     * @param equalValuesStayProbability with which equal values are passed on to the child untouched. [0.0d ; 1.0d]
+     * @param scratch array of at least 2 * <i>numberOfChromosomes</i> used only by the calling thread
+     * @param rand for randomization
+     */
+    public void cross(final OffHeapPopulation parents, final int first, final int second, final int child, 
+            final double equalValuesStayProbability, final int[] scratch, final Random rand)
+    {
+        int empty = 0;
+        for(int i = 0; i < numberOfChromosomes; ++i)
+        {
+            int value = parents.get(first, i);
+            if(value == parents.get(second, i) && rand.nextDouble() <= equalValuesStayProbability)
+            {
+                set(child, i, value);
+            }
+            else
+            {
+                scratch[empty] = i;
+                //The values of the first parent at empty positions are exactly the values missing in the child.
+                scratch[numberOfChromosomes + empty] = value;
+                ++empty;
+            }
+        }
+        for(int e = 0; e < empty; ++e)
+        {
+            int j = e + rand.nextInt(empty - e);
+            int value = scratch[numberOfChromosomes + j];
+            scratch[numberOfChromosomes + j] = scratch[numberOfChromosomes + e];
+            set(child, scratch[e], value);
+        }
+    }
+    
+    /**
+     * Will swap two random chromosomes of the key of the <i>individual</i> <i>numberOfSwaps</i> times.
+     * 
+     * @param individual index of the individual
+     * @param numberOfSwaps to be performed
+     * @param rand for randomization
+     */
+    public void mutate(final int individual, final int numberOfSwaps, final Random rand)
+    {
+        if(numberOfChromosomes <= 1)
+        {
+            return;
+        }
+        for(int s = 0; s < numberOfSwaps; ++s)
+        {
+            int first = rand.nextInt(numberOfChromosomes);
+            int second = rand.nextInt(numberOfChromosomes - 1);
+            if(second >= first)
+            {
+                ++second;
+            }
+            int tmp = get(individual, first);
+            set(individual, first, get(individual, second));
+            set(individual, second, tmp);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package evolutionary_algorithm;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+
+public class OffHeapPopulationTest
+{
+    private static final int SIZE = 50;
+    private static final int CHROMOSOMES = 30;
+    
+    private static void assertPermutation(final OffHeapPopulation population, final int individual)
+    {
+        boolean[] seen = new boolean[population.getNumberOfChromosomes()];
+        for(int i = 0; i < seen.length; ++i)
+        {
+            int value = population.get(individual, i);
+            assertTrue(value >= 0 && value < seen.length);
+            assertFalse(seen[value]);
+            seen[value] = true;
+        }
+    }
+    
+    @Test
+    public void testRandomizeCreatesPermutations()
+    {
+        OffHeapPopulation population = new OffHeapPopulation(SIZE, CHROMOSOMES);
+        Random rand = new Random(1);
+        for(int i = 0; i < SIZE; ++i)
+        {
+            population.randomize(i, rand);
+            assertPermutation(population, i);
+        }
+    }
+    
+    @Test
+    public void testCrossAndMutateKeepPermutations()
+    {
+        OffHeapPopulation parents = new OffHeapPopulation(SIZE, CHROMOSOMES);
+        OffHeapPopulation children = new OffHeapPopulation(SIZE, CHROMOSOMES);
+        Random rand = new Random(2);
+        for(int i = 0; i < SIZE; ++i)
+        {
+            parents.randomize(i, rand);
+        }
+        //Parents sharing most of their values exercise the positions kept from both of them.
+        parents.copy(0, parents, 1);
+        parents.mutate(1, 3, rand);
+        int[] scratch = new int[2 * CHROMOSOMES];
+        for(double stayProbability : new double[] {0.0d, 0.5d, 1.0d})
+        {
+            for(int i = 0; i < SIZE; ++i)
+            {
+                int first = i < 2 ? 0 : rand.nextInt(SIZE);
+                int second = i < 2 ? 1 : rand.nextInt(SIZE);
+                children.cross(parents, first, second, i, stayProbability, scratch, rand);
+                assertPermutation(children, i);
+                children.mutate(i, 1 + rand.nextInt(5), rand);
+                assertPermutation(children, i);
+            }
+        }
+    }
+    
+    @Test
+    public void testCrossOfEqualParentsCopiesThem()
+    {
+        OffHeapPopulation parents = new OffHeapPopulation(2, CHROMOSOMES);
+        OffHeapPopulation children = new OffHeapPopulation(1, CHROMOSOMES);
+        Random rand = new Random(3);
+        parents.randomize(0, rand);
+        parents.copy(0, parents, 1);
+        children.cross(parents, 0, 1, 0, 1.0d, new int[2 * CHROMOSOMES], rand);
+        for(int i = 0; i < CHROMOSOMES; ++i)
+        {
+            assertEquals(parents.get(0, i), children.get(0, i));
+        }
+    }
+}
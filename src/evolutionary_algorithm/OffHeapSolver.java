@@ -0,0 +1,417 @@
+package evolutionary_algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import alphabet.Alphabet;
+import alphabet.UnknownCharacterException;
+import randomizer.BlockRandom;
+
+/**
+ * Genetic algorithm for populations too large to be held as one {@link Specimen} per individual.<br>
+ * Keys and evaluations live in two {@link OffHeapPopulation}s, the current and the next generation, 
+ * which swap roles after every generation and are reused by following runs of the same size. 
+ * Crossover, mutation and evaluation read and write the buffers directly, so the heap usage does not depend on the population size.<br>
+ * Parents are chosen by tournaments, which do not need the population to be sorted, and the best individual always survives.
+ * Keys are scored position by position with {@link DecomposableEvaluator#positionScore}, read straight from the buffers; 
+ * by default with a {@link SparseAlignmentEvaluator}, i.e. by the percentage of correctly deciphered characters of the message.
+ */
+public class OffHeapSolver implements Solver
+{
+    /**Used by this class.*/
+    protected Alphabet alphabet;
+    /***/
+    protected Random rand;
+    /**Number of individuals in every generation.*/
+    protected int populationSize = 1000000;
+    /**Number of individuals competing for being a parent.*/
+    protected int tournamentSize = 32;
+    /**Chance with which each child is subject to mutation.*/
+    protected double mutationChance = 0.3d;
+    /**Number of swaps performed by one mutation.*/
+    protected int numberOfSwaps = 1;
+    /**Probability with which values equal in both parents are passed on to the child.*/
+    protected double equalValuesStayProbability = Generation.DEFAULT_EQUAL_VALUES_STAY_PROBABILITY;
+    /**Maximum number of generations of one run.*/
+    protected int maxNumberOfIterations = 1000;
+    /**Number of threads breeding and evaluating children.*/
+    protected int numberOfThreads = Runtime.getRuntime().availableProcessors();
+    /**Limits resources spent by one run. Unlimited by default.*/
+    protected Budget budget = new Budget();
+    /**Creates the evaluator of every run, null for the built-in fitness.*/
+    protected EvaluatorFactory evaluatorFactory = null;
+    
+    /**Current and next generation, kept for following runs.*/
+    protected OffHeapPopulation current;
+    protected OffHeapPopulation next;
+    /**Encoded message of the current run.*/
+    protected int[] cryptogram;
+    /**Scores positions of keys in the current run.*/
+    protected DecomposableEvaluator evaluator;
+    /**Key of the best individual found so far and its evaluation.*/
+    protected int[] bestKey;
+    protected double bestEvaluation;
+    /**Number of generations processed in the last run.*/
+    protected int iteration;
+    /**Number of evaluations performed in the last run, updated after every generation.*/
+    protected volatile long numberOfEvaluations;
+    
+    /**
+     * @param alphabet to be used
+     * @param rand for randomization
+     */
+    public OffHeapSolver(final Alphabet alphabet, final Random rand)
+    {
+        this.alphabet = alphabet;
+        this.rand = rand;
+    }
+    
+    /**
+     * @param populationSize number of individuals in every generation. >= 2
+     * @param tournamentSize number of individuals competing for being a parent. >= 1
+     */
+    public void setPopulation(final int populationSize, final int tournamentSize)
+    {
+        this.populationSize = populationSize;
+        this.tournamentSize = tournamentSize;
+    }
+    
+    /**
+     * @param mutationChance with which each child is subject to mutation. [0.0d ; 1.0d]
+     * @param numberOfSwaps performed by one mutation. >= 1
+     * @param equalValuesStayProbability with which values equal in both parents are passed on to the child. [0.0d ; 1.0d]
+     */
+    public void setReproduction(final double mutationChance, final int numberOfSwaps, final double equalValuesStayProbability)
+    {
+        this.mutationChance = mutationChance;
+        this.numberOfSwaps = numberOfSwaps;
+        this.equalValuesStayProbability = equalValuesStayProbability;
+    }
+    
+    /**
+     * @param maxNumberOfIterations maximum number of generations of one run
+     */
+    public void setMaxNumberOfIterations(final int maxNumberOfIterations)
+    {
+        this.maxNumberOfIterations = maxNumberOfIterations;
+    }
+    
+    /**
+     * @param numberOfThreads breeding and evaluating children. >= 1
+     */
+    public void setNumberOfThreads(final int numberOfThreads)
+    {
+        this.numberOfThreads = numberOfThreads;
+    }
+    
+    /**
+     * @param budget limiting resources spent by one run
+     */
+    public void setBudget(final Budget budget)
+    {
+        this.budget = budget;
+    }
+    
+    /**
+     * Replaces the built-in fitness by evaluators created for the cryptogram of every run. 
+     * Keys are never turned into {@link Specimen}s, so the evaluators must be {@link DecomposableEvaluator}s; 
+     * workers score keys concurrently, so they must be safe to use by several threads.
+     * 
+     * @param evaluatorFactory creating a {@link DecomposableEvaluator} for every run, or null for the built-in fitness
+     */
+    public void setEvaluatorFactory(final EvaluatorFactory evaluatorFactory)
+    {
+        this.evaluatorFactory = evaluatorFactory;
+    }
+    
+    /**
+     * @return number of evaluations performed in the last run
+     */
+    public long getNumberOfEvaluations()
+    {
+        return numberOfEvaluations;
+    }
+    
+    /**
+     * @return number of generations processed in the last run
+     */
+    public int getNumberOfIterations()
+    {
+        return iteration;
+    }
+    
+    /**
+     * @exception IllegalArgumentException if the evaluator factory creates an evaluator which is not a {@link DecomposableEvaluator}
+     */
+    @Override
+    public Specimen solve(final String message, final double desiredEvaluation, final Statistics statistics) 
+            throws UnknownCharacterException
+    {
+        budget.start();
+        prepareMessage(message);
+        preparePopulations();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        try
+        {
+            runWorkers(executor, true);
+            iteration = 0;
+            numberOfEvaluations = populationSize;
+            generateStatistics(statistics);
+            //Sums of position scores may be off by rounding errors, so the best key is verified as a whole.
+            while(iteration < maxNumberOfIterations && !budget.isExhausted(numberOfEvaluations) 
+                    && evaluator.verify(new Specimen(bestKey.clone())) < desiredEvaluation)
+            {
+                if(!runWorkers(executor, false))
+                {
+                    break;
+                }
+                OffHeapPopulation swap = current;
+                current = next;
+                next = swap;
+                numberOfEvaluations += populationSize - 1;
+                ++iteration;
+                generateStatistics(statistics);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e)
+        {
+            throw new RuntimeException(e.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        return new Specimen(bestKey.clone());
+    }
+    
+    /**
+     * Will cipher the <i>message</i> with a random key and create the evaluator.
+     * 
+     * @throws UnknownCharacterException if an unknown character is found in the <i>message</i>.
+     * 
+     * @exception IllegalArgumentException if the evaluator factory creates an evaluator which is not a {@link DecomposableEvaluator}
+     */
+    protected void prepareMessage(final String message) throws UnknownCharacterException
+    {
+        Specimen exemplar = new Specimen(alphabet.getAlphabetLength(), rand);
+        int[] plain = alphabet.convert(message);
+        cryptogram = plain.clone();
+        exemplar.encode(cryptogram);
+        if(evaluatorFactory == null)
+        {
+            evaluator = new SparseAlignmentEvaluator(plain, cryptogram);
+            return;
+        }
+        Evaluator created = evaluatorFactory.createEvaluator(cryptogram);
+        if(!(created instanceof DecomposableEvaluator))
+        {
+            throw new IllegalArgumentException("OffHeapSolver needs a DecomposableEvaluator.");
+        }
+        evaluator = (DecomposableEvaluator)created;
+    }
+    
+    /**
+     * Will allocate the populations unless the ones of the previous run fit.
+     */
+    protected void preparePopulations()
+    {
+        int alphabetLength = alphabet.getAlphabetLength();
+        if(current == null || current.size() != populationSize || current.getNumberOfChromosomes() != alphabetLength)
+        {
+            current = null;
+            next = null;
+            current = new OffHeapPopulation(populationSize, alphabetLength);
+            next = new OffHeapPopulation(populationSize, alphabetLength);
+        }
+        bestKey = new int[alphabetLength];
+        bestEvaluation = -1.0d;
+    }
+    
+    /**
+     * @param population holding the individual
+     * @param individual to be evaluated
+     * 
+     * @return sum of the position scores of the key of the <i>individual</i>. [0.0d ; 1.0d]
+     */
+    protected double evaluate(final OffHeapPopulation population, final int individual)
+    {
+        double evaluation = 0.0d;
+        for(int i = 0; i < population.getNumberOfChromosomes(); ++i)
+        {
+            evaluation += evaluator.positionScore(i, population.get(individual, i));
+        }
+        return evaluation;
+    }
+    
+    /**
+     * Will fill the current population with random keys, or the next one with children of the current one, 
+     * and record the best individual.
+     * 
+     * @param initial whether the current population is to be filled with random keys
+     * 
+     * @return false if the budget ran out before the population was filled
+     */
+    protected boolean runWorkers(final ExecutorService executor, final boolean initial) throws InterruptedException, ExecutionException
+    {
+        int numberOfWorkers = Math.max(1, Math.min(numberOfThreads, populationSize / Generation.CHUNK_SIZE));
+        List<Worker> workers = new ArrayList<Worker>();
+        for(int w = 0; w < numberOfWorkers; ++w)
+        {
+            long start = (long)populationSize * w / numberOfWorkers;
+            long end = (long)populationSize * (w + 1) / numberOfWorkers;
+            workers.add(new Worker((int)start, (int)end, initial, new BlockRandom(rand.nextLong())));
+        }
+        boolean completed = true;
+        for(Future<Void> future : executor.invokeAll(workers))
+        {
+            future.get();
+        }
+        OffHeapPopulation filled = initial ? current : next;
+        for(Worker worker : workers)
+        {
+            completed &= worker.completed;
+            if(worker.bestIndividual >= 0 && worker.bestEvaluation > bestEvaluation)
+            {
+                bestEvaluation = worker.bestEvaluation;
+                filled.read(worker.bestIndividual, bestKey);
+            }
+        }
+        return completed;
+    }
+    
+    /**
+     * @return index of the winner of a tournament in the current population
+     */
+    protected int tournament(final Random rand)
+    {
+        int winner = rand.nextInt(populationSize);
+        for(int i = 1; i < tournamentSize; ++i)
+        {
+            int candidate = rand.nextInt(populationSize);
+            if(current.getEvaluation(candidate) > current.getEvaluation(winner))
+            {
+                winner = candidate;
+            }
+        }
+        return winner;
+    }
+    
+    /**
+     * Sends the message deciphered by the best key, its evaluation, mean and worst evaluation of the current population to the <i>statistics</i>.
+     * 
+     * @param statistics to receive data, may be null
+     */
+    protected void generateStatistics(final Statistics statistics)
+    {
+        if(statistics == null)
+        {
+            return;
+        }
+        double sum = 0.0d;
+        double worst = 1.0d;
+        for(int i = 0; i < populationSize; ++i)
+        {
+            sum += current.getEvaluation(i);
+            worst = Math.min(worst, current.getEvaluation(i));
+        }
+        int[] text = cryptogram.clone();
+        new Specimen(bestKey.clone()).decode(text);
+        try
+        {
+            statistics.newGeneration(alphabet.convert(text), bestEvaluation, sum / populationSize, worst);
+        }
+        catch (UnknownCharacterException e)
+        {
+            throw new RuntimeException("Impossible! The cryptogram has been created with the same alphabet.");
+        }
+    }
+    
+    /**
+     * Fills a range of a population and remembers the best individual of it.
+     */
+    protected class Worker implements Callable<Void>
+    {
+        /**Range of individuals filled by this worker.*/
+        protected int start;
+        protected int end;
+        /**Whether random keys are written to the current population instead of children to the next one.*/
+        protected boolean initial;
+        /**Used only by this worker.*/
+        protected Random rand;
+        /**Best individual of the range, -1 before any was evaluated, and its evaluation.*/
+        protected int bestIndividual = -1;
+        protected double bestEvaluation = -1.0d;
+        /**Whether the whole range was filled before the budget ran out.*/
+        protected boolean completed = false;
+        
+        /**
+         * @param start first individual of the range
+         * @param end individual after the last one of the range
+         * @param initial whether random keys are written to the current population instead of children to the next one
+         * @param rand used only by this worker
+         */
+        protected Worker(final int start, final int end, final boolean initial, final Random rand)
+        {
+            this.start = start;
+            this.end = end;
+            this.initial = initial;
+            this.rand = rand;
+        }
+        
+        @Override
+        public Void call()
+        {
+            int[] scratch = new int[2 * alphabet.getAlphabetLength()];
+            OffHeapPopulation population = initial ? current : next;
+            for(int i = start; i < end; ++i)
+            {
+                if((i - start) % Generation.CHUNK_SIZE == 0 && !initial && budget.isExhausted(numberOfEvaluations))
+                {
+                    return null;
+                }
+                if(i == 0 && !initial)
+                {
+                    //The best individual always survives.
+                    for(int c = 0; c < bestKey.length; ++c)
+                    {
+                        population.set(0, c, bestKey[c]);
+                    }
+                    population.setEvaluation(0, OffHeapSolver.this.bestEvaluation);
+                    continue;
+                }
+                if(initial)
+                {
+                    population.randomize(i, rand);
+                }
+                else
+                {
+                    population.cross(current, tournament(rand), tournament(rand), i, equalValuesStayProbability, scratch, rand);
+                    if(rand.nextDouble() < mutationChance)
+                    {
+                        population.mutate(i, numberOfSwaps, rand);
+                    }
+                }
+                double evaluation = evaluate(population, i);
+                population.setEvaluation(i, evaluation);
+                if(evaluation > bestEvaluation)
+                {
+                    bestIndividual = i;
+                    bestEvaluation = evaluation;
+                }
+            }
+            completed = true;
+            return null;
+        }
+    }
+}
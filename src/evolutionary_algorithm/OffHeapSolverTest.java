@@ -0,0 +1,119 @@
+package evolutionary_algorithm;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import alphabet.Alphabet;
+
+
+public class OffHeapSolverTest
+{
+    private static final String MESSAGE = "the letter arrived on a quiet evening when nobody expected any news from the north";
+    
+    @Test
+    public void testDefaultEvaluationIsShareOfDecipheredCharacters() throws Exception
+    {
+        Alphabet alphabet = new Alphabet("abcdefghijklmnopqrstuvwxyz ");
+        OffHeapSolver solver = new OffHeapSolver(alphabet, new Random(1));
+        solver.prepareMessage(MESSAGE);
+        int[] plaintext = alphabet.convert(MESSAGE);
+        OffHeapPopulation population = new OffHeapPopulation(20, 27);
+        Random rand = new Random(5);
+        int[] key = new int[27];
+        for(int i = 0; i < population.size(); ++i)
+        {
+            population.randomize(i, rand);
+            population.read(i, key);
+            int[] text = solver.cryptogram.clone();
+            new Specimen(key.clone()).decode(text);
+            int correct = 0;
+            for(int c = 0; c < text.length; ++c)
+            {
+                correct += text[c] == plaintext[c] ? 1 : 0;
+            }
+            assertEquals(((double)correct) / text.length, solver.evaluate(population, i), 1e-12);
+        }
+    }
+    
+    @Test
+    public void testEvaluatesWithPositionScoresOfFactory() throws Exception
+    {
+        OffHeapSolver solver = new OffHeapSolver(new Alphabet("abcdefghijklmnopqrstuvwxyz "), new Random(2));
+        solver.setPopulation(1000, 8);
+        solver.setMaxNumberOfIterations(3);
+        solver.setEvaluatorFactory(new EvaluatorFactory()
+        {
+            @Override
+            public Evaluator createEvaluator(final int[] cryptogram)
+            {
+                //Scores keys only by the value at the position 5.
+                return new DecomposableEvaluator()
+                {
+                    @Override
+                    public double positionScore(final int position, final int value)
+                    {
+                        return position == 5 && value == 0 ? 1.0d : 0.0d;
+                    }
+                    
+                    @Override
+                    public double evaluate(final Specimen specimen)
+                    {
+                        return positionScore(5, specimen.getChromosomes()[5]);
+                    }
+                    
+                    @Override
+                    public double verify(final Specimen specimen)
+                    {
+                        return evaluate(specimen);
+                    }
+                    
+                    @Override
+                    public boolean newGeneration(final double bestEvaluation)
+                    {
+                        return false;
+                    }
+                };
+            }
+        });
+        solver.solve(MESSAGE, 1.1d, null);
+        assertEquals(0, solver.bestKey[5]);
+        assertEquals(1.0d, solver.bestEvaluation, 0.0d);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsEvaluatorWithoutPositionScores() throws Exception
+    {
+        OffHeapSolver solver = new OffHeapSolver(new Alphabet("abcdefghijklmnopqrstuvwxyz "), new Random(4));
+        solver.setPopulation(100, 4);
+        solver.setEvaluatorFactory(new EvaluatorFactory()
+        {
+            @Override
+            public Evaluator createEvaluator(final int[] cryptogram)
+            {
+                return new Evaluator()
+                {
+                    @Override
+                    public double evaluate(final Specimen specimen)
+                    {
+                        return 0.0d;
+                    }
+                    
+                    @Override
+                    public double verify(final Specimen specimen)
+                    {
+                        return 0.0d;
+                    }
+                    
+                    @Override
+                    public boolean newGeneration(final double bestEvaluation)
+                    {
+                        return false;
+                    }
+                };
+            }
+        });
+        solver.solve(MESSAGE, 1.0d, null);
+    }
+}
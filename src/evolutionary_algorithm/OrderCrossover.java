@@ -0,0 +1,46 @@
+package evolutionary_algorithm;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * OX: the child takes a random segment from the first parent; the remaining positions, starting after the segment,
+ * are filled with the missing values in the order in which they follow the segment in the second parent.
+ */
+public class OrderCrossover implements CrossoverOperator
+{
+    /**Under index of a value, whether it has been put into the child.*/
+    private boolean[] used = new boolean[0];
+    
+    @Override
+    public void cross(final int[] first, final int[] second, final int[] child, final Random rand)
+    {
+        int length = first.length;
+        if(used.length != length)
+        {
+            used = new boolean[length];
+        }
+        else
+        {
+            Arrays.fill(used, false);
+        }
+        int begin = rand.nextInt(length);
+        int end = begin + rand.nextInt(length - begin) + 1;
+        
+        for(int i = begin; i < end; ++i)
+        {
+            child[i] = first[i];
+            used[first[i]] = true;
+        }
+        int source = end % length;
+        for(int target = end % length; target != begin; target = (target + 1) % length)
+        {
+            while(used[second[source]])
+            {
+                source = (source + 1) % length;
+            }
+            child[target] = second[source];
+            used[second[source]] = true;
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package evolutionary_algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import alphabet.Alphabet;
+import alphabet.UnknownCharacterException;
+import randomizer.BlockRandom;
+
+/**
+ * Breaks the substitution cipher by simulated annealing with parallel tempering.<br>
+ * Several chains, each at a different constant temperature, perform swap moves of {@link Specimen#mutate} 
+ * accepted by the Metropolis criterion. Chains run on separate threads; after every round of moves,
+ * chains at neighbouring temperatures may exchange their states, so good states descend to the coldest chain.<br>
+ * Like {@link Generation}, the solver accepts an {@link EvaluatorFactory} and {@link CribConstraints}, 
+ * and with a {@link alphabet.ClassAlphabet} moves only between keys respecting the symbol groups.
+ */
+public class ParallelTemperingSolver implements Solver
+{
+    /**Used by this class.*/
+    protected Alphabet alphabet;
+    /***/
+    protected Random rand;
+    /**Number of chains, each at a different temperature.*/
+    protected int numberOfChains = 8;
+    /**Temperature of the coldest chain.*/
+    protected double minTemperature = 0.002d;
+    /**Temperature of the hottest chain.*/
+    protected double maxTemperature = 0.1d;
+    /**Number of moves performed by every chain between exchanges.*/
+    protected int movesPerRound = 200;
+    /**Maximum number of rounds of one run.*/
+    protected int maxNumberOfRounds = 100000;
+    /**Number of threads running the chains.*/
+    protected int numberOfThreads = Runtime.getRuntime().availableProcessors();
+    /**Limits resources spent by one run. Unlimited by default.*/
+    protected Budget budget = new Budget();
+    /**Creates the evaluator of every run, null for the built-in fitness.*/
+    protected EvaluatorFactory evaluatorFactory = null;
+    /**Known fragments of the plaintext and substitutions, null if there are none.*/
+    protected CribConstraints cribConstraints = null;
+    
+    /**Assigns fitness to specimens in the current run.*/
+    protected Evaluator evaluator;
+    /**Encoded message of the current run.*/
+    protected int[] cryptogram;
+    /**For each position the number of its group of symbol classes, null if any value may take any position.*/
+    protected int[] symbolGroups;
+    /**For each chromosome the value pinned by <i>cribConstraints</i>, or -1. Null when nothing is pinned.*/
+    protected int[] pinnedValues;
+    /**Chromosomes not pinned by <i>cribConstraints</i>. Null when nothing is pinned.*/
+    protected int[] freePositions;
+    /**Best specimen found so far and its evaluation.*/
+    protected Specimen best;
+    protected double bestEvaluation;
+    /**Number of rounds performed in the last run.*/
+    protected int numberOfRounds;
+    /**Number of evaluations performed in the last run, updated by every chain after every chunk of moves.*/
+    protected final AtomicLong numberOfEvaluations = new AtomicLong();
+    
+    /**
+     * @param alphabet to be used
+     * @param rand for randomization
+     */
+    public ParallelTemperingSolver(final Alphabet alphabet, final Random rand)
+    {
+        this.alphabet = alphabet;
+        this.rand = rand;
+    }
+    
+    /**
+     * @param numberOfChains each at a different temperature. >= 1
+     * @param minTemperature of the coldest chain. > 0.0d
+     * @param maxTemperature of the hottest chain. >= <i>minTemperature</i>
+     */
+    public void setTemperatures(final int numberOfChains, final double minTemperature, final double maxTemperature)
+    {
+        this.numberOfChains = Math.max(1, numberOfChains);
+        this.minTemperature = minTemperature;
+        this.maxTemperature = maxTemperature;
+    }
+    
+    /**
+     * @param movesPerRound performed by every chain between exchanges
+     * @param maxNumberOfRounds of one run
+     */
+    public void setRounds(final int movesPerRound, final int maxNumberOfRounds)
+    {
+        this.movesPerRound = Math.max(1, movesPerRound);
+        this.maxNumberOfRounds = maxNumberOfRounds;
+    }
+    
+    /**
+     * @param numberOfThreads running the chains
+     */
+    public void setNumberOfThreads(final int numberOfThreads)
+    {
+        this.numberOfThreads = Math.max(1, numberOfThreads);
+    }
+    
+    /**
+     * @param budget limiting every following run, checked once per round and by every chain once per chunk of moves; 
+     * the evaluation limit may be exceeded by at most one chunk of moves of every chain running at the same time
+     */
+    public void setBudget(final Budget budget)
+    {
+        this.budget = budget;
+    }
+    
+    /**
+     * Replaces the built-in fitness, which compares keys with the cipher, by evaluators created for the cryptogram of every run. 
+     * Chains evaluate their moves concurrently, so the evaluators must be safe to use by several threads.
+     * 
+     * @param evaluatorFactory creating the evaluator of every run, or null for the built-in fitness
+     */
+    public void setEvaluatorFactory(final EvaluatorFactory evaluatorFactory)
+    {
+        this.evaluatorFactory = evaluatorFactory;
+    }
+    
+    /**
+     * Chromosomes determined by the <i>cribConstraints</i> are pinned in every state.
+     * 
+     * @param cribConstraints to be used, or null
+     */
+    public void setCribConstraints(final CribConstraints cribConstraints)
+    {
+        this.cribConstraints = cribConstraints;
+    }
+    
+    /**
+     * @return number of evaluations performed in the last run
+     */
+    public long getNumberOfEvaluations()
+    {
+        return numberOfEvaluations.get();
+    }
+    
+    /**
+     * @return number of rounds performed in the last run
+     */
+    public int getNumberOfRounds()
+    {
+        return numberOfRounds;
+    }
+    
+    /**
+     * @exception IllegalArgumentException if the crib constraints do not fit the cryptogram
+     */
+    @Override
+    public Specimen solve(final String message, final double desiredEvaluation, final Statistics statistics) 
+            throws UnknownCharacterException
+    {
+        budget.start();
+        try
+        {
+            prepare(message);
+        }
+        catch (IncorrectCribException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+        
+        List<Chain> chains = new ArrayList<Chain>();
+        for(int i = 0; i < numberOfChains; ++i)
+        {
+            double ratio = numberOfChains == 1 ? 0.0d : ((double)i) / (numberOfChains - 1);
+            double temperature = minTemperature * Math.pow(maxTemperature / minTemperature, ratio);
+            chains.add(new Chain(pin(new Specimen(alphabet.getAlphabetLength(), rand), rand), temperature, 
+                    new BlockRandom(rand.nextLong())));
+        }
+        best = chains.get(0).state;
+        bestEvaluation = chains.get(0).evaluation;
+        numberOfRounds = 0;
+        numberOfEvaluations.set(numberOfChains);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(numberOfThreads, numberOfChains));
+        try
+        {
+            while(numberOfRounds < maxNumberOfRounds && !budget.isExhausted(numberOfEvaluations.get()) 
+                    && !(bestEvaluation >= desiredEvaluation && evaluator.verify(best) >= desiredEvaluation))
+            {
+                if(evaluator.newGeneration(bestEvaluation))
+                {
+                    reevaluate(chains);
+                }
+                for(Future<Void> future : executor.invokeAll(chains))
+                {
+                    future.get();
+                }
+                exchangeStates(chains);
+                recordBest(chains);
+                generateStatistics(chains, statistics);
+                ++numberOfRounds;
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e)
+        {
+            throw new RuntimeException(e.getCause());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        return best;
+    }
+    
+    /**
+     * Will cipher the <i>message</i> with a random key respecting the symbol groups, create the evaluator 
+     * and determine chromosomes pinned by the crib constraints.
+     * 
+     * @param message to be ciphered
+     * 
+     * @throws UnknownCharacterException if an unknown character is found in the <i>message</i> or in the constraints
+     * @throws IncorrectCribException when the crib constraints do not fit the cryptogram
+     */
+    protected void prepare(final String message) throws UnknownCharacterException, IncorrectCribException
+    {
+        symbolGroups = alphabet.getSymbolGroups();
+        Specimen exemplar = new Specimen(alphabet.getAlphabetLength(), rand);
+        if(symbolGroups != null)
+        {
+            exemplar = exemplar.regroup(symbolGroups, rand);
+        }
+        cryptogram = alphabet.convert(message);
+        exemplar.encode(cryptogram);
+        evaluator = evaluatorFactory == null ? new ExemplarEvaluator(exemplar) : evaluatorFactory.createEvaluator(cryptogram);
+        pinnedValues = null;
+        freePositions = null;
+        if(cribConstraints != null)
+        {
+            pinnedValues = cribConstraints.resolve(alphabet, cryptogram);
+            freePositions = CribConstraints.freePositions(pinnedValues);
+        }
+    }
+    
+    /**
+     * Will evaluate current and best states of all chains and the best specimen again, after the evaluator has changed.
+     * 
+     * @param chains whose states are evaluated
+     */
+    protected void reevaluate(final List<Chain> chains)
+    {
+        for(Chain chain : chains)
+        {
+            chain.evaluation = evaluator.evaluate(chain.state);
+            chain.bestEvaluation = evaluator.evaluate(chain.best);
+        }
+        bestEvaluation = evaluator.evaluate(best);
+        numberOfEvaluations.addAndGet(2L * chains.size() + 1);
+    }
+    
+    /**
+     * @param specimen to be pinned
+     * @param rand for randomization
+     * 
+     * @return the <i>specimen</i> respecting the symbol groups, with chromosomes pinned by the crib constraints
+     */
+    protected Specimen pin(final Specimen specimen, final Random rand)
+    {
+        Specimen regrouped = symbolGroups == null ? specimen : specimen.regroup(symbolGroups, rand);
+        return pinnedValues == null ? regrouped : regrouped.pin(pinnedValues);
+    }
+    
+    /**
+     * Will attempt to exchange states of chains at neighbouring temperatures, from the hottest to the coldest pair.
+     * 
+     * @param chains sorted from the coldest
+     */
+    protected void exchangeStates(final List<Chain> chains)
+    {
+        for(int i = chains.size() - 1; i > 0; --i)
+        {
+            Chain colder = chains.get(i - 1);
+            Chain hotter = chains.get(i);
+            double exponent = (hotter.evaluation - colder.evaluation) * (1.0d / colder.temperature - 1.0d / hotter.temperature);
+            if(exponent >= 0.0d || rand.nextDouble() < Math.exp(exponent))
+            {
+                Specimen state = colder.state;
+                double evaluation = colder.evaluation;
+                colder.state = hotter.state;
+                colder.evaluation = hotter.evaluation;
+                hotter.state = state;
+                hotter.evaluation = evaluation;
+            }
+        }
+    }
+    
+    /**
+     * @param chains whose best states are considered
+     */
+    protected void recordBest(final List<Chain> chains)
+    {
+        for(Chain chain : chains)
+        {
+            if(chain.bestEvaluation > bestEvaluation)
+            {
+                best = chain.best;
+                bestEvaluation = chain.bestEvaluation;
+            }
+        }
+    }
+    
+    /**
+     * Sends the message deciphered by the best specimen, its evaluation, mean and worst evaluation of current states to the <i>statistics</i>.
+     * 
+     * @param chains whose states are described
+     * @param statistics to receive data, may be null
+     */
+    protected void generateStatistics(final List<Chain> chains, final Statistics statistics)
+    {
+        if(statistics == null)
+        {
+            return;
+        }
+        double sum = 0.0d;
+        double worst = 1.0d;
+        for(Chain chain : chains)
+        {
+            sum += chain.evaluation;
+            worst = Math.min(worst, chain.evaluation);
+        }
+        int[] text = cryptogram.clone();
+        best.decode(text);
+        try
+        {
+            statistics.newGeneration(alphabet.convert(text), bestEvaluation, sum / chains.size(), worst);
+        }
+        catch (UnknownCharacterException e)
+        {
+            throw new RuntimeException("Impossible! The cryptogram has been created with the same alphabet.");
+        }
+    }
+    
+    /**
+     * One annealing chain at a constant temperature.
+     */
+    protected class Chain implements Callable<Void>
+    {
+        /**Current state and its evaluation.*/
+        protected Specimen state;
+        protected double evaluation;
+        /**Best state visited by this chain and its evaluation.*/
+        protected Specimen best;
+        protected double bestEvaluation;
+        /**Of this chain.*/
+        protected double temperature;
+        /**Used only by this chain.*/
+        protected Random rand;
+        
+        /**
+         * @param state initial state
+         * @param temperature of this chain
+         * @param rand used only by this chain
+         */
+        protected Chain(final Specimen state, final double temperature, final Random rand)
+        {
+            this.state = state;
+            this.evaluation = evaluator.evaluate(state);
+            this.best = state;
+            this.bestEvaluation = evaluation;
+            this.temperature = temperature;
+            this.rand = rand;
+        }
+        
+        /**
+         * Will perform one round of moves, in chunks counted in the number of evaluations as soon as they are done, 
+         * so that every chain sees the moves of the others when it checks the budget.
+         */
+        @Override
+        public Void call()
+        {
+            for(int done = 0; done < movesPerRound; done += Generation.CHUNK_SIZE)
+            {
+                if(budget.isExhausted(numberOfEvaluations.get()))
+                {
+                    return null;
+                }
+                int chunk = Math.min(Generation.CHUNK_SIZE, movesPerRound - done);
+                for(int i = 0; i < chunk; ++i)
+                {
+                    move();
+                }
+                numberOfEvaluations.addAndGet(chunk);
+            }
+            return null;
+        }
+        
+        /**
+         * Will swap two chromosomes of the state and accept the result by the Metropolis criterion.
+         */
+        protected void move()
+        {
+            Specimen candidate = state.mutate(freePositions, rand);
+            if(symbolGroups != null)
+            {
+                candidate = pin(candidate, rand);
+            }
+            double candidateEvaluation = evaluator.evaluate(candidate);
+            double delta = candidateEvaluation - evaluation;
+            if(delta >= 0.0d || rand.nextDouble() < Math.exp(delta / temperature))
+            {
+                state = candidate;
+                evaluation = candidateEvaluation;
+                if(evaluation > bestEvaluation)
+                {
+                    best = state;
+                    bestEvaluation = evaluation;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package evolutionary_algorithm;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import alphabet.Alphabet;
+import alphabet.ClassAlphabet;
+import alphabet.DefaultAlphabet;
+
+
+public class ParallelTemperingSolverTest
+{
+    private static final String MESSAGE = "the letter arrived on a quiet evening when nobody expected any news from the north";
+    
+    @Test
+    public void testEvaluationLimitIsNotOvershot() throws Exception
+    {
+        ParallelTemperingSolver solver = new ParallelTemperingSolver(new Alphabet("abcdefghijklmnopqrstuvwxyz "), new Random(1));
+        solver.setTemperatures(8, 0.002d, 0.1d);
+        solver.setRounds(1000, 100000);
+        solver.setNumberOfThreads(1);
+        Budget budget = new Budget();
+        budget.setEvaluationLimit(5000);
+        solver.setBudget(budget);
+        
+        solver.solve(MESSAGE, 1.0d, null);
+        //Rounds of all chains would take 8000 evaluations; a chain stops after the chunk in which the limit is reached.
+        assertTrue(solver.getNumberOfEvaluations() >= 5000);
+        assertTrue(solver.getNumberOfEvaluations() < 5000 + Generation.CHUNK_SIZE);
+    }
+    
+    @Test
+    public void testCpuTimeOfAllChainsIsLimited() throws Exception
+    {
+        ParallelTemperingSolver solver = new ParallelTemperingSolver(new Alphabet("abcdefghijklmnopqrstuvwxyz "), new Random(3));
+        solver.setTemperatures(8, 0.002d, 0.1d);
+        solver.setRounds(1000, 5000);
+        solver.setNumberOfThreads(4);
+        //Never reaches the desired evaluation, so only the budget can stop the run early.
+        solver.setEvaluatorFactory(new EvaluatorFactory()
+        {
+            @Override
+            public Evaluator createEvaluator(final int[] cryptogram)
+            {
+                return new Evaluator()
+                {
+                    @Override
+                    public double evaluate(final Specimen specimen)
+                    {
+                        int[] text = cryptogram.clone();
+                        specimen.decode(text);
+                        return text[0] / 100.0d;
+                    }
+                    
+                    @Override
+                    public double verify(final Specimen specimen)
+                    {
+                        return evaluate(specimen);
+                    }
+                    
+                    @Override
+                    public boolean newGeneration(final double bestEvaluation)
+                    {
+                        return false;
+                    }
+                };
+            }
+        });
+        Budget budget = new Budget();
+        budget.setCpuTimeLimit(200);
+        solver.setBudget(budget);
+        
+        solver.solve(MESSAGE, 1.0d, null);
+        //The starting thread only waits for the chains; their CPU time has to stop the run long before all rounds.
+        assertTrue(solver.getNumberOfEvaluations() < 8L * 1000 * 5000 / 4);
+    }
+    
+    @Test
+    public void testSolveWithClassesCribsAndEvaluatorFactory() throws Exception
+    {
+        final ClassAlphabet classes = ClassAlphabet.caseClasses(new DefaultAlphabet());
+        final String message = "The bridge had fallen. So, the roads to the valley were closed until spring.";
+        final int[] plaintext = classes.convert(message);
+        final boolean[] created = new boolean[1];
+        
+        ParallelTemperingSolver solver = new ParallelTemperingSolver(classes, new Random(2));
+        solver.setNumberOfThreads(2);
+        solver.setRounds(200, 500);
+        solver.setEvaluatorFactory(new EvaluatorFactory()
+        {
+            @Override
+            public Evaluator createEvaluator(final int[] cryptogram)
+            {
+                created[0] = true;
+                return new Evaluator()
+                {
+                    @Override
+                    public double evaluate(final Specimen specimen)
+                    {
+                        int[] text = cryptogram.clone();
+                        specimen.decode(text);
+                        int matching = 0;
+                        for(int i = 0; i < text.length; ++i)
+                        {
+                            matching += text[i] == plaintext[i] ? 1 : 0;
+                        }
+                        return ((double)matching) / text.length;
+                    }
+                    
+                    @Override
+                    public double verify(final Specimen specimen)
+                    {
+                        return evaluate(specimen);
+                    }
+                    
+                    @Override
+                    public boolean newGeneration(final double bestEvaluation)
+                    {
+                        return false;
+                    }
+                };
+            }
+        });
+        CribConstraints cribs = new CribConstraints();
+        cribs.addCrib("the bridge", 0);
+        solver.setCribConstraints(cribs);
+        
+        Specimen best = solver.solve(message, 1.0d, null);
+        assertTrue(created[0]);
+        assertEquals(classes.getFullAlphabet().getAlphabetLength(), best.expand(classes).getChromosomes().length);
+        for(int i = 0; i < solver.pinnedValues.length; ++i)
+        {
+            if(solver.pinnedValues[i] >= 0)
+            {
+                assertEquals(solver.pinnedValues[i], best.getChromosomes()[i]);
+            }
+        }
+        assertEquals(1.0d, solver.evaluator.verify(best), 0.0d);
+    }
+}
@@ -0,0 +1,190 @@
+package evolutionary_algorithm;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import alphabet.UnknownCharacterException;
+
+/**
+ * Parameters of {@link Generation#evolve}, which can be stored in a file and applied to a {@link Generation} used as a {@link Solver}.
+ */
+public class ParameterProfile
+{
+    private static final String POPULATION_SIZE = "populationSize";
+    private static final String MAX_NUMBER_OF_ITERATIONS = "maxNumberOfIterations";
+    private static final String PERCENTAGE_OF_OLD_GENERATION_SURVIVORS = "percentageOfOldGenerationSurvivors";
+    private static final String PERCENTAGE_OF_PARENTS = "percentageOfParents";
+    private static final String MUTATION_CHANCE = "mutationChance";
+    
+    /**See {@link Generation#evolve}.*/
+    protected int populationSize;
+    protected int maxNumberOfIterations;
+    protected double percentageOfOldGenerationSurvivors;
+    protected double percentageOfParents;
+    protected double mutationChance;
+    
+    /**
+     * @param populationSize will be constant throughout generations
+     * @param maxNumberOfIterations to be processed
+     * @param percentageOfOldGenerationSurvivors who can transit to the next generation. [0.0d ; 1.0d]
+     * @param percentageOfParents how many specimens can participate in reproduction. [0.0d ; 1.0d]
+     * @param mutationChance with which each child is subject to mutation. [0.0d ; 1.0d]
+     */
+    public ParameterProfile(final int populationSize, final int maxNumberOfIterations, 
+            final double percentageOfOldGenerationSurvivors, final double percentageOfParents, final double mutationChance)
+    {
+        this.populationSize = populationSize;
+        this.maxNumberOfIterations = maxNumberOfIterations;
+        this.percentageOfOldGenerationSurvivors = percentageOfOldGenerationSurvivors;
+        this.percentageOfParents = percentageOfParents;
+        this.mutationChance = mutationChance;
+    }
+    
+    /**
+     * @param file written by {@link ParameterProfile#save}
+     * 
+     * @return profile read from the <i>file</i>
+     * 
+     * @throws IOException if the file can not be read or lacks a parameter
+     */
+    public static ParameterProfile load(final File file) throws IOException
+    {
+        Properties properties = new Properties();
+        InputStream in = new FileInputStream(file);
+        try
+        {
+            properties.load(in);
+        }
+        finally
+        {
+            in.close();
+        }
+        try
+        {
+            return new ParameterProfile(Integer.parseInt(properties.getProperty(POPULATION_SIZE)), 
+                    Integer.parseInt(properties.getProperty(MAX_NUMBER_OF_ITERATIONS)), 
+                    Double.parseDouble(properties.getProperty(PERCENTAGE_OF_OLD_GENERATION_SURVIVORS)), 
+                    Double.parseDouble(properties.getProperty(PERCENTAGE_OF_PARENTS)), 
+                    Double.parseDouble(properties.getProperty(MUTATION_CHANCE)));
+        }
+        catch (NumberFormatException | NullPointerException e)
+        {
+            throw new IOException("Incorrect parameter profile: " + file, e);
+        }
+    }
+    
+    /**
+     * @param file to write the profile to
+     * @param comment written at the beginning of the file
+     * 
+     * @throws IOException if the file can not be written
+     */
+    public void save(final File file, final String comment) throws IOException
+    {
+        Properties properties = new Properties();
+        properties.setProperty(POPULATION_SIZE, Integer.toString(populationSize));
+        properties.setProperty(MAX_NUMBER_OF_ITERATIONS, Integer.toString(maxNumberOfIterations));
+        properties.setProperty(PERCENTAGE_OF_OLD_GENERATION_SURVIVORS, Double.toString(percentageOfOldGenerationSurvivors));
+        properties.setProperty(PERCENTAGE_OF_PARENTS, Double.toString(percentageOfParents));
+        properties.setProperty(MUTATION_CHANCE, Double.toString(mutationChance));
+        OutputStream out = new FileOutputStream(file);
+        try
+        {
+            properties.store(out, comment);
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+    
+    /**
+     * @param generation to use this profile in {@link Generation#solve}
+     */
+    public void applyTo(final Generation generation)
+    {
+        generation.setSolverParameters(populationSize, maxNumberOfIterations, 
+                percentageOfOldGenerationSurvivors, percentageOfParents, mutationChance);
+    }
+    
+    /**
+     * Will call {@link Generation#evolve} with parameters of this profile.
+     * 
+     * @param generation to be used
+     * @param desiredEvaluation to be achieved. [0.0d ; 1.0d]
+     * @param message to be used in the process
+     * @param statistics to receive the progress, may be null
+     * 
+     * @return the best Specimen found
+     * 
+     * @exception IncorrectDesiredEvaluation when the 'desiredEvaluation' parameter does not belong to [0.0d ; 1.0d]
+     * @exception IncorrectPercentageOfOldGenerationSurvivors when the 'percentageOfOldGenerationSurvivors' parameter does not belong to [0.0d ; 1.0d]
+     * @exception IncorrectPercentageOfParents when the 'percentageOfParents' parameter does not belong to [0.0d ; 1.0d] 
+     * @exception IncorrectMutationChanceException when the 'mutationChance' parameter does not belong to [0.0d ; 1.0d]
+     * @exception IncorrectPopulationSizeException when the population size is lower than 2
+     * @exception UnknownCharacterException if an unknown character is found in the <i>message</i>
+     * @exception IncorrectCribException when the crib constraints do not fit the cryptogram
+     * @exception InsufficientMemoryException when the estimated footprint of the population exceeds the memory budget
+     */
+    public Specimen evolve(final Generation generation, final double desiredEvaluation, 
+            final String message, final Statistics statistics) 
+            throws IncorrectDesiredEvaluation, IncorrectPercentageOfOldGenerationSurvivors, IncorrectPercentageOfParents, 
+            IncorrectMutationChanceException, IncorrectPopulationSizeException, UnknownCharacterException, IncorrectCribException, 
+            InsufficientMemoryException
+    {
+        return generation.evolve(populationSize, desiredEvaluation, maxNumberOfIterations, 
+                percentageOfOldGenerationSurvivors, percentageOfParents, mutationChance, message, statistics);
+    }
+    
+    /**
+     * @return population size
+     */
+    public int getPopulationSize()
+    {
+        return populationSize;
+    }
+    
+    /**
+     * @return maximum number of iterations
+     */
+    public int getMaxNumberOfIterations()
+    {
+        return maxNumberOfIterations;
+    }
+    
+    /**
+     * @return percentage of old generation survivors
+     */
+    public double getPercentageOfOldGenerationSurvivors()
+    {
+        return percentageOfOldGenerationSurvivors;
+    }
+    
+    /**
+     * @return percentage of parents
+     */
+    public double getPercentageOfParents()
+    {
+        return percentageOfParents;
+    }
+    
+    /**
+     * @return mutation chance
+     */
+    public double getMutationChance()
+    {
+        return mutationChance;
+    }
+    
+    @Override
+    public String toString()
+    {
+        return POPULATION_SIZE + "=" + populationSize + ", " + PERCENTAGE_OF_OLD_GENERATION_SURVIVORS + "=" + percentageOfOldGenerationSurvivors 
+                + ", " + PERCENTAGE_OF_PARENTS + "=" + percentageOfParents + ", " + MUTATION_CHANCE + "=" + mutationChance;
+    }
+}
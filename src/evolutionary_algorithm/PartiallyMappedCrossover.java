@@ -0,0 +1,46 @@
+package evolutionary_algorithm;
+
+import java.util.Random;
+
+/**
+ * PMX: the child takes a random segment from the first parent and the remaining positions from the second one;
+ * values of the second parent which already occur in the segment are replaced by following the mapping defined by the segment.
+ */
+public class PartiallyMappedCrossover implements CrossoverOperator
+{
+    /**Under index of a value, its position in the first parent.*/
+    private int[] positionsInFirst = new int[0];
+    
+    @Override
+    public void cross(final int[] first, final int[] second, final int[] child, final Random rand)
+    {
+        int length = first.length;
+        if(positionsInFirst.length != length)
+        {
+            positionsInFirst = new int[length];
+        }
+        for(int i = 0; i < length; ++i)
+        {
+            positionsInFirst[first[i]] = i;
+        }
+        int begin = rand.nextInt(length);
+        int end = begin + rand.nextInt(length - begin) + 1;
+        
+        for(int i = 0; i < length; ++i)
+        {
+            if(i >= begin && i < end)
+            {
+                child[i] = first[i];
+                continue;
+            }
+            int value = second[i];
+            int position = positionsInFirst[value];
+            while(position >= begin && position < end)
+            {
+                value = second[position];
+                position = positionsInFirst[value];
+            }
+            child[i] = value;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package evolutionary_algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Set of 64-bit hashes of permutations, with open addressing and linear probing over a primitive array.
+ * Used to find duplicated Specimens without boxing or allocation.
+ */
+public class PermutationHashSet
+{
+    /**Marks an empty slot. The hash equal to it is remembered by <i>containsEmptyMarker</i>.*/
+    private static final long EMPTY = 0L;
+    
+    /**Slots, the length is a power of two.*/
+    private long[] slots;
+    /**Whether the hash equal to EMPTY has been added.*/
+    private boolean containsEmptyMarker;
+    /**Number of hashes in the set.*/
+    private int size;
+    
+    /**
+     * @param expectedSize maximum number of hashes held at once
+     */
+    public PermutationHashSet(final int expectedSize)
+    {
+        int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+        slots = new long[capacity];
+    }
+    
+    /**
+     * @param hash to be added
+     * 
+     * @return false if the <i>hash</i> was already in the set
+     */
+    public boolean add(final long hash)
+    {
+        if(hash == EMPTY)
+        {
+            boolean added = !containsEmptyMarker;
+            containsEmptyMarker = true;
+            size += added ? 1 : 0;
+            return added;
+        }
+        if(2 * (size + 1) > slots.length)
+        {
+            grow();
+        }
+        int mask = slots.length - 1;
+        int index = (int)(hash ^ (hash >>> 32)) & mask;
+        while(slots[index] != EMPTY)
+        {
+            if(slots[index] == hash)
+            {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = hash;
+        ++size;
+        return true;
+    }
+    
+    /**
+     * @return number of hashes in the set
+     */
+    public int size()
+    {
+        return size;
+    }
+    
+    /**
+     * Will remove all hashes.
+     */
+    public void clear()
+    {
+        Arrays.fill(slots, EMPTY);
+        containsEmptyMarker = false;
+        size = 0;
+    }
+    
+    /**
+     * Will double the number of slots.
+     */
+    private void grow()
+    {
+        long[] old = slots;
+        slots = new long[old.length * 2];
+        size = containsEmptyMarker ? 1 : 0;
+        for(int i = 0; i < old.length; ++i)
+        {
+            if(old[i] != EMPTY)
+            {
+                add(old[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package evolutionary_algorithm;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+
+public class PermutationHashSetTest
+{
+
+    @Test
+    public void testAddReportsDuplicates()
+    {
+        PermutationHashSet set = new PermutationHashSet(4);
+        assertTrue(set.add(42L));
+        assertFalse(set.add(42L));
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertEquals(2, set.size());
+    }
+    
+    @Test
+    public void testGrowsBeyondExpectedSize()
+    {
+        PermutationHashSet set = new PermutationHashSet(2);
+        for(long i = 1; i <= 1000; ++i)
+        {
+            assertTrue(set.add(i * 31L));
+        }
+        for(long i = 1; i <= 1000; ++i)
+        {
+            assertFalse(set.add(i * 31L));
+        }
+        assertEquals(1000, set.size());
+    }
+    
+    @Test
+    public void testClear()
+    {
+        PermutationHashSet set = new PermutationHashSet(8);
+        set.add(7L);
+        set.add(0L);
+        set.clear();
+        assertEquals(0, set.size());
+        assertTrue(set.add(7L));
+        assertTrue(set.add(0L));
+    }
+    
+    @Test
+    public void testEqualKeysHaveEqualHashes()
+    {
+        Specimen specimen = new Specimen(20, new Random());
+        Specimen copy = new Specimen(specimen.getChromosomes());
+        assertEquals(specimen.hash64(), copy.hash64());
+        assertFalse(specimen.hash64() == specimen.mutate(null, new Random()).hash64());
+    }
+}
@@ -0,0 +1,24 @@
+package evolutionary_algorithm;
+
+import java.util.Random;
+
+/**
+ * Strategy creating the Specimens of the first generation.
+ */
+public interface PopulationInitializer
+{
+    /**
+     * Called once per run, before any Specimen is created.
+     * 
+     * @param cryptogram to be broken
+     * @param numberOfChromosomes of every created Specimen
+     */
+    public abstract void prepare(final int[] cryptogram, final int numberOfChromosomes);
+    
+    /**
+     * @param rand for randomization
+     * 
+     * @return new Specimen for the first generation
+     */
+    public abstract Specimen createSpecimen(final Random rand);
+}
@@ -0,0 +1,53 @@
+package evolutionary_algorithm;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The child takes values of the first parent at randomly chosen positions, each chosen with the probability of 0.5;
+ * the remaining positions are filled with the missing values in the order in which they occur in the second parent.
+ */
+public class PositionBasedCrossover implements CrossoverOperator
+{
+    /**Under index of a value, whether it has been put into the child.*/
+    private boolean[] used = new boolean[0];
+    /**Under index of a position, whether it has been taken from the first parent.*/
+    private boolean[] taken = new boolean[0];
+    
+    @Override
+    public void cross(final int[] first, final int[] second, final int[] child, final Random rand)
+    {
+        int length = first.length;
+        if(used.length != length)
+        {
+            used = new boolean[length];
+            taken = new boolean[length];
+        }
+        else
+        {
+            Arrays.fill(used, false);
+        }
+        for(int i = 0; i < length; ++i)
+        {
+            taken[i] = rand.nextBoolean();
+            if(taken[i])
+            {
+                child[i] = first[i];
+                used[first[i]] = true;
+            }
+        }
+        int source = 0;
+        for(int target = 0; target < length; ++target)
+        {
+            if(taken[target])
+            {
+                continue;
+            }
+            while(used[second[source]])
+            {
+                ++source;
+            }
+            child[target] = second[source++];
+        }
+    }
+}
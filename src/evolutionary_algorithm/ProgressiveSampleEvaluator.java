@@ -0,0 +1,111 @@
+package evolutionary_algorithm;
+
+import java.util.Random;
+
+/**
+ * Evaluates Specimens by the percentage of characters of the cryptogram they decipher correctly.<br>
+ * Only a deterministic sample of the cryptogram is used; the sample grows according to a {@link SamplingSchedule}
+ * as the quality of the population improves. {@link ProgressiveSampleEvaluator#verify} always uses the whole cryptogram.
+ */
+public class ProgressiveSampleEvaluator implements Evaluator
+{
+    /**Characters of the cryptogram in the order in which they join the sample.*/
+    protected int[] sampledCryptogram;
+    /**Characters of the message in the same order as <i>sampledCryptogram</i>.*/
+    protected int[] sampledMessage;
+    /**Decides the size of the sample.*/
+    protected SamplingSchedule schedule;
+    /**Number of leading characters of <i>sampledCryptogram</i> currently used.*/
+    protected volatile int sampleSize;
+    
+    /**
+     * @param cryptogram to be deciphered
+     * @param message which is the correct decipherment of the <i>cryptogram</i>
+     * @param schedule deciding the size of the sample
+     */
+    public ProgressiveSampleEvaluator(final int[] cryptogram, final int[] message, final SamplingSchedule schedule)
+    {
+        assert(cryptogram.length == message.length);
+        this.schedule = schedule;
+        sampledCryptogram = new int[cryptogram.length];
+        sampledMessage = new int[message.length];
+        
+        //Fixed seed, so the same cryptogram is always sampled the same way.
+        int[] order = new int[cryptogram.length];
+        Random rand = new Random(cryptogram.length);
+        for(int i = 0; i < order.length; ++i)
+        {
+            int j = rand.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        for(int i = 0; i < order.length; ++i)
+        {
+            sampledCryptogram[i] = cryptogram[order[i]];
+            sampledMessage[i] = message[order[i]];
+        }
+        sampleSize = schedule.initialSampleSize(cryptogram.length);
+    }
+    
+    /**
+     * @return percentage of correctly deciphered characters in the current sample. [0.0d ; 1.0d]
+     */
+    @Override
+    public double evaluate(final Specimen specimen)
+    {
+        return evaluate(specimen, sampleSize);
+    }
+    
+    /**
+     * @return percentage of correctly deciphered characters in the whole cryptogram. [0.0d ; 1.0d]
+     */
+    @Override
+    public double verify(final Specimen specimen)
+    {
+        return evaluate(specimen, sampledCryptogram.length);
+    }
+    
+    @Override
+    public boolean newGeneration(final double bestEvaluation)
+    {
+        int next = schedule.nextSampleSize(sampleSize, sampledCryptogram.length, bestEvaluation);
+        if(next == sampleSize)
+        {
+            return false;
+        }
+        sampleSize = next;
+        return true;
+    }
+    
+    /**
+     * @return number of characters currently used
+     */
+    public int getSampleSize()
+    {
+        return sampleSize;
+    }
+    
+    /**
+     * @param specimen to be evaluated
+     * @param size of the sample to be used
+     * 
+     * @return percentage of correctly deciphered characters among the first <i>size</i> of the sample
+     */
+    protected double evaluate(final Specimen specimen, final int size)
+    {
+        if(size == 0)
+        {
+            return 1.0d;
+        }
+        int[] key = specimen.inversedChromosomes;
+        int correct = 0;
+        for(int i = 0; i < size; ++i)
+        {
+            if(key[sampledCryptogram[i]] == sampledMessage[i])
+            {
+                ++correct;
+            }
+        }
+        return ((double)correct) / size;
+    }
+}
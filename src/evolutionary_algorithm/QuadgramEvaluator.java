@@ -0,0 +1,71 @@
+package evolutionary_algorithm;
+
+import language.QuadgramModel;
+
+/**
+ * Evaluates Specimens by how likely the deciphered cryptogram is in the language of a {@link QuadgramModel}: 
+ * the mean log-probability of its quadgrams, scaled so that the floor of the model gives 0.0d and its maximum gives 1.0d.<br>
+ * Even the correct key stays well below 1.0d, so this evaluator is meant to be combined with others 
+ * by {@link WeightedEvaluator} or used with a desired evaluation it can reach.
+ */
+public class QuadgramEvaluator implements Evaluator
+{
+    /**Log-probabilities of quadgrams.*/
+    protected QuadgramModel model;
+    /**To be deciphered.*/
+    protected int[] cryptogram;
+    
+    /**
+     * @param model of the language
+     * @param cryptogram to be deciphered
+     */
+    public QuadgramEvaluator(final QuadgramModel model, final int[] cryptogram)
+    {
+        this.model = model;
+        this.cryptogram = cryptogram;
+    }
+    
+    /**
+     * @param model of the language
+     * 
+     * @return factory of evaluators of the given model
+     */
+    public static EvaluatorFactory factory(final QuadgramModel model)
+    {
+        return new EvaluatorFactory()
+        {
+            @Override
+            public Evaluator createEvaluator(final int[] cryptogram)
+            {
+                return new QuadgramEvaluator(model, cryptogram);
+            }
+        };
+    }
+    
+    /**
+     * @return scaled mean log-probability of quadgrams of the deciphered cryptogram. [0.0d ; 1.0d]
+     */
+    @Override
+    public double evaluate(final Specimen specimen)
+    {
+        int numberOfQuadgrams = cryptogram.length - 3;
+        if(numberOfQuadgrams <= 0 || model.getMaximum() <= model.getFloor())
+        {
+            return 1.0d;
+        }
+        double mean = model.score(cryptogram, specimen.inversedChromosomes) / numberOfQuadgrams;
+        return Math.max(0.0d, Math.min(1.0d, (mean - model.getFloor()) / (model.getMaximum() - model.getFloor())));
+    }
+    
+    @Override
+    public double verify(final Specimen specimen)
+    {
+        return evaluate(specimen);
+    }
+    
+    @Override
+    public boolean newGeneration(final double bestEvaluation)
+    {
+        return false;
+    }
+}
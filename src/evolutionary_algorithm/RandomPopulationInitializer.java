@@ -0,0 +1,24 @@
+package evolutionary_algorithm;
+
+import java.util.Random;
+
+/**
+ * Creates Specimens with uniformly random keys.
+ */
+public class RandomPopulationInitializer implements PopulationInitializer
+{
+    /**Of every created Specimen.*/
+    protected int numberOfChromosomes;
+    
+    @Override
+    public void prepare(final int[] cryptogram, final int numberOfChromosomes)
+    {
+        this.numberOfChromosomes = numberOfChromosomes;
+    }
+    
+    @Override
+    public Specimen createSpecimen(final Random rand)
+    {
+        return new Specimen(numberOfChromosomes, rand);
+    }
+}
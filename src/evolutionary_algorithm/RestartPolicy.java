@@ -0,0 +1,14 @@
+package evolutionary_algorithm;
+
+/**
+ * Decides how many generations without improvement are tolerated before the population is restarted.
+ */
+public interface RestartPolicy
+{
+    /**
+     * @param numberOfRestarts performed so far in the run
+     * 
+     * @return number of generations without improvement after which the next restart is performed. >= 1
+     */
+    public abstract int patience(final int numberOfRestarts);
+}
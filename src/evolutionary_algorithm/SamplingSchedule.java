@@ -0,0 +1,23 @@
+package evolutionary_algorithm;
+
+/**
+ * Decides how many characters of the cryptogram are used by {@link ProgressiveSampleEvaluator}.
+ */
+public interface SamplingSchedule
+{
+    /**
+     * @param fullSize length of the cryptogram
+     * 
+     * @return size of the sample used in the first generation. [1 ; <i>fullSize</i>]
+     */
+    public abstract int initialSampleSize(final int fullSize);
+    
+    /**
+     * @param currentSampleSize used in the previous generation
+     * @param fullSize length of the cryptogram
+     * @param bestEvaluation found so far, measured on the current sample
+     * 
+     * @return size of the sample used in the next generation. [<i>currentSampleSize</i> ; <i>fullSize</i>]
+     */
+    public abstract int nextSampleSize(final int currentSampleSize, final int fullSize, final double bestEvaluation);
+}
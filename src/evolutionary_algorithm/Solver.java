@@ -0,0 +1,24 @@
+package evolutionary_algorithm;
+
+import alphabet.UnknownCharacterException;
+
+/**
+ * Engine attempting to break the substitution cipher of a message.
+ */
+public interface Solver
+{
+    /**
+     * Will cipher the <i>message</i> with a random key and attempt to break the cipher.
+     * 
+     * @param message to be ciphered and broken
+     * @param desiredEvaluation to be achieved. The solver WILL STOP when a specimen is evaluated with value greater or equal to this parameter. [0.0d ; 1.0d]
+     * @param statistics to receive the progress, may be null
+     * 
+     * @return the best Specimen found
+     * 
+     * @throws UnknownCharacterException if an unknown character is found in the <i>message</i>.
+     * This character will be stored as a description of the Exception.
+     */
+    public abstract Specimen solve(final String message, final double desiredEvaluation, final Statistics statistics) 
+            throws UnknownCharacterException;
+}
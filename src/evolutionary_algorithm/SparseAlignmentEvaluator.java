@@ -0,0 +1,142 @@
+package evolutionary_algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates Specimens by the percentage of characters of the message they decipher correctly, 
+ * using only the pairs of a message character and a cryptogram character which occur in the message.<br>
+ * Memory and the cost of one evaluation depend on the number of distinct pairs, not on the length of the alphabet, 
+ * which makes it suitable for alphabets of thousands of characters.
+ */
+public class SparseAlignmentEvaluator implements DecomposableEvaluator
+{
+    /**Distinct message characters, in ascending order.*/
+    protected int[] messageCharacters;
+    /**Pairs of the i-th message character are stored from offsets[i] to offsets[i + 1].*/
+    protected int[] offsets;
+    /**Cryptogram character of each pair.*/
+    protected int[] cryptogramCharacters;
+    /**Number of occurrences of each pair.*/
+    protected int[] counts;
+    /**Length of the message.*/
+    protected int length;
+    
+    /**
+     * @param message in the form of an array of alphabet indexes
+     * @param cryptogram of the <i>message</i>
+     */
+    public SparseAlignmentEvaluator(final int[] message, final int[] cryptogram)
+    {
+        assert(message.length == cryptogram.length);
+        length = message.length;
+        long[] pairs = new long[length];
+        for(int i = 0; i < length; ++i)
+        {
+            pairs[i] = ((long)message[i] << 32) | cryptogram[i];
+        }
+        Arrays.sort(pairs);
+        
+        int distinctPairs = 0;
+        int distinctCharacters = 0;
+        for(int i = 0; i < length; ++i)
+        {
+            if(i == 0 || pairs[i] != pairs[i - 1])
+            {
+                ++distinctPairs;
+                if(i == 0 || (pairs[i] >>> 32) != (pairs[i - 1] >>> 32))
+                {
+                    ++distinctCharacters;
+                }
+            }
+        }
+        messageCharacters = new int[distinctCharacters];
+        offsets = new int[distinctCharacters + 1];
+        cryptogramCharacters = new int[distinctPairs];
+        counts = new int[distinctPairs];
+        int pair = -1;
+        int character = -1;
+        for(int i = 0; i < length; ++i)
+        {
+            if(i == 0 || pairs[i] != pairs[i - 1])
+            {
+                ++pair;
+                if(i == 0 || (pairs[i] >>> 32) != (pairs[i - 1] >>> 32))
+                {
+                    ++character;
+                    messageCharacters[character] = (int)(pairs[i] >>> 32);
+                    offsets[character] = pair;
+                }
+                cryptogramCharacters[pair] = (int)pairs[i];
+            }
+            ++counts[pair];
+        }
+        offsets[distinctCharacters] = distinctPairs;
+    }
+    
+    /**
+     * @return distinct characters of the message, in ascending order
+     */
+    public int[] getMessageCharacters()
+    {
+        return messageCharacters.clone();
+    }
+    
+    /**
+     * @return percentage of correctly deciphered characters of the message. [0.0d ; 1.0d]
+     */
+    @Override
+    public double evaluate(final Specimen specimen)
+    {
+        if(length == 0)
+        {
+            return 1.0d;
+        }
+        int[] key = specimen.chromosomes;
+        long correct = 0;
+        for(int c = 0; c < messageCharacters.length; ++c)
+        {
+            int value = key[messageCharacters[c]];
+            for(int p = offsets[c]; p < offsets[c + 1]; ++p)
+            {
+                if(cryptogramCharacters[p] == value)
+                {
+                    correct += counts[p];
+                }
+            }
+        }
+        return ((double)correct) / length;
+    }
+    
+    /**
+     * @return share of the message characters equal to the <i>position</i> which are correctly deciphered when it holds the <i>value</i>
+     */
+    @Override
+    public double positionScore(final int position, final int value)
+    {
+        int c = Arrays.binarySearch(messageCharacters, position);
+        if(c < 0 || length == 0)
+        {
+            return 0.0d;
+        }
+        for(int p = offsets[c]; p < offsets[c + 1]; ++p)
+        {
+            if(cryptogramCharacters[p] == value)
+            {
+                return ((double)counts[p]) / length;
+            }
+        }
+        return 0.0d;
+    }
+    
+    @Override
+    public double verify(final Specimen specimen)
+    {
+        return evaluate(specimen);
+    }
+    
+    @Override
+    public boolean newGeneration(final double bestEvaluation)
+    {
+        return false;
+    }
+}
@@ -1,13 +1,11 @@
 package evolutionary_algorithm;
 
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Random;
 import java.util.Set;
 
+import alphabet.ClassAlphabet;
 import randomizer.DifferentArrayLengthException;
-import randomizer.NotEnoughInSrcException;
 import randomizer.Randomizer;
 import randomizer.SrcDstLengthDifferentException;
 import randomizer.SrcsLengthDifferentException;
@@ -22,6 +20,8 @@ public class Specimen
     /**The int under index of i contains the index of a character from an alphabet for which i character of that alphabet is substituted.*/
     protected int[] chromosomes;
     protected int[] inversedChromosomes;
+    /**64-bit hash of <i>chromosomes</i>, 0 until computed.*/
+    protected long hash = 0L;
     protected Randomizer<Integer> randomizer = new Randomizer<Integer>();
     
     /**
@@ -34,27 +34,13 @@ public class Specimen
     public Specimen(final int numberOfChromosomes, final Random rand)
     {
         chromosomes = new int[numberOfChromosomes];
-        Integer[] boxedInts = new Integer[numberOfChromosomes];
-        
-        List<Integer> numbers = new LinkedList<Integer>();
-        
-        for(int i = 0; i < numberOfChromosomes; ++i)
-        {
-            numbers.add(i);
-        }
-        
-        try
-        {
-            randomizer.randomize(boxedInts, numbers, new Random());
-        } 
-        catch (NotEnoughInSrcException e)
-        {
-            throw new RuntimeException("Impossible! Arrays of length equal to numberOfChromosomes should've been passed.");
-        }
         
+        //Fisher-Yates shuffle.
         for(int i = 0; i < numberOfChromosomes; ++i)
         {
-            chromosomes[i] = boxedInts[i];
+            int j = rand.nextInt(i + 1);
+            chromosomes[i] = chromosomes[j];
+            chromosomes[j] = i;
         }
         
         createInversedChromosomes();
@@ -66,6 +52,15 @@ public class Specimen
     protected Specimen(final int[] chromosomes)
     {
         this.chromosomes = chromosomes;
+        createInversedChromosomes();
+    }
+    
+    /**
+     * @return copy of the key, under index of i the index of a character for which i character of the alphabet is substituted
+     */
+    public int[] getChromosomes()
+    {
+        return chromosomes.clone();
     }
     
     /**
@@ -107,6 +102,55 @@ public class Specimen
     public Specimen reproduce(final Specimen partner, 
             final double equalValuesStayProbability, final double mutationChance, final Random rand)
             throws IncorrectProbabilityException, IncorrectMutationChanceException, DifferentNumberOfChromosomesException
+    {
+        return reproduce(partner, equalValuesStayProbability, mutationChance, null, rand);
+    }
+    
+    /**
+     * Will create a new Specimen based on this one and <i>partner</i>.<br>
+     * Only chromosomes at <i>freePositions</i> take part in crossing and mutation, 
+     * the others are copied from this Specimen. Both parents must hold the same values outside <i>freePositions</i>.
+     * 
+     * @param partner to participate in the process
+     * @param equalValuesStayProbability determines how likely a chromosome, which is identical in both parents, is to be passed on to the child. [0.0d ; 1.0d]
+     * @param mutationChance [0.0d, 1.0d]
+     * @param freePositions of chromosomes which can change, or null if all of them can
+     * @param rand for randomization
+     * 
+     * @return new Specimen, which is the result of reproduction
+     * 
+     * @throws IncorrectProbabilityException when <i>equalValuesStayProbability</i> does not belong to [0.0d ; 1.0d]
+     * @throws IncorrectMutationChanceException when <i>mutationChance</i> does not belong to [0.0d ; 1.0d]
+     * @throws DifferentNumberOfChromosomesException when number of chromosomes in this Specimen and its partner is not the same
+     */
+    public Specimen reproduce(final Specimen partner, final double equalValuesStayProbability, 
+            final double mutationChance, final int[] freePositions, final Random rand)
+            throws IncorrectProbabilityException, IncorrectMutationChanceException, DifferentNumberOfChromosomesException
+    {
+        return reproduce(partner, equalValuesStayProbability, mutationChance, 1, freePositions, rand);
+    }
+    
+    /**
+     * Will create a new Specimen based on this one and <i>partner</i>.<br>
+     * Only chromosomes at <i>freePositions</i> take part in crossing and mutation, 
+     * the others are copied from this Specimen. Both parents must hold the same values outside <i>freePositions</i>.
+     * 
+     * @param partner to participate in the process
+     * @param equalValuesStayProbability determines how likely a chromosome, which is identical in both parents, is to be passed on to the child. [0.0d ; 1.0d]
+     * @param mutationChance [0.0d, 1.0d]
+     * @param numberOfSwaps performed by the mutation, if it happens
+     * @param freePositions of chromosomes which can change, or null if all of them can
+     * @param rand for randomization
+     * 
+     * @return new Specimen, which is the result of reproduction
+     * 
+     * @throws IncorrectProbabilityException when <i>equalValuesStayProbability</i> does not belong to [0.0d ; 1.0d]
+     * @throws IncorrectMutationChanceException when <i>mutationChance</i> does not belong to [0.0d ; 1.0d]
+     * @throws DifferentNumberOfChromosomesException when number of chromosomes in this Specimen and its partner is not the same
+     */
+    public Specimen reproduce(final Specimen partner, final double equalValuesStayProbability, final double mutationChance, 
+            final int numberOfSwaps, final int[] freePositions, final Random rand)
+            throws IncorrectProbabilityException, IncorrectMutationChanceException, DifferentNumberOfChromosomesException
     {
         if(chromosomes.length != partner.chromosomes.length)
         {
@@ -118,7 +162,8 @@ public class Specimen
         
         try
         {
-            crossArrays(chromosomes, partner.chromosomes, childsChromosomes, equalValuesStayProbability, unused, emptyIndexes, rand);
+            crossArrays(chromosomes, partner.chromosomes, childsChromosomes, equalValuesStayProbability, 
+                    unused, emptyIndexes, freePositions, rand);
         }
         catch (SrcsLengthDifferentException | SrcDstLengthDifferentException e)
         {
@@ -131,11 +176,169 @@ public class Specimen
         assert(unused.size() == emptyIndexes.size());
         
         fillChromosomesWithLeftovers(childsChromosomes, unused, emptyIndexes, rand);
-        tryForMutation(childsChromosomes, mutationChance, rand);
+        tryForMutation(childsChromosomes, mutationChance, numberOfSwaps, freePositions, rand);
         
         return new Specimen(childsChromosomes);
     }
     
+    /**
+     * Will create a new Specimen based on this one and <i>partner</i> with the given crossover operator.<br>
+     * Mutation only swaps chromosomes at <i>freePositions</i>; crossing may move pinned values, 
+     * so the child should be pinned again with {@link Specimen#pin} when any position is pinned.
+     * 
+     * @param partner to participate in the process
+     * @param crossover operator creating the key of the child
+     * @param mutationChance [0.0d, 1.0d]
+     * @param numberOfSwaps performed by the mutation, if it happens
+     * @param freePositions of chromosomes which can be swapped by the mutation, or null if all of them can
+     * @param rand for randomization
+     * 
+     * @return new Specimen, which is the result of reproduction
+     * 
+     * @throws DifferentNumberOfChromosomesException when number of chromosomes in this Specimen and its partner is not the same
+     */
+    public Specimen reproduce(final Specimen partner, final CrossoverOperator crossover, final double mutationChance, 
+            final int numberOfSwaps, final int[] freePositions, final Random rand) throws DifferentNumberOfChromosomesException
+    {
+        if(chromosomes.length != partner.chromosomes.length)
+        {
+            throw new DifferentNumberOfChromosomesException();
+        }
+        int[] childsChromosomes = new int[chromosomes.length];
+        crossover.cross(chromosomes, partner.chromosomes, childsChromosomes, rand);
+        tryForMutation(childsChromosomes, mutationChance, numberOfSwaps, freePositions, rand);
+        return new Specimen(childsChromosomes);
+    }
+    
+    /**
+     * @param freePositions which can be swapped, or null if all positions can
+     * @param rand for randomization
+     * 
+     * @return copy of this Specimen with two chromosomes swapped
+     */
+    public Specimen mutate(final int[] freePositions, final Random rand)
+    {
+        int[] mutated = chromosomes.clone();
+        tryForMutation(mutated, 1.0d, freePositions, rand);
+        return new Specimen(mutated);
+    }
+    
+    /**
+     * Specimens with equal keys have equal hashes.
+     * 
+     * @return 64-bit hash of the key
+     */
+    public long hash64()
+    {
+        if(hash == 0L)
+        {
+            long result = 0x9e3779b97f4a7c15L;
+            for(int i = 0; i < chromosomes.length; ++i)
+            {
+                result = (result ^ chromosomes[i]) * 0xff51afd7ed558ccdL;
+                result ^= result >>> 29;
+            }
+            hash = result == 0L ? 1L : result;
+        }
+        return hash;
+    }
+    
+    /**
+     * Will create a copy of this Specimen in which every position with a non-negative value in <i>pinnedValues</i> holds this value.
+     * Values are moved by swapping, so the copy is still a valid key.
+     * 
+     * @param pinnedValues for each position the value it must hold, or -1 if it is free
+     * 
+     * @return new Specimen with pinned values
+     */
+    public Specimen pin(final int[] pinnedValues)
+    {
+        int[] pinned = chromosomes.clone();
+        int[] positions = inversedChromosomes.clone();
+        for(int i = 0; i < pinnedValues.length; ++i)
+        {
+            if(pinnedValues[i] >= 0 && pinned[i] != pinnedValues[i])
+            {
+                int other = positions[pinnedValues[i]];
+                pinned[other] = pinned[i];
+                positions[pinned[i]] = other;
+                pinned[i] = pinnedValues[i];
+                positions[pinnedValues[i]] = i;
+            }
+        }
+        return new Specimen(pinned);
+    }
+    
+    /**
+     * Will create a copy of this Specimen in which every position holds a value of the same group. 
+     * Values placed in a position of another group are randomly redistributed among the misplaced positions of their own group.
+     * 
+     * @param groups for each position (and value) the number of its group
+     * @param rand for randomization
+     * 
+     * @return new Specimen respecting the <i>groups</i>, or this Specimen if it already does
+     */
+    public Specimen regroup(final int[] groups, final Random rand)
+    {
+        int numberOfGroups = 0;
+        int misplaced = 0;
+        for(int i = 0; i < chromosomes.length; ++i)
+        {
+            numberOfGroups = Math.max(numberOfGroups, groups[i] + 1);
+            if(groups[chromosomes[i]] != groups[i])
+            {
+                ++misplaced;
+            }
+        }
+        if(misplaced == 0)
+        {
+            return this;
+        }
+        int[] regrouped = chromosomes.clone();
+        int[] positions = new int[misplaced];
+        int[] values = new int[misplaced];
+        for(int g = 0; g < numberOfGroups; ++g)
+        {
+            int count = 0;
+            int valueCount = 0;
+            for(int i = 0; i < chromosomes.length; ++i)
+            {
+                if(groups[chromosomes[i]] != groups[i])
+                {
+                    if(groups[i] == g)
+                    {
+                        positions[count++] = i;
+                    }
+                    if(groups[chromosomes[i]] == g)
+                    {
+                        values[valueCount++] = chromosomes[i];
+                    }
+                }
+            }
+            for(int i = 0; i < count; ++i)
+            {
+                int j = i + rand.nextInt(count - i);
+                int tmp = values[i];
+                values[i] = values[j];
+                values[j] = tmp;
+                regrouped[positions[i]] = values[i];
+            }
+        }
+        return new Specimen(regrouped);
+    }
+    
+    /**
+     * @param alphabet of symbol classes whose permutation this Specimen is
+     * 
+     * @return Specimen of the full alphabet which maps symbols of each class to the symbols of the class given by this Specimen
+     * 
+     * @exception IllegalArgumentException if this Specimen maps a class to a class of a different size
+     */
+    public Specimen expand(final ClassAlphabet alphabet)
+    {
+        return new Specimen(alphabet.expand(chromosomes));
+    }
+    
     /**
      * Will compare this specimen with the given <i>exemplar</i>.<br>
      * Returns value which can be interpreted as percentage of sameness.<br>
@@ -181,6 +384,31 @@ public class Specimen
             final int dst[], final double probability, 
             final Set<Integer> unused, final Set<Integer> emptyIndexes, final Random rand)
             throws SrcsLengthDifferentException, SrcDstLengthDifferentException, IncorrectProbabilityException
+    {
+        crossArrays(src1, src2, dst, probability, unused, emptyIndexes, null, rand);
+    }
+    
+    /**
+     * Works as {@link Specimen#crossArrays(int[], int[], int[], double, Set, Set, Random)}, 
+     * but only compares values at <i>freePositions</i>. Values at other positions are copied from <i>src1</i>.
+     *
+     * @param src1 to compare with <i>src2</i>
+     * @param src2 to compare with <i>src1</i>
+     * @param dst to store equal values in
+     * @param probability with which equal values are passed on to <i>dst</i> untouched; [0.0d - 1.0d]
+     * @param unused to store unequal values from <i>src1</i> and <i>src2</i>
+     * @param emptyIndexes of <i>dst</i>, where no value was inserted
+     * @param freePositions to be compared, or null if all positions are
+     * @param rand for randomization
+     * 
+     * @exception SrcsLengthDifferentException if <i>src1</i>.length != <i>src2</i>.length
+     * @exception SrcDstLengthDifferentException if size of <i>dst</i> is not equal to <i>src</i> size 
+     * @exception IncorrectProbabilityException if probability is not in range [0.0d - 1.0d]
+     */
+    protected void crossArrays(final int src1[], final int src2[], 
+            final int dst[], final double probability, final Set<Integer> unused, 
+            final Set<Integer> emptyIndexes, final int[] freePositions, final Random rand)
+            throws SrcsLengthDifferentException, SrcDstLengthDifferentException, IncorrectProbabilityException
     {
         if(src1.length != src2.length)
         {
@@ -194,8 +422,14 @@ public class Specimen
         {
             throw new IncorrectProbabilityException();
         }
-        for(int i = 0; i < src1.length; ++i)
+        if(freePositions != null)
+        {
+            System.arraycopy(src1, 0, dst, 0, src1.length);
+        }
+        int numberOfPositions = freePositions == null ? src1.length : freePositions.length;
+        for(int p = 0; p < numberOfPositions; ++p)
         {
+            int i = freePositions == null ? p : freePositions[p];
             if(src1[i] == src2[i] && rand.nextDouble() <= probability)
             {
                 dst[i] = src1[i];
@@ -218,9 +452,9 @@ public class Specimen
     protected void fillChromosomesWithLeftovers(final int[] chromosomes, final Set<Integer> unused, final Set<Integer> emptyIndexes, final Random rand)
     {
         //Here we are certain that unused contains Integers.
-        Integer[] unusedValues = (Integer[]) unused.toArray();
+        Integer[] unusedValues = unused.toArray(new Integer[unused.size()]);
         //Here we are certain that emptyIndexes contains Integers.
-        Integer[] unusedIndexes = (Integer[]) emptyIndexes.toArray();
+        Integer[] unusedIndexes = emptyIndexes.toArray(new Integer[emptyIndexes.size()]);
         
         randomizer.randomize(unusedValues, rand);
         
@@ -237,25 +471,78 @@ public class Specimen
      */
     protected void tryForMutation(final int[] chromosomes, final double mutationChance, final Random rand)
     {
-        if(chromosomes.length <= 1)
+        tryForMutation(chromosomes, mutationChance, null, rand);
+    }
+    
+    /**
+     * @param chromosomes to be mutated
+     * @param mutationChance [0.0d, 1.0d]
+     * @param freePositions which can be swapped, or null if all positions can
+     * @param rand for randomization
+     */
+    protected void tryForMutation(final int[] chromosomes, final double mutationChance, final int[] freePositions, final Random rand)
+    {
+        tryForMutation(chromosomes, mutationChance, 1, freePositions, rand);
+    }
+    
+    /**
+     * @param chromosomes to be mutated
+     * @param mutationChance [0.0d, 1.0d]
+     * @param numberOfSwaps performed if the mutation happens
+     * @param freePositions which can be swapped, or null if all positions can
+     * @param rand for randomization
+     */
+    protected void tryForMutation(final int[] chromosomes, final double mutationChance, final int numberOfSwaps, 
+            final int[] freePositions, final Random rand)
+    {
+        if(rand.nextDouble() < mutationChance)
         {
-            return;
+            for(int i = 0; i < numberOfSwaps; ++i)
+            {
+                swapRandomChromosomes(chromosomes, freePositions, rand);
+            }
         }
-        if(rand.nextDouble() < mutationChance)
+    }
+    
+    /**
+     * @param chromosomes in which two random ones are swapped
+     * @param freePositions which can be swapped, or null if all positions can
+     * @param rand for randomization
+     */
+    protected void swapRandomChromosomes(final int[] chromosomes, final int[] freePositions, final Random rand)
+    {
+        if(freePositions != null)
         {
-            int first = rand.nextInt(chromosomes.length);
-            int second = rand.nextInt(chromosomes.length);
-            int tmp = 0;
-            
-            while(second == first)
+            if(freePositions.length > 1)
             {
-                second = rand.nextInt(chromosomes.length);
+                int first = rand.nextInt(freePositions.length);
+                int second = rand.nextInt(freePositions.length - 1);
+                if(second >= first)
+                {
+                    ++second;
+                }
+                int tmp = chromosomes[freePositions[first]];
+                chromosomes[freePositions[first]] = chromosomes[freePositions[second]];
+                chromosomes[freePositions[second]] = tmp;
             }
-            
-            tmp = chromosomes[first];
-            chromosomes[first] = chromosomes[second];
-            chromosomes[second] = tmp;
+            return;
         }
+        if(chromosomes.length <= 1)
+        {
+            return;
+        }
+        int first = rand.nextInt(chromosomes.length);
+        int second = rand.nextInt(chromosomes.length);
+        int tmp = 0;
+        
+        while(second == first)
+        {
+            second = rand.nextInt(chromosomes.length);
+        }
+        
+        tmp = chromosomes[first];
+        chromosomes[first] = chromosomes[second];
+        chromosomes[second] = tmp;
     }
     
     /**
@@ -0,0 +1,35 @@
+package evolutionary_algorithm;
+
+/**
+ * Settings of automatic restarts performed by {@link Generation} when the run stagnates.<br>
+ * The run stagnates when the best evaluation has not improved for the number of generations given by the {@link RestartPolicy},
+ * or for a quarter of it if the diversity of the population has collapsed below <i>minimumDiversity</i>.<br>
+ * A restart replaces the worst specimens with new ones from the population initializer,
+ * while the best specimens found in the run are kept in an elite archive and put back into the population.
+ */
+public class StagnationRestarts
+{
+    /**Decides when to restart.*/
+    protected RestartPolicy policy;
+    /**Percentage of the population replaced by a restart, 1.0d for a full restart. [0.0d ; 1.0d]*/
+    protected double restartFraction;
+    /**Number of the best distinct specimens kept in the elite archive.*/
+    protected int eliteSize;
+    /**Distance to consensus below which the diversity of the population is considered collapsed. [0.0d ; 1.0d]*/
+    protected double minimumDiversity;
+    
+    /**
+     * @param policy deciding when to restart
+     * @param restartFraction percentage of the population replaced by a restart, 1.0d for a full restart. [0.0d ; 1.0d]
+     * @param eliteSize number of the best distinct specimens kept in the elite archive
+     * @param minimumDiversity distance to consensus below which the diversity is considered collapsed. [0.0d ; 1.0d]
+     */
+    public StagnationRestarts(final RestartPolicy policy, final double restartFraction, 
+            final int eliteSize, final double minimumDiversity)
+    {
+        this.policy = policy;
+        this.restartFraction = restartFraction;
+        this.eliteSize = Math.max(0, eliteSize);
+        this.minimumDiversity = minimumDiversity;
+    }
+}
@@ -0,0 +1,149 @@
+package evolutionary_algorithm;
+
+/**
+ * State of one generation, sent to {@link DetailedStatistics}.
+ */
+public class StatisticsSnapshot
+{
+    /**Number of the generation, starting from 0.*/
+    protected int iteration;
+    /**Evaluation of the best specimen found so far.*/
+    protected double bestEvaluation;
+    /**Mean evaluation of the generation.*/
+    protected double meanEvaluation;
+    /**Worst evaluation in the generation.*/
+    protected double worstEvaluation;
+    /**Number of evaluations performed since the start of the run.*/
+    protected long numberOfEvaluations;
+    /**Percentage of specimens found to be duplicates and replaced while assembling this generation. [0.0d ; 1.0d]*/
+    protected double duplicateRate;
+    /**Mean positional entropy of the population, see {@link DiversityTracker#entropy}, 0.0d if diversity is not tracked. [0.0d ; 1.0d]*/
+    protected double entropy;
+    /**Mean distance of the population to its consensus, see {@link DiversityTracker#distanceToConsensus}, 0.0d if diversity is not tracked. [0.0d ; 1.0d]*/
+    protected double distanceToConsensus;
+    /**Number of generations since the best evaluation last improved.*/
+    protected int generationsWithoutImprovement;
+    /**Number of restarts performed since the start of the run.*/
+    protected int numberOfRestarts;
+    /**Number of generations without improvement which preceded restarts, plus the current <i>generationsWithoutImprovement</i>.*/
+    protected long wastedGenerations;
+    /**Mutation chance used to breed this generation's children.*/
+    protected double mutationChance;
+    /**Number of swaps of one mutation used to breed this generation's children.*/
+    protected int numberOfSwaps;
+    /**equalValuesStayProbability used to breed this generation's children.*/
+    protected double equalValuesStayProbability;
+    
+    /**
+     * @return number of the generation, starting from 0
+     */
+    public int getIteration()
+    {
+        return iteration;
+    }
+    
+    /**
+     * @return evaluation of the best specimen found so far
+     */
+    public double getBestEvaluation()
+    {
+        return bestEvaluation;
+    }
+    
+    /**
+     * @return mean evaluation of the generation
+     */
+    public double getMeanEvaluation()
+    {
+        return meanEvaluation;
+    }
+    
+    /**
+     * @return worst evaluation in the generation
+     */
+    public double getWorstEvaluation()
+    {
+        return worstEvaluation;
+    }
+    
+    /**
+     * @return number of evaluations performed since the start of the run
+     */
+    public long getNumberOfEvaluations()
+    {
+        return numberOfEvaluations;
+    }
+    
+    /**
+     * @return percentage of specimens found to be duplicates and replaced while assembling this generation. [0.0d ; 1.0d]
+     */
+    public double getDuplicateRate()
+    {
+        return duplicateRate;
+    }
+    
+    /**
+     * @return mean positional entropy of the population, see {@link DiversityTracker#entropy}, 0.0d if diversity is not tracked. [0.0d ; 1.0d]
+     */
+    public double getEntropy()
+    {
+        return entropy;
+    }
+    
+    /**
+     * @return mean distance of the population to its consensus, see {@link DiversityTracker#distanceToConsensus}, 
+     * 0.0d if diversity is not tracked. [0.0d ; 1.0d]
+     */
+    public double getDistanceToConsensus()
+    {
+        return distanceToConsensus;
+    }
+    
+    /**
+     * @return number of generations since the best evaluation last improved
+     */
+    public int getGenerationsWithoutImprovement()
+    {
+        return generationsWithoutImprovement;
+    }
+    
+    /**
+     * @return number of restarts performed since the start of the run
+     */
+    public int getNumberOfRestarts()
+    {
+        return numberOfRestarts;
+    }
+    
+    /**
+     * @return number of generations without improvement which preceded restarts, plus the current generations without improvement
+     */
+    public long getWastedGenerations()
+    {
+        return wastedGenerations;
+    }
+    
+    /**
+     * @return mutation chance used to breed this generation's children
+     */
+    public double getMutationChance()
+    {
+        return mutationChance;
+    }
+    
+    /**
+     * @return number of swaps of one mutation used to breed this generation's children
+     */
+    public int getNumberOfSwaps()
+    {
+        return numberOfSwaps;
+    }
+    
+    /**
+     * @return equalValuesStayProbability used to breed this generation's children
+     */
+    public double getEqualValuesStayProbability()
+    {
+        return equalValuesStayProbability;
+    }
+}
@@ -0,0 +1,97 @@
+package evolutionary_algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Combines several fitness components into their weighted mean.
+ */
+public class WeightedEvaluator implements Evaluator
+{
+    /**Components and their weights.*/
+    protected List<Evaluator> components = new ArrayList<Evaluator>();
+    protected List<Double> weights = new ArrayList<Double>();
+    /**Sum of <i>weights</i>.*/
+    protected double totalWeight = 0.0d;
+    
+    /**
+     * Must not be called while Specimens are being evaluated.
+     * 
+     * @param component to be added
+     * @param weight of the <i>component</i>. > 0.0d
+     * 
+     * @return this evaluator
+     */
+    public WeightedEvaluator add(final Evaluator component, final double weight)
+    {
+        components.add(component);
+        weights.add(weight);
+        totalWeight += weight;
+        return this;
+    }
+    
+    /**
+     * @param factories of the components
+     * @param weights of the components, in the same order
+     * 
+     * @return factory of weighted evaluators made of components created by the <i>factories</i>
+     */
+    public static EvaluatorFactory factory(final EvaluatorFactory[] factories, final double[] weights)
+    {
+        return new EvaluatorFactory()
+        {
+            @Override
+            public Evaluator createEvaluator(final int[] cryptogram)
+            {
+                WeightedEvaluator result = new WeightedEvaluator();
+                for(int i = 0; i < factories.length; ++i)
+                {
+                    result.add(factories[i].createEvaluator(cryptogram), weights[i]);
+                }
+                return result;
+            }
+        };
+    }
+    
+    /**
+     * @return weighted mean of evaluations of the components. [0.0d ; 1.0d]
+     */
+    @Override
+    public double evaluate(final Specimen specimen)
+    {
+        double result = 0.0d;
+        for(int i = 0; i < components.size(); ++i)
+        {
+            result += weights.get(i) * components.get(i).evaluate(specimen);
+        }
+        return totalWeight > 0.0d ? result / totalWeight : 0.0d;
+    }
+    
+    /**
+     * @return weighted mean of verified evaluations of the components. [0.0d ; 1.0d]
+     */
+    @Override
+    public double verify(final Specimen specimen)
+    {
+        double result = 0.0d;
+        for(int i = 0; i < components.size(); ++i)
+        {
+            result += weights.get(i) * components.get(i).verify(specimen);
+        }
+        return totalWeight > 0.0d ? result / totalWeight : 0.0d;
+    }
+    
+    /**
+     * @return whether any of the components changed
+     */
+    @Override
+    public boolean newGeneration(final double bestEvaluation)
+    {
+        boolean changed = false;
+        for(Evaluator component : components)
+        {
+            changed |= component.newGeneration(bestEvaluation);
+        }
+        return changed;
+    }
+}
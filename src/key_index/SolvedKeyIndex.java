@@ -0,0 +1,445 @@
+package key_index;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent index from fingerprints of cryptograms to keys which broke them.<br>
+ * Each cryptogram has two fingerprints: an exact hash and a signature of its bigram statistics, 
+ * which is similar for similar cryptograms encoded with the same key.<br>
+ * <br>
+ * The index is kept in an append-only file, read with positional reads, so no mapping of the file keeps it locked 
+ * when it is truncated or replaced and files over 2 GB can be read. Every record carries a checksum,
+ * so a record torn by a crash is detected and cut off when the index is opened again. The number of entries is bounded;
+ * the least recently used ones are evicted, and the file is compacted into a new file which atomically replaces the old one.<br>
+ * <br>
+ * Not thread-safe.
+ */
+public class SolvedKeyIndex implements Closeable
+{
+    /**Marks the beginning of every record.*/
+    private static final int MAGIC = 0x534B4931;
+    /**Size of a record without the key.*/
+    private static final int HEADER_SIZE = 4 + 8 + 8 + 8 + 4;
+    /**Size of the checksum ending every record.*/
+    private static final int CHECKSUM_SIZE = 4;
+    /**Default maximum Hamming distance between signatures of similar cryptograms.*/
+    public static final int DEFAULT_MAX_SIGNATURE_DISTANCE = 12;
+    
+    /**File holding the records.*/
+    private File file;
+    /**Maximum number of entries.*/
+    private int maxEntries;
+    /**Open for reading and appending records.*/
+    private FileChannel channel;
+    /**Live entries by exact hash, in order of use.*/
+    private LinkedHashMap<Long, Entry> entries;
+    /**Number of records in the file, including records of evicted or replaced entries.*/
+    private int numberOfRecords;
+    
+    /**
+     * Will open the index, creating the <i>file</i> if necessary.
+     * 
+     * @param file holding the index
+     * @param maxEntries stored in the index
+     * 
+     * @throws IOException if the file can not be read or written
+     */
+    public SolvedKeyIndex(final File file, final int maxEntries) throws IOException
+    {
+        this.file = file;
+        this.maxEntries = Math.max(1, maxEntries);
+        open();
+    }
+    
+    /**
+     * @param cryptogram in the form of an array of alphabet indexes
+     * 
+     * @return exact hash of the <i>cryptogram</i>
+     */
+    public static long exactHash(final int[] cryptogram)
+    {
+        long hash = 0xcbf29ce484222325L ^ cryptogram.length;
+        for(int i = 0; i < cryptogram.length; ++i)
+        {
+            hash = mix(hash ^ cryptogram[i]);
+        }
+        return hash;
+    }
+    
+    /**
+     * Computes a locality-sensitive signature (SimHash) of bigram counts of the <i>cryptogram</i>.
+     * Cryptograms sharing most of their bigrams have signatures differing in few bits.
+     * 
+     * @param cryptogram in the form of an array of alphabet indexes
+     * 
+     * @return signature of the <i>cryptogram</i>
+     */
+    public static long signature(final int[] cryptogram)
+    {
+        int[] weights = new int[64];
+        for(int i = 1; i < cryptogram.length; ++i)
+        {
+            long hash = mix(((long)cryptogram[i - 1] << 32) | cryptogram[i]);
+            for(int bit = 0; bit < 64; ++bit)
+            {
+                weights[bit] += ((hash >>> bit) & 1L) == 1L ? 1 : -1;
+            }
+        }
+        long signature = 0L;
+        for(int bit = 0; bit < 64; ++bit)
+        {
+            if(weights[bit] > 0)
+            {
+                signature |= 1L << bit;
+            }
+        }
+        return signature;
+    }
+    
+    /**
+     * Will look for the key of the given <i>cryptogram</i>, or of the most similar one.
+     * 
+     * @param cryptogram in the form of an array of alphabet indexes
+     * @param keyLength of the expected key
+     * @param maxSignatureDistance maximum number of differing bits between signatures of similar cryptograms
+     * 
+     * @return match found, or null
+     * 
+     * @throws IOException if the file can not be read
+     */
+    public Match find(final int[] cryptogram, final int keyLength, final int maxSignatureDistance) throws IOException
+    {
+        Entry exact = entries.get(exactHash(cryptogram));
+        if(exact != null && exact.keyLength == keyLength)
+        {
+            return new Match(readKey(exact), exact.score, true);
+        }
+        
+        long signature = signature(cryptogram);
+        Entry closest = null;
+        int closestDistance = maxSignatureDistance + 1;
+        for(Entry entry : entries.values())
+        {
+            int distance = Long.bitCount(entry.signature ^ signature);
+            if(entry.keyLength == keyLength && distance < closestDistance)
+            {
+                closest = entry;
+                closestDistance = distance;
+            }
+        }
+        if(closest == null)
+        {
+            return null;
+        }
+        //Marks the entry as recently used.
+        entries.get(closest.exactHash);
+        return new Match(readKey(closest), closest.score, false);
+    }
+    
+    /**
+     * Will store the <i>key</i> which broke the <i>cryptogram</i>, replacing any previous key of the same cryptogram.
+     * The record is forced to the disk before this method returns.
+     * 
+     * @param cryptogram in the form of an array of alphabet indexes
+     * @param key which broke the <i>cryptogram</i>
+     * @param score of the <i>key</i>. [0.0d ; 1.0d]
+     * 
+     * @throws IOException if the file can not be written
+     */
+    public void store(final int[] cryptogram, final int[] key, final double score) throws IOException
+    {
+        Entry entry = new Entry(exactHash(cryptogram), signature(cryptogram), score, channel.size(), key.length);
+        channel.write(encode(entry, key), channel.size());
+        channel.force(false);
+        ++numberOfRecords;
+        entries.put(entry.exactHash, entry);
+        
+        Iterator<Entry> eldest = entries.values().iterator();
+        while(entries.size() > maxEntries)
+        {
+            eldest.next();
+            eldest.remove();
+        }
+        if(numberOfRecords > 2 * maxEntries)
+        {
+            compact();
+        }
+    }
+    
+    /**
+     * @return number of live entries
+     */
+    public int size()
+    {
+        return entries.size();
+    }
+    
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+    
+    /**
+     * Will read all valid records and cut off the file after the last one.
+     * 
+     * @throws IOException if the file can not be read or written
+     */
+    private void open() throws IOException
+    {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true);
+        numberOfRecords = 0;
+        
+        long position = 0;
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while(position + HEADER_SIZE + CHECKSUM_SIZE <= size)
+        {
+            header.clear();
+            read(header, position);
+            header.flip();
+            if(header.getInt() != MAGIC)
+            {
+                break;
+            }
+            long exactHash = header.getLong();
+            long signature = header.getLong();
+            double score = header.getDouble();
+            int keyLength = header.getInt();
+            if(keyLength < 0 || keyLength > (Integer.MAX_VALUE - HEADER_SIZE - CHECKSUM_SIZE) / 4)
+            {
+                break;
+            }
+            long end = position + HEADER_SIZE + 4L * keyLength + CHECKSUM_SIZE;
+            if(end > size || !checksumMatches(position, (int)(end - position)))
+            {
+                break;
+            }
+            entries.put(exactHash, new Entry(exactHash, signature, score, position, keyLength));
+            ++numberOfRecords;
+            position = end;
+        }
+        
+        if(position < size)
+        {
+            channel.truncate(position);
+            channel.force(false);
+        }
+        Iterator<Entry> eldest = entries.values().iterator();
+        while(entries.size() > maxEntries)
+        {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+    
+    /**
+     * Will rewrite live entries into a new file, which then atomically replaces the current one.
+     * 
+     * @throws IOException if the files can not be read or written
+     */
+    private void compact() throws IOException
+    {
+        File compacted = new File(file.getPath() + ".compact");
+        List<Entry> live = new ArrayList<Entry>(entries.values());
+        FileChannel out = FileChannel.open(compacted.toPath(), 
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try
+        {
+            long position = 0;
+            for(Entry entry : live)
+            {
+                ByteBuffer record = encode(entry, readKey(entry));
+                position += out.write(record, position);
+            }
+            out.force(true);
+        }
+        finally
+        {
+            out.close();
+        }
+        close();
+        Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+    
+    /**
+     * @param entry to read the key of
+     * 
+     * @return key stored in the record of the <i>entry</i>
+     * 
+     * @throws IOException if the file can not be read
+     */
+    private int[] readKey(final Entry entry) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(4 * entry.keyLength);
+        read(buffer, entry.offset + HEADER_SIZE);
+        buffer.flip();
+        int[] key = new int[entry.keyLength];
+        buffer.asIntBuffer().get(key);
+        return key;
+    }
+    
+    /**
+     * Will fill the remaining part of the <i>buffer</i> with bytes of the file.
+     * 
+     * @param buffer to be filled
+     * @param position in the file of the first byte to be read
+     * 
+     * @throws IOException if the file can not be read or ends before the <i>buffer</i> is filled
+     */
+    private void read(final ByteBuffer buffer, long position) throws IOException
+    {
+        while(buffer.hasRemaining())
+        {
+            int read = channel.read(buffer, position);
+            if(read < 0)
+            {
+                throw new EOFException(file.getPath());
+            }
+            position += read;
+        }
+    }
+    
+    /**
+     * @param position of the record in the file
+     * @param length of the record including its checksum
+     * 
+     * @return whether the checksum of the record is correct
+     * 
+     * @throws IOException if the file can not be read
+     */
+    private boolean checksumMatches(final long position, final int length) throws IOException
+    {
+        ByteBuffer record = ByteBuffer.allocate(length);
+        read(record, position);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, length - CHECKSUM_SIZE);
+        return (int)crc.getValue() == record.getInt(length - CHECKSUM_SIZE);
+    }
+    
+    /**
+     * @param entry to be encoded
+     * @param key of the <i>entry</i>
+     * 
+     * @return record ready to be written
+     */
+    private static ByteBuffer encode(final Entry entry, final int[] key)
+    {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + 4 * key.length + CHECKSUM_SIZE);
+        record.putInt(MAGIC);
+        record.putLong(entry.exactHash);
+        record.putLong(entry.signature);
+        record.putDouble(entry.score);
+        record.putInt(key.length);
+        for(int i = 0; i < key.length; ++i)
+        {
+            record.putInt(key[i]);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, record.position());
+        record.putInt((int)crc.getValue());
+        record.flip();
+        return record;
+    }
+    
+    /**
+     * @param value to be mixed
+     * 
+     * @return well distributed 64-bit hash of the <i>value</i>
+     */
+    private static long mix(long value)
+    {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+    
+    /**
+     * Key found in the index.
+     */
+    public static class Match
+    {
+        /**Key which broke the cryptogram.*/
+        private int[] key;
+        /**Score of the key. [0.0d ; 1.0d]*/
+        private double score;
+        /**Whether the key broke the very same cryptogram, and not a similar one.*/
+        private boolean exact;
+        
+        /**
+         * @param key which broke the cryptogram
+         * @param score of the <i>key</i>
+         * @param exact whether the key broke the very same cryptogram
+         */
+        public Match(final int[] key, final double score, final boolean exact)
+        {
+            this.key = key;
+            this.score = score;
+            this.exact = exact;
+        }
+        
+        /**
+         * @return key which broke the cryptogram
+         */
+        public int[] getKey()
+        {
+            return key;
+        }
+        
+        /**
+         * @return score of the key. [0.0d ; 1.0d]
+         */
+        public double getScore()
+        {
+            return score;
+        }
+        
+        /**
+         * @return whether the key broke the very same cryptogram, and not a similar one
+         */
+        public boolean isExact()
+        {
+            return exact;
+        }
+    }
+    
+    /**
+     * Fingerprints of one cryptogram and the location of its key in the file.
+     */
+    private static class Entry
+    {
+        private final long exactHash;
+        private final long signature;
+        private final double score;
+        /**Of the record in the file.*/
+        private final long offset;
+        private final int keyLength;
+        
+        private Entry(final long exactHash, final long signature, final double score, final long offset, final int keyLength)
+        {
+            this.exactHash = exactHash;
+            this.signature = signature;
+            this.score = score;
+            this.offset = offset;
+            this.keyLength = keyLength;
+        }
+    }
+}
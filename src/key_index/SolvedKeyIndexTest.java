@@ -0,0 +1,103 @@
+package key_index;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.Test;
+
+
+public class SolvedKeyIndexTest
+{
+    /**Size of one record with a key of length 4.*/
+    private static final int RECORD_SIZE = 4 + 8 + 8 + 8 + 4 + 4 * 4 + 4;
+    
+    @Test
+    public void testTornRecordIsCutOffOnReopen() throws IOException
+    {
+        File file = temporaryFile();
+        SolvedKeyIndex index = new SolvedKeyIndex(file, 10);
+        index.store(new int[]{0, 1, 2, 3}, new int[]{3, 2, 1, 0}, 0.9d);
+        index.store(new int[]{1, 1, 2, 2}, new int[]{1, 0, 3, 2}, 0.8d);
+        index.close();
+        
+        //A record cut short by a crash: its header and a part of its key.
+        RandomAccessFile raw = new RandomAccessFile(file, "rw");
+        byte[] torn = new byte[RECORD_SIZE];
+        raw.seek(0);
+        raw.readFully(torn);
+        raw.seek(raw.length());
+        raw.write(torn, 0, RECORD_SIZE - 10);
+        raw.close();
+        
+        index = new SolvedKeyIndex(file, 10);
+        assertEquals(2, index.size());
+        assertEquals(2 * RECORD_SIZE, file.length());
+        assertArrayEquals(new int[]{3, 2, 1, 0}, index.find(new int[]{0, 1, 2, 3}, 4, 0).getKey());
+        assertArrayEquals(new int[]{1, 0, 3, 2}, index.find(new int[]{1, 1, 2, 2}, 4, 0).getKey());
+        
+        index.store(new int[]{2, 3, 0, 1}, new int[]{0, 1, 2, 3}, 0.7d);
+        index.close();
+        index = new SolvedKeyIndex(file, 10);
+        assertEquals(3, index.size());
+        assertArrayEquals(new int[]{0, 1, 2, 3}, index.find(new int[]{2, 3, 0, 1}, 4, 0).getKey());
+        index.close();
+    }
+    
+    @Test
+    public void testCorruptedRecordIsCutOffOnReopen() throws IOException
+    {
+        File file = temporaryFile();
+        SolvedKeyIndex index = new SolvedKeyIndex(file, 10);
+        index.store(new int[]{0, 1, 2, 3}, new int[]{3, 2, 1, 0}, 0.9d);
+        index.store(new int[]{1, 1, 2, 2}, new int[]{1, 0, 3, 2}, 0.8d);
+        index.close();
+        
+        RandomAccessFile raw = new RandomAccessFile(file, "rw");
+        raw.seek(RECORD_SIZE + RECORD_SIZE - 8);
+        raw.write(0x55);
+        raw.close();
+        
+        index = new SolvedKeyIndex(file, 10);
+        assertEquals(1, index.size());
+        assertEquals(RECORD_SIZE, file.length());
+        assertNull(index.find(new int[]{1, 1, 2, 2}, 4, 0));
+        index.close();
+    }
+    
+    @Test
+    public void testCompactionKeepsRecentEntries() throws IOException
+    {
+        File file = temporaryFile();
+        SolvedKeyIndex index = new SolvedKeyIndex(file, 2);
+        for(int i = 0; i < 5; ++i)
+        {
+            index.store(new int[]{i, i, i, i}, new int[]{i, 0, 0, 0}, 0.5d);
+        }
+        //The fifth record exceeded twice the maximum number of entries and the file was compacted.
+        assertEquals(2, index.size());
+        assertEquals(2 * RECORD_SIZE, file.length());
+        assertFalse(new File(file.getPath() + ".compact").exists());
+        
+        index.store(new int[]{5, 5, 5, 5}, new int[]{5, 0, 0, 0}, 0.5d);
+        index.close();
+        index = new SolvedKeyIndex(file, 2);
+        assertEquals(2, index.size());
+        assertNull(index.find(new int[]{3, 3, 3, 3}, 4, 0));
+        assertArrayEquals(new int[]{4, 0, 0, 0}, index.find(new int[]{4, 4, 4, 4}, 4, 0).getKey());
+        assertArrayEquals(new int[]{5, 0, 0, 0}, index.find(new int[]{5, 5, 5, 5}, 4, 0).getKey());
+        index.close();
+    }
+    
+    /**
+     * @return empty file deleted when the tests end
+     */
+    private static File temporaryFile() throws IOException
+    {
+        File file = File.createTempFile("solved", ".idx");
+        file.deleteOnExit();
+        new File(file.getPath() + ".compact").deleteOnExit();
+        return file;
+    }
+}
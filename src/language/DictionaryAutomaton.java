@@ -0,0 +1,187 @@
+package language;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import alphabet.Alphabet;
+import alphabet.UnknownCharacterException;
+
+/**
+ * Aho-Corasick automaton finding all occurrences of the words of a dictionary in one pass over a text.<br>
+ * Words are mapped through an {@link Alphabet}, and the automaton is compiled into a dense transition table indexed by 
+ * state * alphabetLength + character, with failure links already resolved, so each character of the text costs one array access.
+ * Texts are given as arrays of alphabet indexes, optionally through a substitution key, so no String is built.<br>
+ * The score of a text is the number of its characters covered by at least one occurrence of a word, so it never exceeds the length 
+ * of the text: overlapping words and words which are suffixes of other words are counted once.
+ */
+public class DictionaryAutomaton
+{
+    /**Maximum length of a word, the number of recent characters whose coverage is tracked.*/
+    public static final int MAX_WORD_LENGTH = 64;
+    
+    /**Length of the alphabet of the words.*/
+    protected int alphabetLength;
+    /**Under index of state * alphabetLength + character, the next state.*/
+    protected int[] transitions;
+    /**For each state, the length of the longest word ending in it, including words which are suffixes of the text read; 0 if none.*/
+    protected int[] output;
+    
+    /**
+     * @param alphabet of the words
+     * @param words of the dictionary, at most {@link DictionaryAutomaton#MAX_WORD_LENGTH} characters long; empty words are ignored
+     * 
+     * @exception UnknownCharacterException if a word contains a character not found in the <i>alphabet</i>.
+     * This character will be stored as a description of the Exception.
+     */
+    public DictionaryAutomaton(final Alphabet alphabet, final Collection<String> words) throws UnknownCharacterException
+    {
+        alphabetLength = alphabet.getAlphabetLength();
+        List<int[]> converted = new ArrayList<int[]>();
+        int maxStates = 1;
+        for(String word : words)
+        {
+            if(word.length() > MAX_WORD_LENGTH)
+            {
+                throw new IllegalArgumentException("Words longer than " + MAX_WORD_LENGTH + " characters are not supported.");
+            }
+            if(!word.isEmpty())
+            {
+                converted.add(alphabet.convert(word));
+                maxStates += word.length();
+            }
+        }
+        build(converted, maxStates);
+    }
+    
+    /**
+     * @return number of states of the automaton
+     */
+    public int getNumberOfStates()
+    {
+        return output.length;
+    }
+    
+    /**
+     * @return bytes used by the tables of the automaton
+     */
+    public long getMemoryFootprint()
+    {
+        return 4L * (transitions.length + output.length);
+    }
+    
+    /**
+     * @param text in the form of an array of alphabet indexes
+     * 
+     * @return number of characters of the <i>text</i> covered by occurrences of the words. [0 ; text.length]
+     */
+    public long score(final int[] text)
+    {
+        long result = 0;
+        int state = 0;
+        //Bit k tells whether the character k positions before the current one is covered.
+        long covered = 0;
+        for(int i = 0; i < text.length; ++i)
+        {
+            state = transitions[state * alphabetLength + text[i]];
+            covered <<= 1;
+            if(output[state] > 0)
+            {
+                long word = output[state] == MAX_WORD_LENGTH ? -1L : (1L << output[state]) - 1;
+                result += Long.bitCount(word & ~covered);
+                covered |= word;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Will score the <i>cryptogram</i> deciphered by the <i>key</i>, without deciphering it into a new array.
+     * 
+     * @param cryptogram in the form of an array of alphabet indexes
+     * @param key under index of a cryptogram character, the character of the text it stands for
+     * 
+     * @return number of characters of the deciphered text covered by occurrences of the words. [0 ; cryptogram.length]
+     */
+    public long score(final int[] cryptogram, final int[] key)
+    {
+        long result = 0;
+        int state = 0;
+        //Bit k tells whether the character k positions before the current one is covered.
+        long covered = 0;
+        for(int i = 0; i < cryptogram.length; ++i)
+        {
+            state = transitions[state * alphabetLength + key[cryptogram[i]]];
+            covered <<= 1;
+            if(output[state] > 0)
+            {
+                long word = output[state] == MAX_WORD_LENGTH ? -1L : (1L << output[state]) - 1;
+                result += Long.bitCount(word & ~covered);
+                covered |= word;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Will build the trie of the <i>words</i>, then resolve failure links in breadth-first order into the dense transition table.
+     */
+    private void build(final List<int[]> words, final int maxStates)
+    {
+        int[] trie = new int[maxStates * alphabetLength];
+        Arrays.fill(trie, -1);
+        int[] lengths = new int[maxStates];
+        int numberOfStates = 1;
+        for(int[] word : words)
+        {
+            int state = 0;
+            for(int character : word)
+            {
+                if(trie[state * alphabetLength + character] < 0)
+                {
+                    trie[state * alphabetLength + character] = numberOfStates++;
+                }
+                state = trie[state * alphabetLength + character];
+            }
+            lengths[state] = word.length;
+        }
+        
+        transitions = new int[numberOfStates * alphabetLength];
+        output = new int[numberOfStates];
+        int[] failure = new int[numberOfStates];
+        int[] queue = new int[numberOfStates];
+        int head = 0;
+        int tail = 0;
+        for(int c = 0; c < alphabetLength; ++c)
+        {
+            int next = trie[c];
+            if(next > 0)
+            {
+                transitions[c] = next;
+                failure[next] = 0;
+                queue[tail++] = next;
+            }
+        }
+        while(head < tail)
+        {
+            int state = queue[head++];
+            //States are dequeued in breadth-first order, so the failure state is already complete.
+            output[state] = Math.max(lengths[state], output[failure[state]]);
+            for(int c = 0; c < alphabetLength; ++c)
+            {
+                int next = trie[state * alphabetLength + c];
+                if(next > 0)
+                {
+                    transitions[state * alphabetLength + c] = next;
+                    failure[next] = transitions[failure[state] * alphabetLength + c];
+                    queue[tail++] = next;
+                }
+                else
+                {
+                    transitions[state * alphabetLength + c] = transitions[failure[state] * alphabetLength + c];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package language;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import alphabet.Alphabet;
+
+
+public class DictionaryAutomatonTest
+{
+
+    @Test
+    public void testOverlappingWords() throws Exception
+    {
+        Alphabet alphabet = new Alphabet("abc");
+        DictionaryAutomaton automaton = new DictionaryAutomaton(alphabet, Arrays.asList("a", "ab", "bab", "bc"));
+        //a, ab, a, ab and bab cover all four characters
+        assertEquals(4, automaton.score(alphabet.convert("abab")));
+        assertEquals(2, automaton.score(alphabet.convert("cab")));
+        //bab covers the b before a, which a alone left uncovered
+        assertEquals(3, automaton.score(alphabet.convert("bab")));
+        assertEquals(0, automaton.score(alphabet.convert("ccc")));
+    }
+    
+    @Test
+    public void testMatchesNaiveSearch() throws Exception
+    {
+        Alphabet alphabet = new Alphabet("abc");
+        List<String> words = Arrays.asList("a", "ab", "bab", "bc", "c", "aa");
+        DictionaryAutomaton automaton = new DictionaryAutomaton(alphabet, words);
+        Random rand = new Random(1);
+        for(int t = 0; t < 1000; ++t)
+        {
+            StringBuilder text = new StringBuilder();
+            for(int i = rand.nextInt(30); i > 0; --i)
+            {
+                text.append("abc".charAt(rand.nextInt(3)));
+            }
+            boolean[] covered = new boolean[text.length()];
+            for(String word : words)
+            {
+                for(int i = text.indexOf(word); i >= 0; i = text.indexOf(word, i + 1))
+                {
+                    Arrays.fill(covered, i, i + word.length(), true);
+                }
+            }
+            long expected = 0;
+            for(boolean character : covered)
+            {
+                expected += character ? 1 : 0;
+            }
+            long score = automaton.score(alphabet.convert(text.toString()));
+            assertEquals(expected, score);
+            assertTrue(score <= text.length());
+        }
+    }
+    
+    @Test
+    public void testScoreThroughKey() throws Exception
+    {
+        Alphabet alphabet = new Alphabet("abc");
+        DictionaryAutomaton automaton = new DictionaryAutomaton(alphabet, Arrays.asList("ab"));
+        //Cryptogram "ca" deciphered by the key c->a, a->b, b->c gives "ab".
+        int[] key = {1, 2, 0};
+        assertEquals(2, automaton.score(alphabet.convert("ca"), key));
+    }
+}
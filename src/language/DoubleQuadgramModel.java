@@ -0,0 +1,93 @@
+package language;
+
+import alphabet.Alphabet;
+import alphabet.UnknownCharacterException;
+
+/**
+ * {@link QuadgramModel} keeping log-probabilities as doubles. Exact, but 8 bytes per entry; 
+ * serves as the source of {@link QuantizedQuadgramModel}s.
+ */
+public class DoubleQuadgramModel extends QuadgramModel
+{
+    /**Under index of a quadgram, its log10-probability.*/
+    protected double[] logProbabilities;
+    
+    /**
+     * @param alphabet of texts
+     * @param corpus of the language, at least 4 characters long
+     * @param minCount quadgrams seen fewer times in the <i>corpus</i> are pruned and get the floor. >= 1
+     * 
+     * @exception UnknownCharacterException if the <i>corpus</i> contains a character not found in the <i>alphabet</i>.
+     * This character will be stored as a description of the Exception.
+     */
+    public DoubleQuadgramModel(final Alphabet alphabet, final String corpus, final int minCount) throws UnknownCharacterException
+    {
+        super(alphabet, corpus);
+        int[] text = alphabet.convert(corpus);
+        if(text.length < 4)
+        {
+            throw new IllegalArgumentException("The corpus has no quadgrams.");
+        }
+        int[] counts = new int[getTableSize()];
+        for(int i = 3; i < text.length; ++i)
+        {
+            ++counts[index(text[i - 3], text[i - 2], text[i - 1], text[i])];
+        }
+        double total = text.length - 3;
+        floor = Math.log10(0.01d / total);
+        maximum = floor;
+        logProbabilities = new double[counts.length];
+        for(int i = 0; i < counts.length; ++i)
+        {
+            logProbabilities[i] = counts[i] >= Math.max(1, minCount) ? Math.log10(counts[i] / total) : floor;
+            maximum = Math.max(maximum, logProbabilities[i]);
+        }
+    }
+    
+    /**
+     * @return index of the quadgram of the given alphabet indexes
+     */
+    protected int index(final int a, final int b, final int c, final int d)
+    {
+        return ((symbols[a] * width + symbols[b]) * width + symbols[c]) * width + symbols[d];
+    }
+    
+    @Override
+    public double score(final int[] text)
+    {
+        double result = 0.0d;
+        for(int i = 3; i < text.length; ++i)
+        {
+            result += logProbabilities[index(text[i - 3], text[i - 2], text[i - 1], text[i])];
+        }
+        return result;
+    }
+    
+    @Override
+    public double score(final int[] cryptogram, final int[] key)
+    {
+        if(cryptogram.length < 4)
+        {
+            return 0.0d;
+        }
+        int a = symbols[key[cryptogram[0]]];
+        int b = symbols[key[cryptogram[1]]];
+        int c = symbols[key[cryptogram[2]]];
+        double result = 0.0d;
+        for(int i = 3; i < cryptogram.length; ++i)
+        {
+            int d = symbols[key[cryptogram[i]]];
+            result += logProbabilities[((a * width + b) * width + c) * width + d];
+            a = b;
+            b = c;
+            c = d;
+        }
+        return result;
+    }
+    
+    @Override
+    public long getMemoryFootprint()
+    {
+        return 8L * logProbabilities.length + 4L * symbols.length;
+    }
+}
@@ -0,0 +1,138 @@
+package language;
+
+import alphabet.Alphabet;
+import alphabet.UnknownCharacterException;
+
+/**
+ * Log-probabilities of quadgrams (sequences of four characters) of a language, gathered from a corpus.<br>
+ * Tables are dense and indexed by ((a * width + b) * width + c) * width + d, where a, b, c, d are compact indexes of characters: 
+ * characters occurring in the corpus are numbered from 0 and all others share the last index, width - 1. 
+ * So the size of a table depends on the corpus rather than on the alphabet: 27 symbols of lower case text give 28^4 entries 
+ * instead of 55^4 for {@link alphabet.DefaultAlphabet}.<br>
+ * Quadgrams not seen in the corpus, or pruned, have the log-probability of the floor.
+ */
+public abstract class QuadgramModel
+{
+    /**Largest number of entries of a table, the largest array length the JVM reliably allocates.*/
+    public static final int MAX_TABLE_SIZE = Integer.MAX_VALUE - 8;
+    
+    /**Length of the alphabet of texts.*/
+    protected int alphabetLength;
+    /**Under alphabet index of a character, its compact index.*/
+    protected int[] symbols;
+    /**Number of compact indexes.*/
+    protected int width;
+    /**Log10-probability of quadgrams not in the table.*/
+    protected double floor;
+    /**Highest log10-probability in the table.*/
+    protected double maximum;
+    
+    /**
+     * @param alphabet of texts
+     * @param corpus of the language
+     * 
+     * @exception UnknownCharacterException if the <i>corpus</i> contains a character not found in the <i>alphabet</i>.
+     * This character will be stored as a description of the Exception.
+     * @exception IllegalArgumentException if the <i>corpus</i> has so many distinct characters 
+     * that a table would exceed {@link QuadgramModel#MAX_TABLE_SIZE} entries
+     */
+    protected QuadgramModel(final Alphabet alphabet, final String corpus) throws UnknownCharacterException
+    {
+        alphabetLength = alphabet.getAlphabetLength();
+        boolean[] occurring = new boolean[alphabetLength];
+        for(int character : alphabet.convert(corpus))
+        {
+            occurring[character] = true;
+        }
+        int numberOfOccurring = 0;
+        for(int i = 0; i < alphabetLength; ++i)
+        {
+            if(occurring[i])
+            {
+                ++numberOfOccurring;
+            }
+        }
+        long tableSize = tableSize(numberOfOccurring + 1);
+        if(tableSize > MAX_TABLE_SIZE)
+        {
+            throw new IllegalArgumentException("The corpus has " + numberOfOccurring + " distinct characters, a table of " 
+                    + tableSize + " quadgrams exceeds " + MAX_TABLE_SIZE + " entries.");
+        }
+        symbols = new int[alphabetLength];
+        width = numberOfOccurring + 1;
+        int next = 0;
+        for(int i = 0; i < alphabetLength; ++i)
+        {
+            symbols[i] = occurring[i] ? next++ : numberOfOccurring;
+        }
+    }
+    
+    /**
+     * @param source whose index is shared
+     */
+    protected QuadgramModel(final QuadgramModel source)
+    {
+        alphabetLength = source.alphabetLength;
+        symbols = source.symbols;
+        width = source.width;
+        floor = source.floor;
+        maximum = source.maximum;
+    }
+    
+    /**
+     * @return log10-probability of quadgrams not in the table
+     */
+    public double getFloor()
+    {
+        return floor;
+    }
+    
+    /**
+     * @return highest log10-probability in the table
+     */
+    public double getMaximum()
+    {
+        return maximum;
+    }
+    
+    /**
+     * @return number of entries of the table
+     */
+    public int getTableSize()
+    {
+        return (int)tableSize(width);
+    }
+    
+    /**
+     * @param width number of compact indexes
+     * 
+     * @return number of entries of a table of the given <i>width</i>, computed without overflow
+     */
+    protected static long tableSize(final int width)
+    {
+        long size = width;
+        return size * size * size * size;
+    }
+    
+    /**
+     * @param text in the form of an array of alphabet indexes
+     * 
+     * @return sum of log10-probabilities of all quadgrams of the <i>text</i>
+     */
+    public abstract double score(final int[] text);
+    
+    /**
+     * Will score the <i>cryptogram</i> deciphered by the <i>key</i>, without deciphering it into a new array.
+     * 
+     * @param cryptogram in the form of an array of alphabet indexes
+     * @param key under index of a cryptogram character, the character of the text it stands for
+     * 
+     * @return sum of log10-probabilities of all quadgrams of the deciphered text
+     */
+    public abstract double score(final int[] cryptogram, final int[] key);
+    
+    /**
+     * @return bytes used by the tables of the model
+     */
+    public abstract long getMemoryFootprint();
+}
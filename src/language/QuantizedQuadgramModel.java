@@ -0,0 +1,136 @@
+package language;
+
+/**
+ * {@link QuadgramModel} keeping log-probabilities as 8 or 16 bit levels spread evenly between the floor and the maximum, 
+ * so its table is 8 or 4 times smaller than the one of {@link DoubleQuadgramModel} and more of it stays in cache.<br>
+ * Scoring sums integer levels and converts the sum once: floor * numberOfQuadgrams + step * sumOfLevels. 
+ * The score of every quadgram differs from the exact one by at most {@link QuantizedQuadgramModel#getMaximumError}.
+ */
+public class QuantizedQuadgramModel extends QuadgramModel
+{
+    /**Under index of a quadgram, its unsigned level; null unless 8 bits are used.*/
+    protected byte[] byteLevels;
+    /**Under index of a quadgram, its unsigned level; null unless 16 bits are used.*/
+    protected short[] shortLevels;
+    /**Difference of log10-probabilities of two consecutive levels.*/
+    protected double step;
+    
+    /**
+     * @param source of log-probabilities
+     * @param bits of one level, 8 or 16
+     */
+    public QuantizedQuadgramModel(final DoubleQuadgramModel source, final int bits)
+    {
+        super(source);
+        if(bits != 8 && bits != 16)
+        {
+            throw new IllegalArgumentException("Only 8 and 16 bit levels are supported.");
+        }
+        int highestLevel = (1 << bits) - 1;
+        step = maximum > floor ? (maximum - floor) / highestLevel : 1.0d;
+        double[] logProbabilities = source.logProbabilities;
+        if(bits == 8)
+        {
+            byteLevels = new byte[logProbabilities.length];
+        }
+        else
+        {
+            shortLevels = new short[logProbabilities.length];
+        }
+        for(int i = 0; i < logProbabilities.length; ++i)
+        {
+            int level = (int)Math.min(highestLevel, Math.round((logProbabilities[i] - floor) / step));
+            if(byteLevels != null)
+            {
+                byteLevels[i] = (byte)level;
+            }
+            else
+            {
+                shortLevels[i] = (short)level;
+            }
+        }
+    }
+    
+    /**
+     * @return the largest difference between the log10-probability of a quadgram in this model and in its source
+     */
+    public double getMaximumError()
+    {
+        return step / 2.0d;
+    }
+    
+    @Override
+    public double score(final int[] text)
+    {
+        if(text.length < 4)
+        {
+            return 0.0d;
+        }
+        long levels = 0;
+        for(int i = 3; i < text.length; ++i)
+        {
+            int index = ((symbols[text[i - 3]] * width + symbols[text[i - 2]]) * width + symbols[text[i - 1]]) * width + symbols[text[i]];
+            levels += byteLevels != null ? byteLevels[index] & 0xFF : shortLevels[index] & 0xFFFF;
+        }
+        return floor * (text.length - 3) + step * levels;
+    }
+    
+    @Override
+    public double score(final int[] cryptogram, final int[] key)
+    {
+        if(cryptogram.length < 4)
+        {
+            return 0.0d;
+        }
+        long levels = byteLevels != null ? sumBytes(cryptogram, key) : sumShorts(cryptogram, key);
+        return floor * (cryptogram.length - 3) + step * levels;
+    }
+    
+    /**
+     * @return sum of 8 bit levels of all quadgrams of the deciphered <i>cryptogram</i>
+     */
+    private long sumBytes(final int[] cryptogram, final int[] key)
+    {
+        byte[] table = byteLevels;
+        int a = symbols[key[cryptogram[0]]];
+        int b = symbols[key[cryptogram[1]]];
+        int c = symbols[key[cryptogram[2]]];
+        long result = 0;
+        for(int i = 3; i < cryptogram.length; ++i)
+        {
+            int d = symbols[key[cryptogram[i]]];
+            result += table[((a * width + b) * width + c) * width + d] & 0xFF;
+            a = b;
+            b = c;
+            c = d;
+        }
+        return result;
+    }
+    
+    /**
+     * @return sum of 16 bit levels of all quadgrams of the deciphered <i>cryptogram</i>
+     */
+    private long sumShorts(final int[] cryptogram, final int[] key)
+    {
+        short[] table = shortLevels;
+        int a = symbols[key[cryptogram[0]]];
+        int b = symbols[key[cryptogram[1]]];
+        int c = symbols[key[cryptogram[2]]];
+        long result = 0;
+        for(int i = 3; i < cryptogram.length; ++i)
+        {
+            int d = symbols[key[cryptogram[i]]];
+            result += table[((a * width + b) * width + c) * width + d] & 0xFFFF;
+            a = b;
+            b = c;
+            c = d;
+        }
+        return result;
+    }
+    
+    @Override
+    public long getMemoryFootprint()
+    {
+        return (byteLevels != null ? byteLevels.length : 2L * shortLevels.length) + 4L * symbols.length;
+    }
+}
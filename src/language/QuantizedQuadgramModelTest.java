@@ -0,0 +1,82 @@
+package language;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import alphabet.Alphabet;
+
+
+public class QuantizedQuadgramModelTest
+{
+    private static final String CORPUS = "the cat sat on the mat and the rat sat on the hat ";
+
+    @Test
+    public void testScoresStayWithinMaximumError() throws Exception
+    {
+        Alphabet alphabet = new Alphabet("abcdefghijklmnopqrstuvwxyz ");
+        DoubleQuadgramModel exact = new DoubleQuadgramModel(alphabet, CORPUS, 1);
+        Random rand = new Random(5);
+        for(int bits = 8; bits <= 16; bits += 8)
+        {
+            QuantizedQuadgramModel quantized = new QuantizedQuadgramModel(exact, bits);
+            for(int t = 0; t < 100; ++t)
+            {
+                int[] text = new int[4 + rand.nextInt(50)];
+                for(int i = 0; i < text.length; ++i)
+                {
+                    text[i] = rand.nextInt(alphabet.getAlphabetLength());
+                }
+                double bound = (text.length - 3) * quantized.getMaximumError() + 1e-9;
+                assertEquals(exact.score(text), quantized.score(text), bound);
+            }
+            assertTrue(quantized.getMemoryFootprint() < exact.getMemoryFootprint());
+        }
+    }
+    
+    @Test
+    public void testUnseenAndPrunedQuadgramsGetFloor() throws Exception
+    {
+        Alphabet alphabet = new Alphabet("abcdefghijklmnopqrstuvwxyz ");
+        DoubleQuadgramModel model = new DoubleQuadgramModel(alphabet, CORPUS, 1);
+        assertEquals(model.getFloor(), model.score(alphabet.convert("zzzz")), 1e-12);
+        assertTrue(model.score(alphabet.convert("the ")) > model.getFloor());
+        
+        DoubleQuadgramModel pruned = new DoubleQuadgramModel(alphabet, CORPUS, 3);
+        //"the " occurs 4 times, "cat " once
+        assertTrue(pruned.score(alphabet.convert("the ")) > pruned.getFloor());
+        assertEquals(pruned.getFloor(), pruned.score(alphabet.convert("cat ")), 1e-12);
+    }
+    
+    @Test
+    public void testKeyedScoreMatchesDecipheredText() throws Exception
+    {
+        Alphabet alphabet = new Alphabet("abcdefghijklmnopqrstuvwxyz ");
+        QuantizedQuadgramModel model = new QuantizedQuadgramModel(new DoubleQuadgramModel(alphabet, CORPUS, 1), 8);
+        int[] text = alphabet.convert("the rat sat on the cat");
+        int[] key = new int[alphabet.getAlphabetLength()];
+        int[] cryptogram = new int[text.length];
+        for(int i = 0; i < key.length; ++i)
+        {
+            key[(i + 7) % key.length] = i;
+        }
+        for(int i = 0; i < text.length; ++i)
+        {
+            cryptogram[i] = (text[i] + 7) % key.length;
+        }
+        assertEquals(model.score(text), model.score(cryptogram, key), 1e-9);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyDistinctCharactersRejected() throws Exception
+    {
+        //216 distinct characters give a table of 217^4 entries, more than an array can hold.
+        StringBuilder characters = new StringBuilder();
+        for(int i = 0; i < 216; ++i)
+        {
+            characters.append((char)(0x100 + i));
+        }
+        new DoubleQuadgramModel(new Alphabet(characters.toString()), characters.toString(), 1);
+    }
+}
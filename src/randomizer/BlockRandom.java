@@ -0,0 +1,129 @@
+package randomizer;
+
+import java.util.Random;
+
+/**
+ * Fast generator of random numbers for a single thread.<br>
+ * Unlike {@link Random}, it keeps no atomic state: 64-bit words of the SplitMix64 sequence are generated in blocks 
+ * into a buffer, from which doubles and ints are taken. Bounded ints are generated without bias by Lemire's multiply-and-reject method, 
+ * which rarely needs more than one word.<br>
+ * Instances must not be shared between threads; create one for every worker, seeded from a shared Random.
+ */
+public class BlockRandom extends Random
+{
+    /***/
+    private static final long serialVersionUID = 1L;
+    /**Number of words generated at once.*/
+    private static final int BLOCK_SIZE = 256;
+    /**Increment of the SplitMix64 sequence.*/
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    
+    /**State of the SplitMix64 sequence.*/
+    private long state;
+    /**Generated words.*/
+    private long[] block;
+    /**Index of the next unused word in the <i>block</i>.*/
+    private int index;
+    
+    /**
+     * @param seed of the sequence
+     */
+    public BlockRandom(final long seed)
+    {
+        super(seed);
+        setSeed(seed);
+    }
+    
+    /**
+     * Will restart the sequence; words generated for the previous seed are discarded.
+     */
+    @Override
+    public void setSeed(final long seed)
+    {
+        state = seed;
+        if(block == null)
+        {
+            block = new long[BLOCK_SIZE];
+        }
+        index = BLOCK_SIZE;
+    }
+    
+    @Override
+    public long nextLong()
+    {
+        if(index == BLOCK_SIZE)
+        {
+            fillBlock();
+        }
+        return block[index++];
+    }
+    
+    @Override
+    protected int next(final int bits)
+    {
+        return (int)(nextLong() >>> (64 - bits));
+    }
+    
+    @Override
+    public int nextInt()
+    {
+        return (int)(nextLong() >>> 32);
+    }
+    
+    /**
+     * @param bound upper limit, exclusive. > 0
+     * 
+     * @return uniformly distributed int from [0 ; <i>bound</i>)
+     */
+    @Override
+    public int nextInt(final int bound)
+    {
+        if(bound <= 0)
+        {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+        long product = (nextLong() >>> 32) * bound;
+        long low = product & 0xFFFFFFFFL;
+        if(low < bound)
+        {
+            //Values below 2^32 mod bound would make some results more likely than others.
+            long threshold = (0x100000000L - bound) % bound;
+            while(low < threshold)
+            {
+                product = (nextLong() >>> 32) * bound;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+        return (int)(product >>> 32);
+    }
+    
+    @Override
+    public double nextDouble()
+    {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+    
+    @Override
+    public boolean nextBoolean()
+    {
+        return nextLong() < 0;
+    }
+    
+    /**
+     * Will generate the next block of words.
+     */
+    private void fillBlock()
+    {
+        long s = state;
+        for(int i = 0; i < BLOCK_SIZE; ++i)
+        {
+            s += GOLDEN_GAMMA;
+            long z = s;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            block[i] = z ^ (z >>> 31);
+        }
+        state = s;
+        index = 0;
+    }
+}
@@ -0,0 +1,70 @@
+package randomizer;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+
+public class BlockRandomTest
+{
+
+    @Test
+    public void testSameSeedSameSequence()
+    {
+        BlockRandom first = new BlockRandom(42L);
+        BlockRandom second = new BlockRandom(42L);
+        for(int i = 0; i < 1000; ++i)
+        {
+            assertEquals(first.nextLong(), second.nextLong());
+        }
+        first.setSeed(7L);
+        second.setSeed(7L);
+        assertEquals(first.nextInt(1000), second.nextInt(1000));
+    }
+    
+    @Test
+    public void testBoundedIntsAreUniform()
+    {
+        BlockRandom rand = new BlockRandom(1L);
+        int bound = 7;
+        int[] counts = new int[bound];
+        for(int i = 0; i < 70000; ++i)
+        {
+            int value = rand.nextInt(bound);
+            assertTrue(value >= 0 && value < bound);
+            ++counts[value];
+        }
+        for(int count : counts)
+        {
+            assertTrue(Math.abs(count - 10000) < 500);
+        }
+    }
+    
+    @Test
+    public void testLargeBound()
+    {
+        BlockRandom rand = new BlockRandom(3L);
+        int bound = (1 << 30) + 1;
+        for(int i = 0; i < 10000; ++i)
+        {
+            int value = rand.nextInt(bound);
+            assertTrue(value >= 0 && value < bound);
+        }
+    }
+    
+    @Test
+    public void testDoublesInRange()
+    {
+        BlockRandom rand = new BlockRandom(5L);
+        for(int i = 0; i < 10000; ++i)
+        {
+            double value = rand.nextDouble();
+            assertTrue(value >= 0.0d && value < 1.0d);
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveBound()
+    {
+        new BlockRandom(0L).nextInt(0);
+    }
+}